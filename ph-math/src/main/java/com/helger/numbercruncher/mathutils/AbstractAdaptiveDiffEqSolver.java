@@ -0,0 +1,343 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * The base class for differential equation solvers with an embedded
+ * Runge-Kutta pair. Each step computes two solutions of different order from
+ * the same function evaluations, and their difference estimates the local
+ * error. A step is accepted if the error is at most the absolute tolerance
+ * plus the relative tolerance times |y|; either way the next step size is
+ * adjusted to the error, so the solver takes long steps where the solution is
+ * smooth and short ones where it changes fast.<br>
+ * At least one tolerance must be positive. A positive relative tolerance must
+ * be at least the machine epsilon of the equation: a float
+ * {@link AbstractDifferentialEquation} cannot meet a tighter one. {@link #nextPoint(double)} advances by exactly the given width
+ * with as many adaptive steps as needed; {@link #nextStep()} takes a single
+ * adaptive step.
+ */
+public abstract class AbstractAdaptiveDiffEqSolver extends AbstractDoubleDiffEqSolver
+{
+  /** safety factor of the step size control */
+  private static final double SAFETY = 0.9;
+  /** the smallest factor by which a step size shrinks */
+  private static final double MIN_FACTOR = 0.2;
+  /** the largest factor by which a step size grows */
+  private static final double MAX_FACTOR = 5;
+  /** the factor by which the last step before a target may be stretched */
+  private static final double STRETCH = 1.1;
+
+  /** the nodes of the stages */
+  private final double [] m_aC;
+  /** the stage coefficients, row i has i entries */
+  private final double [] [] m_aA;
+  /** the weights of the solution that is propagated */
+  private final double [] m_aB;
+  /** the weights of the error estimate: the difference of the two solutions */
+  private final double [] m_aE;
+  /** the exponent of the step size control: 1 / (lower order + 1) */
+  private final double m_dExponent;
+  /** is the last stage the first stage of the next step? */
+  private final boolean m_bFSAL;
+  /** the absolute error tolerance */
+  private final double m_dAbsoluteTolerance;
+  /** the relative error tolerance */
+  private final double m_dRelativeTolerance;
+  /** the stage values */
+  private final double [] m_aK;
+
+  // State, initialized by reset (), which the super constructor calls
+  /** the size of the next step, 0 if not yet chosen */
+  private double m_dH;
+  /** is m_aK[0] the slope at the current point? */
+  private boolean m_bHaveSlope;
+  private int m_nEvaluations;
+  private int m_nSteps;
+  private int m_nRejectedSteps;
+
+  /**
+   * Constructor.
+   *
+   * @param equation
+   *        the differential equation to solve
+   * @param absoluteTolerance
+   *        the absolute error tolerance per step, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance per step relative to |y|, 0 or at least the
+   *        machine epsilon of the equation. At least one tolerance must be
+   *        positive.
+   * @param c
+   *        the nodes of the stages, starting with 0
+   * @param a
+   *        the stage coefficients, row i with i entries
+   * @param b
+   *        the weights of the solution that is propagated
+   * @param e
+   *        the weights of the error estimate
+   * @param lowerOrder
+   *        the lower order of the pair
+   * @param fsal
+   *        true if the last stage is evaluated at the new point (first same
+   *        as last) and can be reused by the next step
+   */
+  protected AbstractAdaptiveDiffEqSolver (@NonNull final AbstractDoubleDifferentialEquation equation,
+                                          final double absoluteTolerance,
+                                          final double relativeTolerance,
+                                          @NonNull final double [] c,
+                                          @NonNull final double [] [] a,
+                                          @NonNull final double [] b,
+                                          @NonNull final double [] e,
+                                          final int lowerOrder,
+                                          final boolean fsal)
+  {
+    super (equation);
+    if (!(absoluteTolerance >= 0))
+      throw new IllegalArgumentException ("The absolute tolerance must not be negative: " + absoluteTolerance);
+    // A float equation is only accurate to a float ulp of y, so a tighter
+    // relative tolerance would never be met.
+    final double epsilon = equation instanceof AbstractDifferentialEquation ? Epsilon.floatValue ()
+                                                                            : Epsilon.doubleValue ();
+    if (!(relativeTolerance == 0 || relativeTolerance >= epsilon))
+      throw new IllegalArgumentException ("The relative tolerance must be 0 or at least " +
+                                          epsilon +
+                                          ": " +
+                                          relativeTolerance);
+    if (absoluteTolerance == 0 && relativeTolerance == 0)
+      throw new IllegalArgumentException ("At least one tolerance must be positive");
+
+    m_aC = c;
+    m_aA = a;
+    m_aB = b;
+    m_aE = e;
+    m_dExponent = 1.0 / (lowerOrder + 1);
+    m_bFSAL = fsal;
+    m_dAbsoluteTolerance = absoluteTolerance;
+    m_dRelativeTolerance = relativeTolerance;
+    m_aK = new double [c.length];
+  }
+
+  /**
+   * Reset x and y to the initial condition, and the step size and the
+   * statistics.
+   */
+  @Override
+  public void reset ()
+  {
+    super.reset ();
+    m_dH = 0;
+    m_bHaveSlope = false;
+    m_nEvaluations = 0;
+    m_nSteps = 0;
+    m_nRejectedSteps = 0;
+  }
+
+  /**
+   * @return the number of evaluations of the equation since the last reset
+   */
+  public int getEvaluationCount ()
+  {
+    return m_nEvaluations;
+  }
+
+  /**
+   * @return the number of accepted steps since the last reset
+   */
+  public int getStepCount ()
+  {
+    return m_nSteps;
+  }
+
+  /**
+   * @return the number of rejected steps since the last reset
+   */
+  public int getRejectedStepCount ()
+  {
+    return m_nRejectedSteps;
+  }
+
+  /**
+   * @return the size of the next step, 0 before the first step
+   */
+  public double getStepSize ()
+  {
+    return m_dH;
+  }
+
+  /**
+   * Return the next value in the approximation of the solution, at exactly h
+   * from the current x.
+   *
+   * @param h
+   *        the width of the interval, positive or negative, finite
+   * @return the approximation of y at the new x
+   */
+  @Override
+  public double nextPoint (final double h)
+  {
+    if (!Double.isFinite (h))
+      throw new IllegalArgumentException ("The width must be finite: " + h);
+    final double target = m_dX + h;
+    while (m_dX != target)
+    {
+      final double remaining = target - m_dX;
+      final double step = _getStepSize (remaining);
+      if (Math.abs (remaining) <= STRETCH * Math.abs (step))
+      {
+        // Land on the target, and keep the proposed step size for later.
+        final double proposed = m_dH;
+        _step (remaining, target);
+        m_dH = Math.min (m_dH, proposed);
+      }
+      else
+        if (Math.abs (remaining) < 2 * Math.abs (step))
+        {
+          // Two equal steps instead of a full one and a tiny rest
+          final double half = remaining / 2;
+          _step (half, m_dX + half);
+        }
+        else
+          _step (step, m_dX + step);
+    }
+    return m_dY;
+  }
+
+  /**
+   * Take one step forward with the step size chosen by the error control.
+   *
+   * @return the approximation of y at the new x
+   */
+  public double nextStep ()
+  {
+    final double step = _getStepSize (1);
+    _step (step, m_dX + step);
+    return m_dY;
+  }
+
+  /**
+   * Return the signed size of the next step in a direction, choosing the
+   * initial step size on the first call.
+   */
+  private double _getStepSize (final double direction)
+  {
+    if (m_dH == 0)
+    {
+      // Initial step after Hairer, Norsett and Wanner: move y by about 1%
+      // of its scale. With y = 0 and only a relative tolerance there is no
+      // scale, so start small and let the error control grow the step.
+      final double slope = _slope ();
+      final double scale = m_dAbsoluteTolerance + m_dRelativeTolerance * Math.abs (m_dY);
+      final double d0 = Math.abs (m_dY) / scale;
+      final double d1 = Math.abs (slope) / scale;
+      final double h = 0.01 * d0 / d1;
+      m_dH = scale == 0 || !(d0 >= 1e-5) || !(d1 >= 1e-5) || !Double.isFinite (h) ? 1e-6 : h;
+    }
+    return Math.copySign (m_dH, direction);
+  }
+
+  /**
+   * @return the slope at the current point, evaluated only if not yet known
+   */
+  private double _slope ()
+  {
+    if (!m_bHaveSlope)
+    {
+      m_aK[0] = _f (m_dX, m_dY);
+      m_bHaveSlope = true;
+    }
+    return m_aK[0];
+  }
+
+  private double _f (final double x, final double y)
+  {
+    ++m_nEvaluations;
+    return m_aEquation.at (x, y);
+  }
+
+  /**
+   * Try steps from the current point until one is accepted.
+   *
+   * @param firstStep
+   *        the signed size of the first try
+   * @param target
+   *        the x value to land on exactly if the first try is accepted
+   */
+  private void _step (final double firstStep, final double target)
+  {
+    final double [] k = m_aK;
+    final int stages = k.length;
+    double h = firstStep;
+    boolean rejected = false;
+
+    while (true)
+    {
+      if (m_dX + h == m_dX)
+        throw new IllegalStateException ("Step size underflow at x=" + m_dX);
+
+      _slope ();
+      for (int i = 1; i < stages; ++i)
+      {
+        double sum = 0;
+        final double [] row = m_aA[i];
+        for (int j = 0; j < i; ++j)
+          sum += row[j] * k[j];
+        k[i] = _f (m_dX + m_aC[i] * h, m_dY + h * sum);
+      }
+
+      double increment = 0;
+      double error = 0;
+      for (int i = 0; i < stages; ++i)
+      {
+        increment += m_aB[i] * k[i];
+        error += m_aE[i] * k[i];
+      }
+      final double yNew = m_dY + h * increment;
+      final double scale = m_dAbsoluteTolerance +
+                           m_dRelativeTolerance * Math.max (Math.abs (m_dY), Math.abs (yNew));
+      final double deviation = Math.abs (h * error);
+      // Without a scale only an exact step can be accepted
+      final double ratio = deviation == 0 ? 0 : deviation / scale;
+      if (!Double.isFinite (ratio) || !Double.isFinite (h))
+        throw new IllegalStateException ("Non-finite error estimate at x=" + m_dX + " with step size " + h);
+
+      if (ratio <= 1)
+      {
+        double factor = ratio == 0 ? MAX_FACTOR
+                                   : Math.min (MAX_FACTOR, SAFETY * Math.pow (ratio, -m_dExponent));
+        if (rejected)
+          factor = Math.min (1, factor);
+        m_dH = Math.abs (h) * Math.max (MIN_FACTOR, factor);
+
+        m_dX = h == firstStep ? target : m_dX + h;
+        m_dY = yNew;
+        ++m_nSteps;
+
+        // The last stage is the slope at the new point.
+        if (m_bFSAL)
+          k[0] = k[stages - 1];
+        m_bHaveSlope = m_bFSAL;
+        return;
+      }
+
+      // Reject and retry with a smaller step; k[0] is still valid.
+      ++m_nRejectedSteps;
+      rejected = true;
+      h *= Math.max (MIN_FACTOR, SAFETY * Math.pow (ratio, -m_dExponent));
+    }
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Abstract base class for adaptive integrators. An integration stops when the
+ * estimated error is at most the larger of the absolute tolerance and the
+ * relative tolerance times the area, or when the next refinement would exceed
+ * the evaluation budget. The integrand is evaluated in double precision, a
+ * float {@link IEvaluatable} at the nodes rounded to float. Instances keep the
+ * statistics of the last integration and are not thread-safe.
+ */
+public abstract class AbstractAdaptiveIntegrator implements IAdaptiveIntegrator
+{
+  /** the function to integrate */
+  protected final IDoubleEvaluatable m_aIntegrand;
+  /** the absolute error tolerance */
+  private final double m_dAbsoluteTolerance;
+  /** the relative error tolerance */
+  private final double m_dRelativeTolerance;
+  /** the maximum number of function evaluations */
+  private final int m_nMaxEvaluations;
+
+  /** number of function evaluations of the current integration */
+  private int m_nEvaluations;
+  /** estimated error of the last integration */
+  private double m_dErrorEstimate;
+  /** did the last integration converge? */
+  private boolean m_bConverged;
+
+  /**
+   * Constructor.
+   *
+   * @param integrand
+   *        the function to integrate, float or double
+   * @param absoluteTolerance
+   *        the absolute error tolerance, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance relative to the area, &ge; 0
+   * @param maxEvaluations
+   *        the maximum number of function evaluations. The first estimate is
+   *        always computed, even if it needs more.
+   */
+  protected AbstractAdaptiveIntegrator (@NonNull final IDoubleEvaluatable integrand,
+                                        final double absoluteTolerance,
+                                        final double relativeTolerance,
+                                        final int maxEvaluations)
+  {
+    if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0))
+      throw new IllegalArgumentException ("The tolerances must not be negative: " +
+                                          absoluteTolerance +
+                                          ", " +
+                                          relativeTolerance);
+    if (absoluteTolerance == 0 && relativeTolerance == 0)
+      throw new IllegalArgumentException ("At least one tolerance must be positive");
+    if (maxEvaluations < 1)
+      throw new IllegalArgumentException ("maxEvaluations < 1: " + maxEvaluations);
+
+    m_aIntegrand = integrand;
+    m_dAbsoluteTolerance = absoluteTolerance;
+    m_dRelativeTolerance = relativeTolerance;
+    m_nMaxEvaluations = maxEvaluations;
+  }
+
+  /**
+   * @return the absolute error tolerance
+   */
+  public double getAbsoluteTolerance ()
+  {
+    return m_dAbsoluteTolerance;
+  }
+
+  /**
+   * @return the error tolerance relative to the area
+   */
+  public double getRelativeTolerance ()
+  {
+    return m_dRelativeTolerance;
+  }
+
+  /**
+   * @return the maximum number of function evaluations
+   */
+  public int getMaxEvaluations ()
+  {
+    return m_nMaxEvaluations;
+  }
+
+  public boolean hasConverged ()
+  {
+    return m_bConverged;
+  }
+
+  public double getErrorEstimate ()
+  {
+    return m_dErrorEstimate;
+  }
+
+  public int getEvaluationCount ()
+  {
+    return m_nEvaluations;
+  }
+
+  /**
+   * Integrate the function from a to b, and return an approximation to the
+   * area. (Integrator implementation.)
+   *
+   * @param a
+   *        the lower limit
+   * @param b
+   *        the upper limit
+   * @return an approximation to the area, the best one found if the tolerance
+   *         was not met
+   */
+  public double integrate (final double a, final double b)
+  {
+    m_nEvaluations = 0;
+    m_dErrorEstimate = 0;
+    m_bConverged = true;
+    if (b <= a)
+      return 0;
+
+    return doIntegrate (a, b);
+  }
+
+  /**
+   * Return the error tolerance for an area.
+   *
+   * @param area
+   *        the current approximation of the area
+   * @return the tolerance
+   */
+  protected final double getTolerance (final double area)
+  {
+    return Math.max (m_dAbsoluteTolerance, m_dRelativeTolerance * Math.abs (area));
+  }
+
+  /**
+   * Check whether the budget allows more function evaluations.
+   *
+   * @param count
+   *        the number of additional evaluations
+   * @return true if they are allowed
+   */
+  protected final boolean canEvaluate (final int count)
+  {
+    return m_nEvaluations <= m_nMaxEvaluations - count;
+  }
+
+  /**
+   * Check whether two nodes are different in the precision of the integrand,
+   * which is float for an {@link IEvaluatable}.
+   *
+   * @param x1
+   *        one node
+   * @param x2
+   *        the other node
+   * @return true if the integrand sees different nodes
+   */
+  protected final boolean canDistinguish (final double x1, final double x2)
+  {
+    if (m_aIntegrand instanceof IEvaluatable)
+      return (float) x1 != (float) x2;
+    return x1 != x2;
+  }
+
+  /**
+   * Evaluate the function at many points and count the evaluations.
+   *
+   * @param xs
+   *        the values of x
+   * @param ys
+   *        receives the values of the function. May be the same array as xs.
+   * @param n
+   *        the number of points
+   */
+  protected final void evaluate (@NonNull final double [] xs, @NonNull final double [] ys, final int n)
+  {
+    m_nEvaluations += n;
+    m_aIntegrand.at (xs, ys, n);
+  }
+
+  /**
+   * Record the outcome of the integration.
+   *
+   * @param errorEstimate
+   *        the estimated absolute error
+   * @param converged
+   *        true if the tolerance was met
+   */
+  protected final void setOutcome (final double errorEstimate, final boolean converged)
+  {
+    m_dErrorEstimate = errorEstimate;
+    m_bConverged = converged;
+  }
+
+  /**
+   * Integrate the function and record the outcome with
+   * {@link #setOutcome(double, boolean)}.
+   *
+   * @param a
+   *        the lower limit
+   * @param b
+   *        the upper limit, &gt; a
+   * @return an approximation to the area
+   */
+  protected abstract double doIntegrate (double a, double b);
+}
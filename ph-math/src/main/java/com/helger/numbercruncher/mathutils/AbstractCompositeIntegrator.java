@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Abstract base class for integrators with a composite rule of equally spaced
+ * nodes. The area is a weighted sum of the function values, and each node is
+ * evaluated exactly once, also where neighbouring regions share it. The nodes
+ * are computed from their index in double precision, and the sum is
+ * accumulated with {@link CompensatedSummation}, so the rounding error does
+ * not grow with the number of intervals. The integrand is evaluated in double
+ * precision, a float {@link IEvaluatable} at the nodes rounded to float.<br>
+ * Many nodes are evaluated in parallel chunks whose sums are combined in a
+ * fixed order, so the result does not depend on the number of threads. The
+ * integrand must then be thread-safe; pass <code>false</code> for
+ * <code>parallel</code> otherwise.
+ */
+public abstract class AbstractCompositeIntegrator implements IIntegrator, IDoubleIntegrator
+{
+  /** nodes per chunk */
+  private static final int CHUNK_NODES = 1 << 12;
+  /** number of nodes above which the chunks are evaluated in parallel */
+  private static final int PARALLEL_NODES = 1 << 14;
+
+  /** the function to integrate */
+  protected final IDoubleEvaluatable m_aIntegrand;
+  /** evaluate many nodes in parallel? */
+  private final boolean m_bParallel;
+
+  /**
+   * Constructor.
+   *
+   * @param integrand
+   *        the function to integrate
+   * @param parallel
+   *        true to evaluate many nodes in parallel, which requires a
+   *        thread-safe integrand
+   */
+  protected AbstractCompositeIntegrator (@NonNull final IDoubleEvaluatable integrand, final boolean parallel)
+  {
+    m_aIntegrand = integrand;
+    m_bParallel = parallel;
+  }
+
+  /**
+   * @return true if many nodes are evaluated in parallel
+   */
+  public boolean isParallel ()
+  {
+    return m_bParallel;
+  }
+
+  /**
+   * @return the number of node spacings per interval
+   */
+  protected abstract int getNodesPerInterval ();
+
+  /**
+   * Return the weight of a node, relative to the node spacing times
+   * {@link #getScale()}.
+   *
+   * @param i
+   *        the index of the node
+   * @param last
+   *        the index of the last node
+   * @return the weight
+   */
+  protected abstract double getWeight (long i, long last);
+
+  /**
+   * @return the factor applied to the weighted sum times the node spacing
+   */
+  protected abstract double getScale ();
+
+  /**
+   * Integrate the function from a to b, and return an approximation to the
+   * area. (Integrator implementation.)
+   *
+   * @param a
+   *        the lower limit
+   * @param b
+   *        the upper limit
+   * @param intervals
+   *        the number of equal-width intervals, &ge; 1
+   * @return an approximation to the area
+   */
+  public float integrate (final float a, final float b, final int intervals)
+  {
+    return (float) integrate ((double) a, (double) b, intervals);
+  }
+
+  /**
+   * Integrate the function from a to b, and return an approximation to the
+   * area. (Double integrator implementation.)
+   *
+   * @param a
+   *        the lower limit
+   * @param b
+   *        the upper limit
+   * @param intervals
+   *        the number of equal-width intervals, &ge; 1
+   * @return an approximation to the area
+   */
+  public double integrate (final double a, final double b, final int intervals)
+  {
+    if (intervals < 1)
+      throw new IllegalArgumentException ("intervals < 1: " + intervals);
+    if (b <= a)
+      return 0;
+
+    final long last = (long) intervals * getNodesPerInterval ();
+    final double h = (b - a) / last; // node spacing
+    final int chunks = (int) ((last + CHUNK_NODES) / CHUNK_NODES);
+
+    final CompensatedSummation sum = new CompensatedSummation ();
+    if (m_bParallel && last >= PARALLEL_NODES)
+    {
+      // Combine the partial sums in order for reproducible results.
+      final CompensatedSummation [] partialSums = IntStream.range (0, chunks)
+                                                           .parallel ()
+                                                           .mapToObj (c -> _sumChunk (a, b, h, last, c))
+                                                           .toArray (CompensatedSummation []::new);
+      for (final CompensatedSummation partialSum : partialSums)
+        sum.add (partialSum);
+    }
+    else
+      for (int c = 0; c < chunks; ++c)
+        sum.add (_sumChunk (a, b, h, last, c));
+
+    return sum.value () * h * getScale ();
+  }
+
+  /**
+   * Compute the weighted sum of the function values of a chunk of nodes.
+   */
+  @NonNull
+  private CompensatedSummation _sumChunk (final double a,
+                                          final double b,
+                                          final double h,
+                                          final long last,
+                                          final int chunk)
+  {
+    final long first = (long) chunk * CHUNK_NODES;
+    final long end = Math.min (last + 1, first + CHUNK_NODES);
+
+    final int n = (int) (end - first);
+
+    // Evaluate the whole chunk at once.
+    final double [] values = new double [n];
+    for (int j = 0; j < n; ++j)
+    {
+      final long i = first + j;
+      values[j] = i == last ? b : a + i * h;
+    }
+    m_aIntegrand.at (values, values, n);
+
+    final CompensatedSummation ret = new CompensatedSummation ();
+    for (int j = 0; j < n; ++j)
+      ret.add (getWeight (first + j, last) * values[j]);
+    return ret;
+  }
+}
@@ -18,14 +18,14 @@ package com.helger.numbercruncher.mathutils;
 
 /**
  * The base class for functions that can have derivatives. Initialize the static
- * function table with some sample functions.
+ * function table with some sample functions.<br>
+ * Every equation is also an {@link AbstractDoubleDifferentialEquation} that
+ * rounds x and y to float.
  */
-public abstract class AbstractDifferentialEquation implements IEvaluatable
+public abstract class AbstractDifferentialEquation extends AbstractDoubleDifferentialEquation implements IEvaluatable
 {
   /** initial condition */
   private final DataPoint m_aInitialCondition;
-  /** solution function label */
-  private final String m_sSolutionLabel;
 
   /**
    * Constructor.
@@ -37,8 +37,8 @@ public abstract class AbstractDifferentialEquation implements IEvaluatable
    */
   public AbstractDifferentialEquation (final DataPoint initialCondition, final String solutionLabel)
   {
+    super (initialCondition.getX (), initialCondition.getY (), solutionLabel);
     m_aInitialCondition = initialCondition;
-    m_sSolutionLabel = solutionLabel;
   }
 
   /**
@@ -51,16 +51,6 @@ public abstract class AbstractDifferentialEquation implements IEvaluatable
     return m_aInitialCondition;
   }
 
-  /**
-   * Return the solution label.
-   *
-   * @return the label
-   */
-  public String getSolutionLabel ()
-  {
-    return m_sSolutionLabel;
-  }
-
   /**
    * Return the value of the differential equation at x. (Implementation of
    * {@link IEvaluatable}.)
@@ -85,6 +75,34 @@ public abstract class AbstractDifferentialEquation implements IEvaluatable
     return at (x);
   }
 
+  /**
+   * Return the value of the differential equation at x rounded to float.
+   *
+   * @param x
+   *        the value of x
+   * @return the solution value
+   */
+  @Override
+  public double at (final double x)
+  {
+    return at ((float) x);
+  }
+
+  /**
+   * Return the value of the differential equation at (x, y) rounded to float.
+   *
+   * @param x
+   *        x position
+   * @param y
+   *        y position
+   * @return the solution value
+   */
+  @Override
+  public double at (final double x, final double y)
+  {
+    return at ((float) x, (float) y);
+  }
+
   /**
    * Return the value of the solution at x.
    *
@@ -93,4 +111,17 @@ public abstract class AbstractDifferentialEquation implements IEvaluatable
    * @return the solution value
    */
   public abstract float solutionAt (float x);
+
+  /**
+   * Return the value of the solution at x rounded to float.
+   *
+   * @param x
+   *        the value of x
+   * @return the solution value
+   */
+  @Override
+  public double solutionAt (final double x)
+  {
+    return solutionAt ((float) x);
+  }
 }
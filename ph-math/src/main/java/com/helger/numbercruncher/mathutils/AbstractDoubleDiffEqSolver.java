@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * The base class for double-precision differential equation solvers.
+ */
+public abstract class AbstractDoubleDiffEqSolver
+{
+  /** the differential equation to solve */
+  protected AbstractDoubleDifferentialEquation m_aEquation;
+
+  /** current x value */
+  protected double m_dX;
+  /** current y value */
+  protected double m_dY;
+
+  /**
+   * Constructor.
+   *
+   * @param equation
+   *        the differential equation to solve
+   */
+  public AbstractDoubleDiffEqSolver (final AbstractDoubleDifferentialEquation equation)
+  {
+    m_aEquation = equation;
+
+    reset ();
+  }
+
+  /**
+   * Reset x and y to the initial condition.
+   */
+  public void reset ()
+  {
+    m_dX = m_aEquation.getInitialX ();
+    m_dY = m_aEquation.getInitialY ();
+  }
+
+  /**
+   * Return the current value of x.
+   *
+   * @return the value
+   */
+  public double getX ()
+  {
+    return m_dX;
+  }
+
+  /**
+   * Return the current value of y.
+   *
+   * @return the value
+   */
+  public double getY ()
+  {
+    return m_dY;
+  }
+
+  /**
+   * Advance x by h and return the next value in the approximation of the
+   * solution.
+   *
+   * @param h
+   *        the width of the interval
+   * @return the approximation of y at the new x
+   */
+  public abstract double nextPoint (double h);
+}
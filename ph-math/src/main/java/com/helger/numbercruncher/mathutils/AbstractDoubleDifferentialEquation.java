@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * The base class for double-precision differential equations y' = f(x, y).
+ */
+public abstract class AbstractDoubleDifferentialEquation implements IDoubleEvaluatable
+{
+  /** initial x value */
+  private final double m_dInitialX;
+  /** initial y value */
+  private final double m_dInitialY;
+  /** solution function label */
+  private final String m_sSolutionLabel;
+
+  /**
+   * Constructor.
+   *
+   * @param initialX
+   *        the x value of the initial condition
+   * @param initialY
+   *        the y value of the initial condition
+   * @param solutionLabel
+   *        the solution function label
+   */
+  public AbstractDoubleDifferentialEquation (final double initialX,
+                                             final double initialY,
+                                             final String solutionLabel)
+  {
+    m_dInitialX = initialX;
+    m_dInitialY = initialY;
+    m_sSolutionLabel = solutionLabel;
+  }
+
+  /**
+   * Return the x value of the initial condition.
+   *
+   * @return the initial x
+   */
+  public double getInitialX ()
+  {
+    return m_dInitialX;
+  }
+
+  /**
+   * Return the y value of the initial condition.
+   *
+   * @return the initial y
+   */
+  public double getInitialY ()
+  {
+    return m_dInitialY;
+  }
+
+  /**
+   * Return the solution label.
+   *
+   * @return the label
+   */
+  public String getSolutionLabel ()
+  {
+    return m_sSolutionLabel;
+  }
+
+  /**
+   * Return the value of the differential equation at x. (Implementation of
+   * {@link IDoubleEvaluatable}.)
+   *
+   * @param x
+   *        the value of x
+   * @return the solution value
+   */
+  public abstract double at (double x);
+
+  /**
+   * Return the value of the differential equation at (x, y).
+   *
+   * @param x
+   *        x position
+   * @param y
+   *        y position
+   * @return the solution value
+   */
+  public double at (final double x, final double y)
+  {
+    return at (x);
+  }
+
+  /**
+   * Return the value of the solution at x.
+   *
+   * @param x
+   *        the value of x
+   * @return the solution value
+   */
+  public abstract double solutionAt (double x);
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * Abstract base class for the double-precision root finder classes. They
+ * throw the exceptions of {@link AbstractRootFinder}.
+ */
+public abstract class AbstractDoubleRootFinder
+{
+  /** the function whose roots to find */
+  protected AbstractDoubleFunction m_aFunction;
+  /** iteration counter */
+  private int m_nIndex;
+  /** maximum number of iterations */
+  private final int m_nMaxIters;
+
+  /**
+   * Constructor.
+   *
+   * @param aFunction
+   *        the function whose roots to find
+   * @param nMaxIters
+   *        the maximum number of iterations
+   */
+  public AbstractDoubleRootFinder (final AbstractDoubleFunction aFunction, final int nMaxIters)
+  {
+    m_aFunction = aFunction;
+    m_nMaxIters = nMaxIters;
+  }
+
+  /**
+   * Check the interval.
+   *
+   * @param x1
+   *        x-coordinate of the left of the interval
+   * @param x2
+   *        x-coordinate of the right end of the interval
+   * @throws AbstractRootFinder.InvalidIntervalException
+   *         if the interval is invalid
+   */
+  public void checkInterval (final double x1, final double x2) throws AbstractRootFinder.InvalidIntervalException
+  {
+    final double y1 = m_aFunction.at (x1);
+    final double y2 = m_aFunction.at (x2);
+
+    // The interval is invalid if y1 and y2 have the same signs.
+    if (y1 * y2 > 0)
+      throw new AbstractRootFinder.InvalidIntervalException ();
+  }
+
+  /**
+   * Return the iteration count.
+   *
+   * @return the count
+   */
+  public int getIterationCount ()
+  {
+    return m_nIndex;
+  }
+
+  /**
+   * Perform one iteration step.
+   *
+   * @return true if the algorithm converged, else false
+   * @throws AbstractRootFinder.IterationCountExceededException
+   *         in case the maximum number of iterations is exceeded
+   * @throws AbstractRootFinder.PositionUnchangedException
+   *         If the position didn't change
+   */
+  public boolean step () throws AbstractRootFinder.IterationCountExceededException,
+                         AbstractRootFinder.PositionUnchangedException
+  {
+    checkIterationCount ();
+    doIterationProcedure (m_nIndex);
+
+    computeNextPosition ();
+    checkPosition ();
+
+    return hasConverged ();
+  }
+
+  /**
+   * Check the iteration count to see if it has exceeded the maximum number of
+   * iterations.
+   *
+   * @throws AbstractRootFinder.IterationCountExceededException
+   *         in case the maximum number of iterations is exceeded
+   */
+  protected void checkIterationCount () throws AbstractRootFinder.IterationCountExceededException
+  {
+    if (++m_nIndex > m_nMaxIters)
+      throw new AbstractRootFinder.IterationCountExceededException ();
+  }
+
+  /**
+   * Reset.
+   */
+  protected void reset ()
+  {
+    m_nIndex = 0;
+  }
+
+  // ------------------//
+  // Subclass methods //
+  // ------------------//
+
+  /**
+   * Do the iteration procedure.
+   *
+   * @param n
+   *        the iteration count
+   */
+  protected abstract void doIterationProcedure (int n);
+
+  /**
+   * Compute the next position of x.
+   */
+  protected abstract void computeNextPosition ();
+
+  /**
+   * Check the position of x.
+   *
+   * @throws AbstractRootFinder.PositionUnchangedException
+   *         If the position didn't change
+   */
+  protected abstract void checkPosition () throws AbstractRootFinder.PositionUnchangedException;
+
+  /**
+   * Indicate whether or not the algorithm has converged.
+   *
+   * @return true if converged, else false
+   */
+  protected abstract boolean hasConverged ();
+}
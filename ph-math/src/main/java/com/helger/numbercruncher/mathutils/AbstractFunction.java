@@ -17,9 +17,11 @@
 package com.helger.numbercruncher.mathutils;
 
 /**
- * The base class for functions that can have derivatives.
+ * The base class for functions that can have derivatives.<br>
+ * Every function is also an {@link AbstractDoubleFunction} that rounds x to
+ * float.
  */
-public abstract class AbstractFunction implements IEvaluatable
+public abstract class AbstractFunction extends AbstractDoubleFunction implements IEvaluatable
 {
   /**
    * Return the value of the function at x.
@@ -41,4 +43,30 @@ public abstract class AbstractFunction implements IEvaluatable
   {
     return 0;
   }
+
+  /**
+   * Return the value of the function at x rounded to float.
+   *
+   * @param x
+   *        the value of x
+   * @return the function value
+   */
+  @Override
+  public double at (final double x)
+  {
+    return at ((float) x);
+  }
+
+  /**
+   * Return the value of the function's derivative at x rounded to float.
+   *
+   * @param x
+   *        the value of x
+   * @return the derivative value
+   */
+  @Override
+  public double derivativeAt (final double x)
+  {
+    return derivativeAt ((float) x);
+  }
 }
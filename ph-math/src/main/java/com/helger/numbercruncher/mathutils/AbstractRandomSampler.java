@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Abstract base class for samplers of random distributions. Every sampler
+ * draws its uniformly-distributed values from its own generator, so samplers
+ * used by different threads do not contend. A sampler itself is not
+ * thread-safe: use {@link #split()} to derive an independent sampler for each
+ * thread or parallel task.<br>
+ * The bulk methods {@link #fill(float[], int, int)},
+ * {@link #fill(double[], int, int)} and {@link #doubles(long)} generate values
+ * in tight loops of the implementation. Large arrays are filled in parallel
+ * chunks, each with its own generator split off in a fixed order, so the
+ * result is reproducible from a seed, but differs from the sequence of
+ * single draws.
+ */
+public abstract class AbstractRandomSampler
+{
+  /** values per parallel chunk of the bulk methods */
+  private static final int CHUNK_SIZE = 1 << 16;
+  /** values generated at once by a stream */
+  private static final int STREAM_BUFFER_SIZE = 256;
+
+  /**
+   * Fill a part of an array from one generator.
+   */
+  @FunctionalInterface
+  private interface IChunkFiller
+  {
+    void fill (@NonNull RandomGenerator aGenerator, int off, int len);
+  }
+
+  /**
+   * A spliterator that generates a range of values from its own generator and
+   * splits off the generator together with the range.
+   */
+  private final class SamplerSpliterator implements Spliterator.OfDouble
+  {
+    private final RandomGenerator m_aSpliteratorGenerator;
+    private final double [] m_aBuffer = new double [STREAM_BUFFER_SIZE];
+    private long m_nRemaining;
+    private int m_nBufferPos = STREAM_BUFFER_SIZE;
+
+    SamplerSpliterator (@NonNull final RandomGenerator aGenerator, final long nCount)
+    {
+      m_aSpliteratorGenerator = aGenerator;
+      m_nRemaining = nCount;
+    }
+
+    public boolean tryAdvance (@NonNull final DoubleConsumer aAction)
+    {
+      if (m_nRemaining <= 0)
+        return false;
+      if (m_nBufferPos == STREAM_BUFFER_SIZE)
+      {
+        fillChunk (m_aSpliteratorGenerator, m_aBuffer, 0, STREAM_BUFFER_SIZE);
+        m_nBufferPos = 0;
+      }
+      --m_nRemaining;
+      aAction.accept (m_aBuffer[m_nBufferPos++]);
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining (@NonNull final DoubleConsumer aAction)
+    {
+      // Use up the buffer, then generate the rest in blocks.
+      while (m_nBufferPos < STREAM_BUFFER_SIZE && m_nRemaining > 0)
+        tryAdvance (aAction);
+      while (m_nRemaining > 0)
+      {
+        final int n = (int) Math.min (STREAM_BUFFER_SIZE, m_nRemaining);
+        fillChunk (m_aSpliteratorGenerator, m_aBuffer, 0, n);
+        for (int i = 0; i < n; ++i)
+          aAction.accept (m_aBuffer[i]);
+        m_nRemaining -= n;
+      }
+    }
+
+    public Spliterator.OfDouble trySplit ()
+    {
+      if (m_nRemaining < 2 * STREAM_BUFFER_SIZE || m_nBufferPos < STREAM_BUFFER_SIZE)
+        return null;
+      final long nHalf = m_nRemaining >>> 1;
+      m_nRemaining -= nHalf;
+      return new SamplerSpliterator (_splitGenerator (m_aSpliteratorGenerator), nHalf);
+    }
+
+    public long estimateSize ()
+    {
+      return m_nRemaining;
+    }
+
+    public int characteristics ()
+    {
+      return SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+  }
+
+  /** generator of uniformly-distributed random values */
+  protected final RandomGenerator m_aGenerator;
+
+  /**
+   * Constructor with a randomly seeded {@link SplittableRandom}.
+   */
+  protected AbstractRandomSampler ()
+  {
+    this (new SplittableRandom ());
+  }
+
+  /**
+   * Constructor with a seeded {@link SplittableRandom}, for reproducible
+   * sequences.
+   *
+   * @param seed
+   *        the seed
+   */
+  protected AbstractRandomSampler (final long seed)
+  {
+    this (new SplittableRandom (seed));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  protected AbstractRandomSampler (@NonNull final RandomGenerator aGenerator)
+  {
+    m_aGenerator = aGenerator;
+  }
+
+  /**
+   * @return the generator of uniformly-distributed random values
+   */
+  @NonNull
+  public RandomGenerator getGenerator ()
+  {
+    return m_aGenerator;
+  }
+
+  /**
+   * Derive a new, statistically independent generator from the generator of
+   * this sampler. Splittable generators are split; any other generator seeds a
+   * new {@link SplittableRandom}. Either way the result depends only on the
+   * state of this generator, so seeded runs stay reproducible.
+   *
+   * @return a new generator
+   */
+  @NonNull
+  protected RandomGenerator splitGenerator ()
+  {
+    return _splitGenerator (m_aGenerator);
+  }
+
+  @NonNull
+  private static RandomGenerator _splitGenerator (@NonNull final RandomGenerator aGenerator)
+  {
+    if (aGenerator instanceof RandomGenerator.SplittableGenerator)
+      return ((RandomGenerator.SplittableGenerator) aGenerator).split ();
+    return new SplittableRandom (aGenerator.nextLong ());
+  }
+
+  /**
+   * Create a sampler with the same parameters and a generator derived with
+   * {@link #splitGenerator()}, e.g. for another thread. Implementations
+   * return their own type.
+   *
+   * @return a new sampler
+   */
+  @NonNull
+  public abstract AbstractRandomSampler split ();
+
+  /**
+   * Fill a part of an array with random values of the current parameters.
+   *
+   * @param aGenerator
+   *        the generator to draw uniformly-distributed values from
+   * @param dest
+   *        the array to fill
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  protected abstract void fillChunk (@NonNull RandomGenerator aGenerator, @NonNull float [] dest, int off, int len);
+
+  /**
+   * Fill a part of an array with random values of the current parameters.
+   *
+   * @param aGenerator
+   *        the generator to draw uniformly-distributed values from
+   * @param dest
+   *        the array to fill
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  protected abstract void fillChunk (@NonNull RandomGenerator aGenerator, @NonNull double [] dest, int off, int len);
+
+  /**
+   * Fill a range in chunks, in parallel if there is more than one.
+   */
+  private void _fill (final int off, final int len, @NonNull final IChunkFiller aFiller)
+  {
+    if (len <= CHUNK_SIZE)
+    {
+      aFiller.fill (m_aGenerator, off, len);
+      return;
+    }
+
+    // Split the generators in a fixed order for reproducible results.
+    final int chunks = (len + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final RandomGenerator [] aGenerators = new RandomGenerator [chunks];
+    for (int i = 0; i < chunks; ++i)
+      aGenerators[i] = splitGenerator ();
+
+    IntStream.range (0, chunks)
+             .parallel ()
+             .forEach (i -> aFiller.fill (aGenerators[i],
+                                          off + i * CHUNK_SIZE,
+                                          Math.min (CHUNK_SIZE, len - i * CHUNK_SIZE)));
+  }
+
+  /**
+   * Fill a part of an array with random values.
+   *
+   * @param dest
+   *        the array to fill
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  public void fill (@NonNull final float [] dest, final int off, final int len)
+  {
+    Objects.checkFromIndexSize (off, len, dest.length);
+    _fill (off, len, (aGenerator, o, l) -> fillChunk (aGenerator, dest, o, l));
+  }
+
+  /**
+   * Fill a part of an array with random values.
+   *
+   * @param dest
+   *        the array to fill
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  public void fill (@NonNull final double [] dest, final int off, final int len)
+  {
+    Objects.checkFromIndexSize (off, len, dest.length);
+    _fill (off, len, (aGenerator, o, l) -> fillChunk (aGenerator, dest, o, l));
+  }
+
+  /**
+   * Create a stream of random values. The stream has its own generator, split
+   * off this one, and splits it further when run in parallel.
+   *
+   * @param n
+   *        the number of values, &ge; 0
+   * @return a new sequential stream
+   */
+  @NonNull
+  public DoubleStream doubles (final long n)
+  {
+    if (n < 0)
+      throw new IllegalArgumentException ("n < 0: " + n);
+    return StreamSupport.doubleStream (new SamplerSpliterator (splitGenerator (), n), false);
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adaptive function integrator with Simpson's algorithm. An interval is
+ * halved while the two halves differ from the whole by more than 15 times the
+ * tolerance, which is halved with each level, and the converged halves are
+ * improved by Richardson extrapolation. The function values at the ends and
+ * the middle are passed down, so every refinement costs two evaluations.<br>
+ * A relative tolerance is based on the first approximation. If the refined
+ * area asks for a tighter one, only the converged intervals that miss it are
+ * refined further; no value is evaluated twice.
+ */
+public class AdaptiveSimpsonsIntegrator extends AbstractAdaptiveIntegrator
+{
+  /** the default maximum number of function evaluations */
+  public static final int DEFAULT_MAX_EVALUATIONS = 20_001;
+
+  /** the maximum recursion depth */
+  private static final int MAX_DEPTH = 50;
+
+  /**
+   * A converged interval, with the values of its halves kept for further
+   * refinement.
+   */
+  private static final class Leaf
+  {
+    final double m_dA;
+    final double m_dB;
+    final double m_dFA;
+    final double m_dFLM;
+    final double m_dFM;
+    final double m_dFRM;
+    final double m_dFB;
+    final double m_dLeft;
+    final double m_dRight;
+    final double m_dArea;
+    final double m_dError;
+    final int m_nDepth;
+
+    Leaf (final double a,
+          final double b,
+          final double fa,
+          final double flm,
+          final double fm,
+          final double frm,
+          final double fb,
+          final double left,
+          final double right,
+          final double area,
+          final double error,
+          final int depth)
+    {
+      m_dA = a;
+      m_dB = b;
+      m_dFA = fa;
+      m_dFLM = flm;
+      m_dFM = fm;
+      m_dFRM = frm;
+      m_dFB = fb;
+      m_dLeft = left;
+      m_dRight = right;
+      m_dArea = area;
+      m_dError = error;
+      m_nDepth = depth;
+    }
+  }
+
+  /** the nodes and values of a refinement */
+  private final double [] m_aValues = new double [2];
+  /** the converged intervals of the current integration, left to right */
+  private List <Leaf> m_aLeaves = new ArrayList <> ();
+  /** accumulated error estimate of the current integration */
+  private double m_dError;
+  /** did all intervals of the current integration converge? */
+  private boolean m_bConverged;
+
+  /**
+   * Constructor with the default evaluation budget.
+   *
+   * @param integrand
+   *        the function to integrate, float or double
+   * @param relativeTolerance
+   *        the error tolerance relative to the area, &gt; 0
+   */
+  public AdaptiveSimpsonsIntegrator (final IDoubleEvaluatable integrand, final double relativeTolerance)
+  {
+    this (integrand, 0, relativeTolerance, DEFAULT_MAX_EVALUATIONS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param integrand
+   *        the function to integrate, float or double
+   * @param absoluteTolerance
+   *        the absolute error tolerance, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance relative to the area, &ge; 0
+   * @param maxEvaluations
+   *        the maximum number of function evaluations
+   */
+  public AdaptiveSimpsonsIntegrator (final IDoubleEvaluatable integrand,
+                                     final double absoluteTolerance,
+                                     final double relativeTolerance,
+                                     final int maxEvaluations)
+  {
+    super (integrand, absoluteTolerance, relativeTolerance, maxEvaluations);
+  }
+
+  @Override
+  protected double doIntegrate (final double a, final double b)
+  {
+    final double [] values = { a, 0.5 * (a + b), b };
+    evaluate (values, values, 3);
+    final double fa = values[0];
+    final double fm = values[1];
+    final double fb = values[2];
+    final double whole = (b - a) / 6 * (fa + 4 * fm + fb);
+
+    // A relative tolerance is based on the first approximation, which is far
+    // off for a peak the three nodes miss. If the refined area asks for a
+    // much smaller one, refine the converged intervals that miss it.
+    double tolerance = getTolerance (whole);
+    m_aLeaves = new ArrayList <> ();
+    m_dError = 0;
+    m_bConverged = true;
+    double area = _refine (a, b, fa, fm, fb, whole, tolerance, Math.abs (whole), 0);
+    while (true)
+    {
+      final double areaTolerance = getTolerance (area);
+      if (!m_bConverged || m_dError <= areaTolerance || tolerance <= areaTolerance)
+      {
+        setOutcome (m_dError, m_bConverged && m_dError <= areaTolerance);
+        m_aLeaves = new ArrayList <> ();
+        return area;
+      }
+      tolerance = areaTolerance;
+
+      final List <Leaf> aLeaves = m_aLeaves;
+      m_aLeaves = new ArrayList <> (aLeaves.size ());
+      m_dError = 0;
+      area = 0;
+      for (final Leaf aLeaf : aLeaves)
+      {
+        // The tolerance halves with each level.
+        final double leafTolerance = Math.scalb (tolerance, -aLeaf.m_nDepth);
+        if (aLeaf.m_dError <= leafTolerance)
+        {
+          m_aLeaves.add (aLeaf);
+          m_dError += aLeaf.m_dError;
+          area += aLeaf.m_dArea;
+        }
+        else
+        {
+          final double m = 0.5 * (aLeaf.m_dA + aLeaf.m_dB);
+          area += _refine (aLeaf.m_dA,
+                           m,
+                           aLeaf.m_dFA,
+                           aLeaf.m_dFLM,
+                           aLeaf.m_dFM,
+                           aLeaf.m_dLeft,
+                           leafTolerance / 2,
+                           aLeaf.m_dError / 2,
+                           aLeaf.m_nDepth + 1) +
+                  _refine (m,
+                           aLeaf.m_dB,
+                           aLeaf.m_dFM,
+                           aLeaf.m_dFRM,
+                           aLeaf.m_dFB,
+                           aLeaf.m_dRight,
+                           leafTolerance / 2,
+                           aLeaf.m_dError / 2,
+                           aLeaf.m_nDepth + 1);
+        }
+      }
+    }
+  }
+
+  /**
+   * Refine the Simpson approximation of an interval.
+   *
+   * @param a
+   *        the left bound
+   * @param b
+   *        the right bound
+   * @param fa
+   *        the value at the left bound
+   * @param fm
+   *        the value at the middle
+   * @param fb
+   *        the value at the right bound
+   * @param whole
+   *        the Simpson approximation of the interval
+   * @param tolerance
+   *        the error tolerance of the interval
+   * @param error
+   *        the error estimate of the approximation, used if the budget is
+   *        exhausted
+   * @param depth
+   *        the recursion depth
+   * @return the refined approximation
+   */
+  private double _refine (final double a,
+                          final double b,
+                          final double fa,
+                          final double fm,
+                          final double fb,
+                          final double whole,
+                          final double tolerance,
+                          final double error,
+                          final int depth)
+  {
+    if (!canEvaluate (2))
+    {
+      m_bConverged = false;
+      m_dError += error;
+      return whole;
+    }
+
+    final double m = 0.5 * (a + b);
+    final double lm = 0.5 * (a + m);
+    final double rm = 0.5 * (m + b);
+    final double [] values = m_aValues;
+    values[0] = lm;
+    values[1] = rm;
+    evaluate (values, values, 2);
+    final double flm = values[0];
+    final double frm = values[1];
+    final double left = (m - a) / 6 * (fa + 4 * flm + fm);
+    final double right = (b - m) / 6 * (fm + 4 * frm + fb);
+    final double delta = left + right - whole;
+    final double halvesError = Math.abs (delta) / 15;
+
+    if (halvesError <= tolerance)
+    {
+      final double area = left + right + delta / 15;
+      m_aLeaves.add (new Leaf (a, b, fa, flm, fm, frm, fb, left, right, area, halvesError, depth));
+      m_dError += halvesError;
+      return area;
+    }
+
+    // Stop when the nodes can no longer be told apart.
+    if (depth >= MAX_DEPTH || !canDistinguish (a, lm) || !canDistinguish (lm, m))
+    {
+      m_bConverged = false;
+      m_dError += halvesError;
+      return left + right + delta / 15;
+    }
+
+    return _refine (a, m, fa, flm, fm, left, tolerance / 2, halvesError / 2, depth + 1) +
+           _refine (m, b, fm, frm, fb, right, tolerance / 2, halvesError / 2, depth + 1);
+  }
+}
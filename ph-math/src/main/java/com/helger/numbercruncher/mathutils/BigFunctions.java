@@ -412,4 +412,38 @@ public final class BigFunctions
 
     return new BigDecimal (ix, scale);
   }
+
+  /**
+   * Compute the integer square root floor(sqrt(n)) of n &ge; 0. Each level of
+   * the recursion computes the root of the upper half of the bits and doubles
+   * its precision with a single Newton step, so the total cost is about that of
+   * two full-precision divisions.
+   *
+   * @param n
+   *        the value of n
+   * @return the integer square root
+   */
+  public static BigInteger isqrt (@NonNull final BigInteger n)
+  {
+    // Check that n >= 0.
+    if (n.signum () < 0)
+    {
+      throw new IllegalArgumentException ("n < 0: " + n);
+    }
+
+    // Small values are handled directly.
+    if (n.bitLength () <= 2048)
+      return n.sqrt ();
+
+    // Root of the upper half of the bits.
+    final int k = n.bitLength () >> 2;
+    final BigInteger s = isqrt (n.shiftRight (k << 1)).shiftLeft (k);
+
+    // One Newton step: r = (s + n/s)/2, which is never less than the root.
+    BigInteger r = s.add (n.divide (s)).shiftRight (1);
+    while (r.multiply (r).compareTo (n) > 0)
+      r = r.subtract (BigInteger.ONE);
+
+    return r;
+  }
 }
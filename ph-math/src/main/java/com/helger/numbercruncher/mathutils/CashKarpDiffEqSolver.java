@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * Differential equation solver that implements the Cash-Karp 5(4) embedded
+ * Runge-Kutta pair with automatic step size control. It propagates the
+ * fifth-order solution at six evaluations of the equation per step.
+ */
+public class CashKarpDiffEqSolver extends AbstractAdaptiveDiffEqSolver
+{
+  /** the default absolute and relative tolerance */
+  public static final double DEFAULT_TOLERANCE = 1e-6;
+
+  private static final double [] C = { 0, 1.0 / 5, 3.0 / 10, 3.0 / 5, 1, 7.0 / 8 };
+  private static final double [] [] A = { {},
+                                          { 1.0 / 5 },
+                                          { 3.0 / 40, 9.0 / 40 },
+                                          { 3.0 / 10, -9.0 / 10, 6.0 / 5 },
+                                          { -11.0 / 54, 5.0 / 2, -70.0 / 27, 35.0 / 27 },
+                                          { 1631.0 / 55296, 175.0 / 512, 575.0 / 13824, 44275.0 / 110592, 253.0 / 4096 } };
+  private static final double [] B = { 37.0 / 378, 0, 250.0 / 621, 125.0 / 594, 0, 512.0 / 1771 };
+  /** B minus the weights of the fourth-order solution */
+  private static final double [] E = { 37.0 / 378 - 2825.0 / 27648,
+                                       0,
+                                       250.0 / 621 - 18575.0 / 48384,
+                                       125.0 / 594 - 13525.0 / 55296,
+                                       -277.0 / 14336,
+                                       512.0 / 1771 - 1.0 / 4 };
+
+  /**
+   * Constructor with the default tolerances.
+   *
+   * @param equation
+   *        the differential equation to solve
+   */
+  public CashKarpDiffEqSolver (final AbstractDoubleDifferentialEquation equation)
+  {
+    this (equation, DEFAULT_TOLERANCE, DEFAULT_TOLERANCE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param equation
+   *        the differential equation to solve
+   * @param absoluteTolerance
+   *        the absolute error tolerance per step, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance per step relative to |y|, 0 or at least the
+   *        machine epsilon of the equation. At least one tolerance must be
+   *        positive.
+   */
+  public CashKarpDiffEqSolver (final AbstractDoubleDifferentialEquation equation,
+                               final double absoluteTolerance,
+                               final double relativeTolerance)
+  {
+    super (equation, absoluteTolerance, relativeTolerance, C, A, B, E, 4, false);
+  }
+}
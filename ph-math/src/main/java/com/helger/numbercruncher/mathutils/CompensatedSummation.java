@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Implement Neumaier's variant of Kahan's Summation Algorithm for the double
+ * type. Unlike {@link KahanSummation} it stays accurate when an addend is
+ * larger in magnitude than the running sum, and two partial sums can be
+ * combined, e.g. from parallel tasks.
+ */
+public class CompensatedSummation
+{
+  /** the current running sum */
+  private double m_dSum;
+  /** the current correction */
+  private double m_dCorrection;
+
+  /**
+   * Constructor.
+   */
+  public CompensatedSummation ()
+  {}
+
+  /**
+   * Return the current corrected value of the running sum.
+   *
+   * @return the running sum's value
+   */
+  public double value ()
+  {
+    return m_dSum + m_dCorrection;
+  }
+
+  /**
+   * Add the value of an addend to the running sum.
+   *
+   * @param addend
+   *        the value
+   */
+  public void add (final double addend)
+  {
+    final double tempSum = m_dSum + addend;
+
+    // Collect the low-order bits lost by the addition, from the addend or
+    // from the running sum, whichever is smaller.
+    if (Math.abs (m_dSum) >= Math.abs (addend))
+      m_dCorrection += (m_dSum - tempSum) + addend;
+    else
+      m_dCorrection += (addend - tempSum) + m_dSum;
+    m_dSum = tempSum;
+  }
+
+  /**
+   * Add another running sum to this one.
+   *
+   * @param aOther
+   *        the other running sum. It is not modified.
+   */
+  public void add (@NonNull final CompensatedSummation aOther)
+  {
+    add (aOther.m_dSum);
+    m_dCorrection += aOther.m_dCorrection;
+  }
+
+  /**
+   * Clear the running sum and the correction.
+   */
+  public void clear ()
+  {
+    m_dSum = 0;
+    m_dCorrection = 0;
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * Differential equation solver that implements the Dormand-Prince 5(4)
+ * embedded Runge-Kutta pair with automatic step size control. It propagates
+ * the fifth-order solution, and its last stage is the slope at the new point,
+ * so an accepted step costs six evaluations of the equation.
+ */
+public class DormandPrinceDiffEqSolver extends AbstractAdaptiveDiffEqSolver
+{
+  /** the default absolute and relative tolerance */
+  public static final double DEFAULT_TOLERANCE = 1e-6;
+
+  private static final double [] C = { 0, 1.0 / 5, 3.0 / 10, 4.0 / 5, 8.0 / 9, 1, 1 };
+  private static final double [] [] A = { {},
+                                          { 1.0 / 5 },
+                                          { 3.0 / 40, 9.0 / 40 },
+                                          { 44.0 / 45, -56.0 / 15, 32.0 / 9 },
+                                          { 19372.0 / 6561, -25360.0 / 2187, 64448.0 / 6561, -212.0 / 729 },
+                                          { 9017.0 / 3168, -355.0 / 33, 46732.0 / 5247, 49.0 / 176, -5103.0 / 18656 },
+                                          { 35.0 / 384, 0, 500.0 / 1113, 125.0 / 192, -2187.0 / 6784, 11.0 / 84 } };
+  private static final double [] B = { 35.0 / 384, 0, 500.0 / 1113, 125.0 / 192, -2187.0 / 6784, 11.0 / 84, 0 };
+  /** B minus the weights of the fourth-order solution */
+  private static final double [] E = { 35.0 / 384 - 5179.0 / 57600,
+                                       0,
+                                       500.0 / 1113 - 7571.0 / 16695,
+                                       125.0 / 192 - 393.0 / 640,
+                                       -2187.0 / 6784 + 92097.0 / 339200,
+                                       11.0 / 84 - 187.0 / 2100,
+                                       -1.0 / 40 };
+
+  /**
+   * Constructor with the default tolerances.
+   *
+   * @param equation
+   *        the differential equation to solve
+   */
+  public DormandPrinceDiffEqSolver (final AbstractDoubleDifferentialEquation equation)
+  {
+    this (equation, DEFAULT_TOLERANCE, DEFAULT_TOLERANCE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param equation
+   *        the differential equation to solve
+   * @param absoluteTolerance
+   *        the absolute error tolerance per step, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance per step relative to |y|, 0 or at least the
+   *        machine epsilon of the equation. At least one tolerance must be
+   *        positive.
+   */
+  public DormandPrinceDiffEqSolver (final AbstractDoubleDifferentialEquation equation,
+                                    final double absoluteTolerance,
+                                    final double relativeTolerance)
+  {
+    super (equation, absoluteTolerance, relativeTolerance, C, A, B, E, 4, true);
+  }
+}
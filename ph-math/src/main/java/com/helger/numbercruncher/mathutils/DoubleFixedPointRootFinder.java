@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * The double-precision root finder class that implements the fixed-point
+ * iteration algorithm.
+ */
+public class DoubleFixedPointRootFinder extends AbstractDoubleRootFinder
+{
+  private static final int MAX_ITERS = 50;
+  private static final double TOLERANCE = 100 * Epsilon.doubleValue ();
+
+  /** x[n] value */
+  private double m_dXn = Double.NaN;
+  /** previous x[n] value */
+  private double m_dPrevXn;
+  /** g(x[n]) */
+  private double m_dGn;
+
+  /**
+   * Constructor.
+   *
+   * @param function
+   *        the functions whose roots to find
+   */
+  public DoubleFixedPointRootFinder (final AbstractDoubleFunction function)
+  {
+    super (function, MAX_ITERS);
+  }
+
+  /**
+   * Reset.
+   *
+   * @param x0
+   *        the initial x-value
+   */
+  public void reset (final double x0)
+  {
+    super.reset ();
+    m_dGn = x0;
+  }
+
+  // ---------//
+  // Getters //
+  // ---------//
+
+  /**
+   * Return the current value of x[n].
+   *
+   * @return the value
+   */
+  public double getXn ()
+  {
+    return m_dXn;
+  }
+
+  /**
+   * Return the current value of g(x[n]).
+   *
+   * @return the value
+   */
+  public double getGn ()
+  {
+    return m_dGn;
+  }
+
+  // -----------------------------//
+  // RootFinder method overrides //
+  // -----------------------------//
+
+  /**
+   * Do the fixed point iteration procedure. (Nothing to do!)
+   *
+   * @param n
+   *        the iteration count
+   */
+  @Override
+  protected void doIterationProcedure (final int n)
+  {}
+
+  /**
+   * Compute the next position of xn.
+   */
+  @Override
+  protected void computeNextPosition ()
+  {
+    m_dPrevXn = m_dXn;
+    m_dXn = m_dGn;
+    m_dGn = m_aFunction.at (m_dXn);
+  }
+
+  /**
+   * Check the position of xn.
+   *
+   * @throws AbstractRootFinder.PositionUnchangedException
+   */
+  @Override
+  protected void checkPosition () throws AbstractRootFinder.PositionUnchangedException
+  {
+    if (m_dXn == m_dPrevXn)
+    {
+      throw new AbstractRootFinder.PositionUnchangedException ();
+    }
+  }
+
+  /**
+   * Indicate whether or not the algorithm has converged.
+   *
+   * @return true if converged, else false
+   */
+  @Override
+  protected boolean hasConverged ()
+  {
+    return Math.abs ((m_dGn - m_dXn) / m_dXn) < TOLERANCE;
+  }
+}
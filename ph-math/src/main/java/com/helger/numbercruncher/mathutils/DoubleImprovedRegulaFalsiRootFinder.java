@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * The double-precision root finder class that implements the improved regula
+ * falsi algorithm.
+ */
+public class DoubleImprovedRegulaFalsiRootFinder extends DoubleRegulaFalsiRootFinder
+{
+  /** previous f(xFalse) value */
+  private double m_dPrevFFalse;
+
+  private boolean m_bDecreasePos = false;
+  private boolean m_bDecreaseNeg = false;
+
+  /**
+   * Constructor.
+   *
+   * @param function
+   *        the functions whose roots to find
+   * @param xMin
+   *        the initial x-value where the function is negative
+   * @param xMax
+   *        the initial x-value where the function is positive
+   * @throws AbstractRootFinder.InvalidIntervalException
+   *         if the interval is invalid
+   */
+  public DoubleImprovedRegulaFalsiRootFinder (final AbstractDoubleFunction function,
+                                        final double xMin,
+                                        final double xMax) throws AbstractRootFinder.InvalidIntervalException
+  {
+    super (function, xMin, xMax);
+  }
+
+  // ----------------------------------------//
+  // Override DoubleRegulaFalsiRootFinder methods //
+  // ----------------------------------------//
+
+  /**
+   * Do the improved regula falsi iteration procedure.
+   *
+   * @param n
+   *        the iteration count
+   */
+  @Override
+  protected void doIterationProcedure (final int n)
+  {
+    super.doIterationProcedure (n);
+
+    // Decrease the slope of the secant?
+    if (m_bDecreasePos)
+      m_dPos /= 2;
+    if (m_bDecreaseNeg)
+      m_dNeg /= 2;
+  }
+
+  /**
+   * Compute the next position of xFalse.
+   */
+  @Override
+  protected void computeNextPosition ()
+  {
+    m_dPrevXFalse = m_dXFalse;
+    m_dPrevFFalse = m_dFalse;
+    m_dXFalse = m_dXPos - m_dPos * (m_dXNeg - m_dXPos) / (m_dNeg - m_dPos);
+    m_dFalse = m_aFunction.at (m_dXFalse);
+
+    m_bDecreasePos = m_bDecreaseNeg = false;
+
+    // If there was no sign change in f(xFalse),
+    // or if this is the first iteration step,
+    // then decrease the slope of the secant.
+    if (Double.isNaN (m_dPrevFFalse) || (m_dPrevFFalse * m_dFalse > 0))
+    {
+      if (m_dFalse < 0)
+        m_bDecreasePos = true;
+      else
+        m_bDecreaseNeg = true;
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import com.helger.base.equals.EqualsHelper;
+
+/**
+ * The double-precision root finder class that implements Newton's
+ * algorithm.
+ */
+public class DoubleNewtonsRootFinder extends AbstractDoubleRootFinder
+{
+  private static final int MAX_ITERS = 50;
+  private static final double TOLERANCE = 100 * Epsilon.doubleValue ();
+
+  /** x[n] value */
+  private double m_dXn;
+  /** x[n+1] value */
+  private double m_dXnp1;
+  /** previous x[n+1] value */
+  private double m_dPrevXnp1;
+  /** f(x[n]) */
+  private double m_dFn;
+  /** f(x[n+1]) */
+  private double m_dFnp1;
+  /** f'(x[n]) */
+  private double m_dFpn;
+
+  /**
+   * Constructor.
+   *
+   * @param function
+   *        the functions whose roots to find
+   */
+  public DoubleNewtonsRootFinder (final AbstractDoubleFunction function)
+  {
+    super (function, MAX_ITERS);
+  }
+
+  /**
+   * Reset.
+   *
+   * @param x0
+   *        the initial x-value
+   */
+  public void reset (final double x0)
+  {
+    super.reset ();
+
+    m_dXnp1 = x0;
+    m_dFnp1 = m_aFunction.at (m_dXnp1);
+  }
+
+  // ---------//
+  // Getters //
+  // ---------//
+
+  /**
+   * Return the current value of x[n].
+   *
+   * @return the value
+   */
+  public double getXn ()
+  {
+    return m_dXn;
+  }
+
+  /**
+   * Return the current value of x[n+1].
+   *
+   * @return the value
+   */
+  public double getXnp1 ()
+  {
+    return m_dXnp1;
+  }
+
+  /**
+   * Return the current value of f(x[n]).
+   *
+   * @return the value
+   */
+  public double getFn ()
+  {
+    return m_dFn;
+  }
+
+  /**
+   * Return the current value of f(x[n+1]).
+   *
+   * @return the value
+   */
+  public double getFnp1 ()
+  {
+    return m_dFnp1;
+  }
+
+  /**
+   * Return the current value of f'(x[n]).
+   *
+   * @return the value
+   */
+  public double getFpn ()
+  {
+    return m_dFpn;
+  }
+
+  // -----------------------------//
+  // RootFinder method overrides //
+  // -----------------------------//
+
+  /**
+   * Do Newton's iteration procedure.
+   *
+   * @param n
+   *        the iteration count
+   */
+  @Override
+  protected void doIterationProcedure (final int n)
+  {
+    m_dXn = m_dXnp1;
+  }
+
+  /**
+   * Compute the next position of x[n+1].
+   */
+  @Override
+  protected void computeNextPosition ()
+  {
+    m_dFn = m_dFnp1;
+    m_dFpn = m_aFunction.derivativeAt (m_dXn);
+
+    // Compute the value of x[n+1].
+    m_dPrevXnp1 = m_dXnp1;
+    m_dXnp1 = m_dXn - m_dFn / m_dFpn;
+
+    m_dFnp1 = m_aFunction.at (m_dXnp1);
+  }
+
+  /**
+   * Check the position of x[n+1].
+   *
+   * @throws AbstractRootFinder.PositionUnchangedException
+   */
+  @Override
+  protected void checkPosition () throws AbstractRootFinder.PositionUnchangedException
+  {
+    if (EqualsHelper.equals (m_dXnp1, m_dPrevXnp1))
+    {
+      throw new AbstractRootFinder.PositionUnchangedException ();
+    }
+  }
+
+  /**
+   * Indicate whether or not the algorithm has converged.
+   *
+   * @return true if converged, else false
+   */
+  @Override
+  protected boolean hasConverged ()
+  {
+    return Math.abs (m_dFnp1) < TOLERANCE;
+  }
+}
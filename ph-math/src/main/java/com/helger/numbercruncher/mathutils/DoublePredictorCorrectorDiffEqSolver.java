@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * Double-precision differential equation solver that implements a
+ * predictor-corrector algorithm.
+ */
+public class DoublePredictorCorrectorDiffEqSolver extends AbstractDoubleDiffEqSolver
+{
+  /**
+   * Constructor.
+   *
+   * @param equation
+   *        the differential equation to solve
+   */
+  public DoublePredictorCorrectorDiffEqSolver (final AbstractDoubleDifferentialEquation equation)
+  {
+    super (equation);
+  }
+
+  /**
+   * Return the next value in the approximation of the solution.
+   *
+   * @param h
+   *        the width of the interval
+   * @return the approximation of y at the new x
+   */
+  @Override
+  public double nextPoint (final double h)
+  {
+    final double predictor = m_dY + Math.abs (h) * m_aEquation.at (m_dX);
+    final double avgSlope = (m_aEquation.at (m_dX, m_dY) + m_aEquation.at (m_dX + h, predictor)) / 2;
+
+    m_dY += h * avgSlope; // corrector
+    m_dX += h;
+
+    return m_dY;
+  }
+}
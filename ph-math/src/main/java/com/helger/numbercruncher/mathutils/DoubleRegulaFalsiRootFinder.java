@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import com.helger.base.equals.EqualsHelper;
+
+/**
+ * The double-precision root finder class that implements the regula falsi
+ * algorithm.
+ */
+public class DoubleRegulaFalsiRootFinder extends AbstractDoubleRootFinder
+{
+  private static final int MAX_ITERS = 100;
+  private static final double TOLERANCE = 100 * Epsilon.doubleValue ();
+
+  /** x-negative value */
+  protected double m_dXNeg;
+  /** x-false value */
+  protected double m_dXFalse = Double.NaN;
+  /** x-positive value */
+  protected double m_dXPos;
+  /** previous x-false value */
+  protected double m_dPrevXFalse;
+  /** f(xNeg) */
+  protected double m_dNeg;
+  /** f(xFalse) */
+  protected double m_dFalse = Double.NaN;
+  /** f(xPos) */
+  protected double m_dPos;
+
+  /**
+   * Constructor.
+   *
+   * @param function
+   *        the functions whose roots to find
+   * @param xMin
+   *        the initial x-value where the function is negative
+   * @param xMax
+   *        the initial x-value where the function is positive
+   * @throws AbstractRootFinder.InvalidIntervalException
+   *         if the interval is invalid
+   */
+  public DoubleRegulaFalsiRootFinder (final AbstractDoubleFunction function,
+                                final double xMin,
+                                final double xMax) throws AbstractRootFinder.InvalidIntervalException
+  {
+    super (function, MAX_ITERS);
+    checkInterval (xMin, xMax);
+
+    final double yMin = function.at (xMin);
+    final double yMax = function.at (xMax);
+
+    // Initialize xNeg, fNeg, xPos, and fPos.
+    if (yMin < 0)
+    {
+      m_dXNeg = xMin;
+      m_dXPos = xMax;
+      m_dNeg = yMin;
+      m_dPos = yMax;
+    }
+    else
+    {
+      m_dXNeg = xMax;
+      m_dXPos = xMin;
+      m_dNeg = yMax;
+      m_dPos = yMin;
+    }
+  }
+
+  // ---------//
+  // Getters //
+  // ---------//
+
+  /**
+   * Return the current value of x-negative.
+   *
+   * @return the value
+   */
+  public double getXNeg ()
+  {
+    return m_dXNeg;
+  }
+
+  /**
+   * Return the current value of x-false.
+   *
+   * @return the value
+   */
+  public double getXFalse ()
+  {
+    return m_dXFalse;
+  }
+
+  /**
+   * Return the current value of x-positive.
+   *
+   * @return the value
+   */
+  public double getXPos ()
+  {
+    return m_dXPos;
+  }
+
+  /**
+   * Return the current value of f(x-negative).
+   *
+   * @return the value
+   */
+  public double getFNeg ()
+  {
+    return m_dNeg;
+  }
+
+  /**
+   * Return the current value of f(x-false).
+   *
+   * @return the value
+   */
+  public double getFFalse ()
+  {
+    return m_dFalse;
+  }
+
+  /**
+   * Return the current value of f(x-positive).
+   *
+   * @return the value
+   */
+  public double getFPos ()
+  {
+    return m_dPos;
+  }
+
+  // -----------------------------//
+  // RootFinder method overrides //
+  // -----------------------------//
+
+  /**
+   * Do the regula falsi iteration procedure.
+   *
+   * @param n
+   *        the iteration count
+   */
+  @Override
+  protected void doIterationProcedure (final int n)
+  {
+    if (n == 1)
+      return; // already initialized
+
+    if (m_dFalse < 0)
+    {
+      m_dXNeg = m_dXFalse; // the root is in the xPos side
+      m_dNeg = m_dFalse;
+    }
+    else
+    {
+      m_dXPos = m_dXFalse; // the root is in the xNeg side
+      m_dPos = m_dFalse;
+    }
+  }
+
+  /**
+   * Compute the next position of x-false.
+   */
+  @Override
+  protected void computeNextPosition ()
+  {
+    m_dPrevXFalse = m_dXFalse;
+    m_dXFalse = m_dXPos - m_dPos * (m_dXNeg - m_dXPos) / (m_dNeg - m_dPos);
+    m_dFalse = m_aFunction.at (m_dXFalse);
+  }
+
+  /**
+   * Check the position of x-false.
+   *
+   * @throws AbstractRootFinder.PositionUnchangedException
+   */
+  @Override
+  protected void checkPosition () throws AbstractRootFinder.PositionUnchangedException
+  {
+    if (EqualsHelper.equals (m_dXFalse, m_dPrevXFalse))
+    {
+      throw new AbstractRootFinder.PositionUnchangedException ();
+    }
+  }
+
+  /**
+   * Indicate whether or not the algorithm has converged.
+   *
+   * @return true if converged, else false
+   */
+  @Override
+  protected boolean hasConverged ()
+  {
+    return Math.abs (m_dFalse) < TOLERANCE;
+  }
+}
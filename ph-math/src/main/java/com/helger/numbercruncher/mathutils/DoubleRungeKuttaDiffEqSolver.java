@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * Double-precision differential equation solver that implements a fourth-order
+ * Runge-Kutta algorithm.
+ */
+public class DoubleRungeKuttaDiffEqSolver extends AbstractDoubleDiffEqSolver
+{
+  /**
+   * Constructor.
+   *
+   * @param equation
+   *        the differential equation to solve
+   */
+  public DoubleRungeKuttaDiffEqSolver (final AbstractDoubleDifferentialEquation equation)
+  {
+    super (equation);
+  }
+
+  /**
+   * Return the next value in the approximation of the solution.
+   *
+   * @param h
+   *        the width of the interval
+   * @return the approximation of y at the new x
+   */
+  @Override
+  public double nextPoint (final double h)
+  {
+    final double k1 = m_aEquation.at (m_dX, m_dY);
+    final double k2 = m_aEquation.at (m_dX + h / 2, m_dY + k1 * h / 2);
+    final double k3 = m_aEquation.at (m_dX + h / 2, m_dY + k2 * h / 2);
+    final double k4 = m_aEquation.at (m_dX + h, m_dY + k3 * h);
+
+    m_dY += (k1 + 2 * (k2 + k3) + k4) * h / 6;
+    m_dX += h;
+
+    return m_dY;
+  }
+}
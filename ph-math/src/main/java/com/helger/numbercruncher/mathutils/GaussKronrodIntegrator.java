@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.PriorityQueue;
+
+/**
+ * Adaptive function integrator with the 7-point Gauss and 15-point Kronrod
+ * rules. The difference of the two rules, which share the Gauss nodes,
+ * estimates the error of a subinterval. The subinterval with the largest error
+ * is bisected until the total error meets the tolerance. This is the
+ * globally adaptive strategy of QUADPACK's QAG, and it copes with peaks,
+ * kinks and integrable endpoint singularities, since the nodes exclude the
+ * endpoints.
+ */
+public class GaussKronrodIntegrator extends AbstractAdaptiveIntegrator
+{
+  /** the default maximum number of function evaluations */
+  public static final int DEFAULT_MAX_EVALUATIONS = 15 * 2001;
+
+  /** Kronrod nodes; the odd ones are the Gauss nodes */
+  private static final double [] XGK = { 0.991455371120812639206854697526329,
+                                         0.949107912342758524526189684047851,
+                                         0.864864423359769072789712788640926,
+                                         0.741531185599394439863864773280788,
+                                         0.586087235467691130294144845693013,
+                                         0.405845151377397166906606412076961,
+                                         0.207784955007898467600689403773245,
+                                         0 };
+  /** Kronrod weights */
+  private static final double [] WGK = { 0.022935322010529224963732008058970,
+                                         0.063092092629978553290700663189204,
+                                         0.104790010322250183839876322541518,
+                                         0.140653259715525918745189590510238,
+                                         0.169004726639267902826583426598550,
+                                         0.190350578064785409913256402421014,
+                                         0.204432940075298892414161999234649,
+                                         0.209482141084727828012999174891714 };
+  /** Gauss weights of the nodes XGK[1], XGK[3], XGK[5] and XGK[7] */
+  private static final double [] WG = { 0.129484966168869693270611432679082,
+                                        0.279705391489276667901467771423780,
+                                        0.381830050505118944950369775488975,
+                                        0.417959183673469387755102040816327 };
+
+  /**
+   * A subinterval with its area and error estimate.
+   */
+  private static final class Segment implements Comparable <Segment>
+  {
+    final double m_dA;
+    final double m_dB;
+    final double m_dArea;
+    final double m_dError;
+
+    Segment (final double a, final double b, final double area, final double error)
+    {
+      m_dA = a;
+      m_dB = b;
+      m_dArea = area;
+      m_dError = error;
+    }
+
+    public int compareTo (final Segment o)
+    {
+      // Largest error first
+      return Double.compare (o.m_dError, m_dError);
+    }
+  }
+
+  /** the nodes and values of a subinterval */
+  private final double [] m_aValues = new double [15];
+
+  /**
+   * Constructor with the default evaluation budget.
+   *
+   * @param integrand
+   *        the function to integrate, float or double
+   * @param relativeTolerance
+   *        the error tolerance relative to the area, &gt; 0
+   */
+  public GaussKronrodIntegrator (final IDoubleEvaluatable integrand, final double relativeTolerance)
+  {
+    this (integrand, 0, relativeTolerance, DEFAULT_MAX_EVALUATIONS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param integrand
+   *        the function to integrate, float or double
+   * @param absoluteTolerance
+   *        the absolute error tolerance, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance relative to the area, &ge; 0
+   * @param maxEvaluations
+   *        the maximum number of function evaluations, 15 per subinterval
+   */
+  public GaussKronrodIntegrator (final IDoubleEvaluatable integrand,
+                                 final double absoluteTolerance,
+                                 final double relativeTolerance,
+                                 final int maxEvaluations)
+  {
+    super (integrand, absoluteTolerance, relativeTolerance, maxEvaluations);
+  }
+
+  @Override
+  protected double doIntegrate (final double a, final double b)
+  {
+    final PriorityQueue <Segment> queue = new PriorityQueue <> ();
+    final Segment first = _rule (a, b);
+    queue.add (first);
+    double area = first.m_dArea;
+    double error = first.m_dError;
+
+    while (error > getTolerance (area) && canEvaluate (30))
+    {
+      final Segment worst = queue.peek ();
+      final double mid = 0.5 * (worst.m_dA + worst.m_dB);
+
+      // Stop when the nodes can no longer be told apart.
+      if (!canDistinguish (worst.m_dA, mid) || !canDistinguish (mid, worst.m_dB))
+        break;
+
+      queue.poll ();
+      final Segment left = _rule (worst.m_dA, mid);
+      final Segment right = _rule (mid, worst.m_dB);
+      queue.add (left);
+      queue.add (right);
+      area += left.m_dArea + right.m_dArea - worst.m_dArea;
+      error += left.m_dError + right.m_dError - worst.m_dError;
+    }
+
+    // Sum up again to get rid of the accumulated rounding errors.
+    final CompensatedSummation areaSum = new CompensatedSummation ();
+    final CompensatedSummation errorSum = new CompensatedSummation ();
+    for (final Segment segment : queue)
+    {
+      areaSum.add (segment.m_dArea);
+      errorSum.add (segment.m_dError);
+    }
+    area = areaSum.value ();
+    error = errorSum.value ();
+    setOutcome (error, error <= getTolerance (area));
+    return area;
+  }
+
+  /**
+   * Apply the Gauss-Kronrod rule to a subinterval.
+   */
+  private Segment _rule (final double a, final double b)
+  {
+    final double center = 0.5 * (a + b);
+    final double halfLength = 0.5 * (b - a);
+
+    // Evaluate all 15 nodes at once: the center, then the pairs.
+    final double [] values = m_aValues;
+    values[0] = center;
+    for (int j = 0; j < 7; ++j)
+    {
+      final double dx = halfLength * XGK[j];
+      values[2 * j + 1] = center - dx;
+      values[2 * j + 2] = center + dx;
+    }
+    evaluate (values, values, 15);
+
+    double kronrod = WGK[7] * values[0];
+    double gauss = WG[3] * values[0];
+    for (int j = 0; j < 7; ++j)
+    {
+      final double sum = values[2 * j + 1] + values[2 * j + 2];
+      kronrod += WGK[j] * sum;
+      if ((j & 1) != 0)
+        gauss += WG[j >> 1] * sum;
+    }
+    return new Segment (a, b, kronrod * halfLength, Math.abs ((kronrod - gauss) * halfLength));
+  }
+}
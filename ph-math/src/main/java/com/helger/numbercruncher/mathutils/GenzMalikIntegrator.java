@@ -0,0 +1,412 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.PriorityQueue;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Adaptive cubature over a hyper-rectangle with the rule of Genz and Malik. A
+ * region is integrated with an embedded pair of rules of degree 7 and 5 on
+ * 1 + 4n + 2n(n-1) + 2^n points, and their difference estimates the error. The
+ * regions with the largest errors are bisected along the axis with the
+ * largest fourth difference until the total error meets the tolerance or the
+ * evaluation budget is used up.<br>
+ * Each round bisects up to {@link #REGIONS_PER_ROUND} regions and evaluates
+ * the new regions in parallel. The choice of regions does not depend on the
+ * number of threads, so the result is reproducible. The integrand must then be
+ * thread-safe; pass <code>false</code> for <code>parallel</code> otherwise.
+ * Instances keep the statistics of the last integration and are not
+ * thread-safe. The rule suits 2 to about 10 dimensions; beyond that the 2^n
+ * points dominate and Monte-Carlo integration is cheaper. The corner points
+ * are evaluated in batches of {@link #CORNER_BATCH_SIZE}, so the memory per
+ * region stays bounded.
+ */
+public class GenzMalikIntegrator
+{
+  /** the maximum number of dimensions */
+  public static final int MAX_DIMENSION = 15;
+  /** the number of corner points evaluated at once */
+  public static final int CORNER_BATCH_SIZE = 1024;
+  /** the maximum number of regions bisected per round */
+  public static final int REGIONS_PER_ROUND = 16;
+
+  private static final double LAMBDA2 = Math.sqrt (9.0 / 70);
+  private static final double LAMBDA3 = Math.sqrt (9.0 / 10);
+  private static final double LAMBDA4 = Math.sqrt (9.0 / 10);
+  private static final double LAMBDA5 = Math.sqrt (9.0 / 19);
+  /** (LAMBDA2 / LAMBDA3)^2 for the fourth differences */
+  private static final double RATIO = 1.0 / 7;
+
+  /**
+   * A region with its integral and error estimates.
+   */
+  private static final class Region implements Comparable <Region>
+  {
+    final double [] m_aCenter;
+    final double [] m_aHalfWidth;
+    double m_dIntegral;
+    double m_dError;
+    int m_nSplitAxis;
+
+    Region (final double [] aCenter, final double [] aHalfWidth)
+    {
+      m_aCenter = aCenter;
+      m_aHalfWidth = aHalfWidth;
+    }
+
+    public int compareTo (final Region o)
+    {
+      // Largest error first
+      return Double.compare (o.m_dError, m_dError);
+    }
+  }
+
+  /** the function to integrate */
+  private final IMultivariateEvaluatable m_aIntegrand;
+  /** the number of variables */
+  private final int m_nDimension;
+  /** the absolute error tolerance */
+  private final double m_dAbsoluteTolerance;
+  /** the relative error tolerance */
+  private final double m_dRelativeTolerance;
+  /** the maximum number of function evaluations */
+  private final int m_nMaxEvaluations;
+  /** evaluate the regions of a round in parallel? */
+  private final boolean m_bParallel;
+
+  // Weights of the rules of degree 7 and 5
+  private final double m_dW1;
+  private final double m_dW2;
+  private final double m_dW3;
+  private final double m_dW4;
+  private final double m_dW5;
+  private final double m_dE1;
+  private final double m_dE2;
+  private final double m_dE3;
+  private final double m_dE4;
+  /** the number of points of a region */
+  private final int m_nPoints;
+  /** the number of points of a region that are not corners */
+  private final int m_nInnerPoints;
+
+  /** number of function evaluations of the last integration */
+  private int m_nEvaluations;
+  /** estimated error of the last integration */
+  private double m_dErrorEstimate;
+  /** did the last integration converge? */
+  private boolean m_bConverged;
+
+  /**
+   * Constructor.
+   *
+   * @param integrand
+   *        the function to integrate
+   * @param dimension
+   *        the number of variables, 2 to {@link #MAX_DIMENSION}
+   * @param absoluteTolerance
+   *        the absolute error tolerance, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance relative to the integral, &ge; 0
+   * @param maxEvaluations
+   *        the maximum number of function evaluations. The first region is
+   *        always evaluated, even if it needs more.
+   * @param parallel
+   *        true to evaluate the regions of a round in parallel, which requires
+   *        a thread-safe integrand
+   */
+  public GenzMalikIntegrator (@NonNull final IMultivariateEvaluatable integrand,
+                              final int dimension,
+                              final double absoluteTolerance,
+                              final double relativeTolerance,
+                              final int maxEvaluations,
+                              final boolean parallel)
+  {
+    if (dimension < 2 || dimension > MAX_DIMENSION)
+      throw new IllegalArgumentException ("The dimension must be between 2 and " + MAX_DIMENSION + ": " + dimension);
+    if (!(absoluteTolerance >= 0) || !(relativeTolerance >= 0))
+      throw new IllegalArgumentException ("The tolerances must not be negative: " +
+                                          absoluteTolerance +
+                                          ", " +
+                                          relativeTolerance);
+    if (absoluteTolerance == 0 && relativeTolerance == 0)
+      throw new IllegalArgumentException ("At least one tolerance must be positive");
+    if (maxEvaluations < 1)
+      throw new IllegalArgumentException ("maxEvaluations < 1: " + maxEvaluations);
+
+    m_aIntegrand = integrand;
+    m_nDimension = dimension;
+    m_dAbsoluteTolerance = absoluteTolerance;
+    m_dRelativeTolerance = relativeTolerance;
+    m_nMaxEvaluations = maxEvaluations;
+    m_bParallel = parallel;
+
+    final double n = dimension;
+    m_dW1 = (12824 - 9120 * n + 400 * n * n) / 19683;
+    m_dW2 = 980.0 / 6561;
+    m_dW3 = (1820 - 400 * n) / 19683;
+    m_dW4 = 200.0 / 19683;
+    m_dW5 = 6859.0 / 19683 / (1 << dimension);
+    m_dE1 = (729 - 950 * n + 50 * n * n) / 729;
+    m_dE2 = 245.0 / 486;
+    m_dE3 = (265 - 100 * n) / 1458;
+    m_dE4 = 25.0 / 729;
+    m_nInnerPoints = 1 + 4 * dimension + 2 * dimension * (dimension - 1);
+    m_nPoints = m_nInnerPoints + (1 << dimension);
+  }
+
+  /**
+   * @return the number of variables
+   */
+  public int getDimension ()
+  {
+    return m_nDimension;
+  }
+
+  /**
+   * @return the number of function evaluations per region
+   */
+  public int getPointsPerRegion ()
+  {
+    return m_nPoints;
+  }
+
+  /**
+   * @return true if the last integration met the error tolerance
+   */
+  public boolean hasConverged ()
+  {
+    return m_bConverged;
+  }
+
+  /**
+   * @return the estimated absolute error of the last integration
+   */
+  public double getErrorEstimate ()
+  {
+    return m_dErrorEstimate;
+  }
+
+  /**
+   * @return the number of function evaluations of the last integration
+   */
+  public int getEvaluationCount ()
+  {
+    return m_nEvaluations;
+  }
+
+  /**
+   * Integrate the function over a hyper-rectangle.
+   *
+   * @param lower
+   *        the lower limits, one per variable
+   * @param upper
+   *        the upper limits, one per variable, each above its lower limit
+   * @return an approximation to the integral, the best one found if the
+   *         tolerance was not met
+   * @throws IllegalArgumentException
+   *         if the number of limits is wrong or an upper limit is not above
+   *         its lower limit
+   */
+  public double integrate (@NonNull final double [] lower, @NonNull final double [] upper)
+  {
+    if (lower.length != m_nDimension || upper.length != m_nDimension)
+      throw new IllegalArgumentException ("The limits must have " + m_nDimension + " coordinates");
+
+    m_nEvaluations = 0;
+    m_dErrorEstimate = 0;
+    m_bConverged = true;
+
+    final double [] center = new double [m_nDimension];
+    final double [] halfWidth = new double [m_nDimension];
+    for (int i = 0; i < m_nDimension; ++i)
+    {
+      if (!(upper[i] > lower[i]))
+        throw new IllegalArgumentException ("Upper limit " + i + " is not above the lower limit");
+      center[i] = 0.5 * (lower[i] + upper[i]);
+      halfWidth[i] = 0.5 * (upper[i] - lower[i]);
+    }
+
+    final PriorityQueue <Region> queue = new PriorityQueue <> ();
+    final Region first = new Region (center, halfWidth);
+    _apply (first);
+    m_nEvaluations += m_nPoints;
+    queue.add (first);
+    double integral = first.m_dIntegral;
+    double error = first.m_dError;
+
+    while (error > _getTolerance (integral))
+    {
+      // Bisect the worst regions the budget allows.
+      final int count = Math.min (Math.min (REGIONS_PER_ROUND, queue.size ()),
+                                  (m_nMaxEvaluations - m_nEvaluations) / (2 * m_nPoints));
+      if (count == 0)
+        break;
+
+      final Region [] halves = new Region [2 * count];
+      for (int r = 0; r < count; ++r)
+      {
+        final Region worst = queue.poll ();
+        integral -= worst.m_dIntegral;
+        error -= worst.m_dError;
+        _bisect (worst, halves, 2 * r);
+      }
+
+      if (m_bParallel)
+        IntStream.range (0, halves.length).parallel ().forEach (i -> _apply (halves[i]));
+      else
+        for (final Region half : halves)
+          _apply (half);
+      m_nEvaluations += halves.length * m_nPoints;
+
+      for (final Region half : halves)
+      {
+        queue.add (half);
+        integral += half.m_dIntegral;
+        error += half.m_dError;
+      }
+    }
+
+    // Sum up again to get rid of the accumulated rounding errors.
+    final CompensatedSummation integralSum = new CompensatedSummation ();
+    final CompensatedSummation errorSum = new CompensatedSummation ();
+    for (final Region region : queue)
+    {
+      integralSum.add (region.m_dIntegral);
+      errorSum.add (region.m_dError);
+    }
+    integral = integralSum.value ();
+    m_dErrorEstimate = errorSum.value ();
+    m_bConverged = m_dErrorEstimate <= _getTolerance (integral);
+    return integral;
+  }
+
+  private double _getTolerance (final double integral)
+  {
+    return Math.max (m_dAbsoluteTolerance, m_dRelativeTolerance * Math.abs (integral));
+  }
+
+  /**
+   * Split a region in two halves along its split axis.
+   */
+  private static void _bisect (@NonNull final Region region, @NonNull final Region [] halves, final int index)
+  {
+    final int axis = region.m_nSplitAxis;
+    final double [] halfWidth = region.m_aHalfWidth.clone ();
+    halfWidth[axis] *= 0.5;
+
+    final double [] leftCenter = region.m_aCenter.clone ();
+    leftCenter[axis] -= halfWidth[axis];
+    final double [] rightCenter = region.m_aCenter.clone ();
+    rightCenter[axis] += halfWidth[axis];
+
+    halves[index] = new Region (leftCenter, halfWidth);
+    halves[index + 1] = new Region (rightCenter, halfWidth.clone ());
+  }
+
+  /**
+   * Apply the rule to a region: evaluate the inner points at once and the
+   * corners in batches, then compute the integral, the error and the split
+   * axis.
+   */
+  private void _apply (@NonNull final Region region)
+  {
+    final int n = m_nDimension;
+    final double [] c = region.m_aCenter;
+    final double [] h = region.m_aHalfWidth;
+    final int corners = 1 << n;
+    final int bufferPoints = Math.max (m_nInnerPoints, Math.min (corners, CORNER_BATCH_SIZE));
+    final double [] points = new double [bufferPoints * n];
+    final double [] values = new double [bufferPoints];
+
+    // Point 0 is the center, then +-LAMBDA2 and +-LAMBDA3 along each axis
+    // (4n points) and +-LAMBDA4 along each pair of axes (2n(n-1) points).
+    int p = 0;
+    System.arraycopy (c, 0, points, 0, n);
+    ++p;
+    for (int i = 0; i < n; ++i)
+      for (final double lambda : new double [] { -LAMBDA2, LAMBDA2, -LAMBDA3, LAMBDA3 })
+      {
+        System.arraycopy (c, 0, points, p * n, n);
+        points[p * n + i] += lambda * h[i];
+        ++p;
+      }
+    for (int i = 0; i < n; ++i)
+      for (int j = i + 1; j < n; ++j)
+        for (int s = 0; s < 4; ++s)
+        {
+          System.arraycopy (c, 0, points, p * n, n);
+          points[p * n + i] += ((s & 1) == 0 ? -LAMBDA4 : LAMBDA4) * h[i];
+          points[p * n + j] += ((s & 2) == 0 ? -LAMBDA4 : LAMBDA4) * h[j];
+          ++p;
+        }
+    m_aIntegrand.at (points, n, values, m_nInnerPoints);
+
+    final double f0 = values[0];
+    double sum2 = 0;
+    double sum3 = 0;
+    double maxDifference = -1;
+    int splitAxis = 0;
+    for (int i = 0; i < n; ++i)
+    {
+      final double s2 = values[1 + 4 * i] + values[2 + 4 * i];
+      final double s3 = values[3 + 4 * i] + values[4 + 4 * i];
+      sum2 += s2;
+      sum3 += s3;
+
+      // Split where the fourth difference is largest, on ties the widest
+      // axis.
+      final double difference = Math.abs (s2 - 2 * f0 - RATIO * (s3 - 2 * f0));
+      if (difference > maxDifference || (difference == maxDifference && h[i] > h[splitAxis]))
+      {
+        maxDifference = difference;
+        splitAxis = i;
+      }
+    }
+    double sum4 = 0;
+    for (int k = 1 + 4 * n; k < m_nInnerPoints; ++k)
+      sum4 += values[k];
+
+    // The 2^n corners scaled by LAMBDA5
+    double sum5 = 0;
+    for (int start = 0; start < corners; start += CORNER_BATCH_SIZE)
+    {
+      final int count = Math.min (CORNER_BATCH_SIZE, corners - start);
+      for (int k = 0; k < count; ++k)
+      {
+        final int s = start + k;
+        for (int i = 0; i < n; ++i)
+          points[k * n + i] = c[i] + (((s >>> i) & 1) == 0 ? -LAMBDA5 : LAMBDA5) * h[i];
+      }
+      m_aIntegrand.at (points, n, values, count);
+      for (int k = 0; k < count; ++k)
+        sum5 += values[k];
+    }
+
+    double volume = 1;
+    for (final double w : h)
+      volume *= 2 * w;
+
+    final double degree7 = m_dW1 * f0 + m_dW2 * sum2 + m_dW3 * sum3 + m_dW4 * sum4 + m_dW5 * sum5;
+    final double degree5 = m_dE1 * f0 + m_dE2 * sum2 + m_dE3 * sum3 + m_dE4 * sum4;
+    region.m_dIntegral = volume * degree7;
+    region.m_dError = volume * Math.abs (degree7 - degree5);
+    region.m_nSplitAxis = splitAxis;
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.Objects;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Interface implemented by double-precision function classes. Integrators
+ * evaluate many points at once with {@link #at(double[], double[], int)},
+ * which implementations can override with a tight loop that avoids the call
+ * per point.
+ */
+public interface IDoubleEvaluatable
+{
+  /**
+   * Return the value of the function at x.
+   *
+   * @param x
+   *        the value of x
+   * @return the value of the function at x
+   */
+  double at (double x);
+
+  /**
+   * Compute the values of the function at many points. The default
+   * implementation calls {@link #at(double)} for each point.
+   *
+   * @param xs
+   *        the values of x
+   * @param ys
+   *        receives the values of the function. May be the same array as xs.
+   * @param n
+   *        the number of points
+   */
+  default void at (@NonNull final double [] xs, @NonNull final double [] ys, final int n)
+  {
+    Objects.checkFromIndexSize (0, n, xs.length);
+    Objects.checkFromIndexSize (0, n, ys.length);
+    for (int i = 0; i < n; ++i)
+      ys[i] = at (xs[i]);
+  }
+}
@@ -16,10 +16,18 @@
  */
 package com.helger.numbercruncher.mathutils;
 
+import java.util.Objects;
+
+import org.jspecify.annotations.NonNull;
+
 /**
- * Interface implement by function classes.
+ * Interface implement by function classes. Integrators evaluate many points
+ * at once with {@link #at(float[], float[], int)}, which implementations can
+ * override with a tight loop that avoids the call per point.<br>
+ * Every function is also an {@link IDoubleEvaluatable} that rounds x to float,
+ * so it can be passed to the double-precision integrators.
  */
-public interface IEvaluatable
+public interface IEvaluatable extends IDoubleEvaluatable
 {
   /**
    * Return the value of the function at x.
@@ -29,4 +37,59 @@ public interface IEvaluatable
    * @return the value of the function at x
    */
   float at (float x);
+
+  /**
+   * Compute the values of the function at many points. The default
+   * implementation calls {@link #at(float)} for each point.
+   *
+   * @param xs
+   *        the values of x
+   * @param ys
+   *        receives the values of the function. May be the same array as xs.
+   * @param n
+   *        the number of points
+   */
+  default void at (@NonNull final float [] xs, @NonNull final float [] ys, final int n)
+  {
+    Objects.checkFromIndexSize (0, n, xs.length);
+    Objects.checkFromIndexSize (0, n, ys.length);
+    for (int i = 0; i < n; ++i)
+      ys[i] = at (xs[i]);
+  }
+
+  /**
+   * Return the value of the function at x rounded to float.
+   *
+   * @param x
+   *        the value of x
+   * @return the value of the function at x
+   */
+  default double at (final double x)
+  {
+    return at ((float) x);
+  }
+
+  /**
+   * Compute the values of the function at many points rounded to float, with
+   * {@link #at(float[], float[], int)}.
+   *
+   * @param xs
+   *        the values of x
+   * @param ys
+   *        receives the values of the function. May be the same array as xs.
+   * @param n
+   *        the number of points
+   */
+  @Override
+  default void at (@NonNull final double [] xs, @NonNull final double [] ys, final int n)
+  {
+    Objects.checkFromIndexSize (0, n, xs.length);
+    Objects.checkFromIndexSize (0, n, ys.length);
+    final float [] values = new float [n];
+    for (int i = 0; i < n; ++i)
+      values[i] = (float) xs[i];
+    at (values, values, n);
+    for (int i = 0; i < n; ++i)
+      ys[i] = values[i];
+  }
 }
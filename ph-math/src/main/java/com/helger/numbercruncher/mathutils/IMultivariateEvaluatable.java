@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.Objects;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Interface implemented by functions of several variables. Integrators
+ * evaluate many points at once with
+ * {@link #at(double[], int, double[], int)}, which implementations can
+ * override with a tight loop.
+ */
+public interface IMultivariateEvaluatable
+{
+  /**
+   * Return the value of the function at a point.
+   *
+   * @param x
+   *        the coordinates of the point. Must not be modified or kept.
+   * @return the value of the function at x
+   */
+  double at (@NonNull double [] x);
+
+  /**
+   * Compute the values of the function at many points. The default
+   * implementation calls {@link #at(double[])} for each point.
+   *
+   * @param points
+   *        the coordinates of the points, one point after the other
+   * @param dimension
+   *        the number of coordinates of a point
+   * @param values
+   *        receives the values of the function
+   * @param n
+   *        the number of points
+   */
+  default void at (@NonNull final double [] points,
+                   final int dimension,
+                   @NonNull final double [] values,
+                   final int n)
+  {
+    Objects.checkFromIndexSize (0, n * dimension, points.length);
+    Objects.checkFromIndexSize (0, n, values.length);
+    final double [] x = new double [dimension];
+    for (int i = 0; i < n; ++i)
+    {
+      System.arraycopy (points, i * dimension, x, 0, dimension);
+      values[i] = at (x);
+    }
+  }
+}
@@ -22,7 +22,7 @@ package com.helger.numbercruncher.mathutils;
 public class ModuloArithmetic
 {
   /**
-   * Multiply two integer values a and b modulo m.
+   * Multiply two non-negative integer values a and b modulo m.
    *
    * @param pa
    *        the value of a
@@ -34,47 +34,143 @@ public class ModuloArithmetic
    */
   public static int multiply (final int pa, final int pb, final int m)
   {
-    int a = pa;
-    int b = pb;
-    int product = 0;
+    // The product of two ints always fits into a long.
+    return (int) (((long) pa * pb) % m);
+  }
+
+  /**
+   * Raise a to the b power modulo m.
+   *
+   * @param pbase
+   *        the value of a
+   * @param pexponent
+   *        the value of b
+   * @param m
+   *        the modulus m
+   * @return the value of a^b (mod m)
+   */
+  public static int raise (final int pbase, final int pexponent, final int m)
+  {
+    int base = pbase;
+    int exponent = pexponent;
+    int power = 1;
 
-    // Loop to compute product = (a*b)%m.
-    while (a > 0)
+    // Loop to compute power = (base^exponent)%m.
+    while (exponent > 0)
     {
 
-      // Does the rightmost bit of a == 1?
-      if ((a & 1) == 1)
+      // Does the rightmost bit of the exponent == 1?
+      if ((exponent & 1) == 1)
       {
-        product += b;
-        product %= m;
+        power = multiply (power, base, m);
       }
 
-      // Double b modulo m, and
-      // shift a 1 bit to the right.
-      b <<= 1;
-      b %= m;
-      a >>= 1;
+      // Square the base modulo m and
+      // shift the exponent 1 bit to the right.
+      base = multiply (base, base, m);
+      exponent >>= 1;
     }
 
-    return product;
+    return power;
   }
 
   /**
-   * Raise a to the b power modulo m.
+   * Multiply two long values a and b modulo m, where 0 &le; a, b &lt; m.
+   *
+   * @param pa
+   *        the value of a
+   * @param pb
+   *        the value of b
+   * @param m
+   *        the modulus m, 0 &lt; m &le; Long.MAX_VALUE
+   * @return the value of ab (mod m)
+   */
+  public static long multiply (final long pa, final long pb, final long m)
+  {
+    final long hi = Math.multiplyHigh (pa, pb);
+    final long lo = pa * pb;
+
+    // Does the product fit into a long?
+    if (hi == 0 && lo >= 0)
+      return lo % m;
+
+    return remainder (hi, lo, m);
+  }
+
+  /**
+   * Compute the remainder of the unsigned 128 bit value u1 * 2^64 + u0 divided
+   * by the unsigned value v, where u1 &lt; v. This is the two-step long division
+   * with 32 bit digits from Hacker's Delight.
+   *
+   * @param u1
+   *        the high 64 bits of the dividend
+   * @param u0
+   *        the low 64 bits of the dividend
+   * @param pv
+   *        the divisor, unsigned
+   * @return the remainder
+   */
+  static long remainder (final long u1, final long u0, final long pv)
+  {
+    final long b = 1L << 32;
+
+    // Normalize the divisor so that its high bit is set.
+    final int s = Long.numberOfLeadingZeros (pv);
+    final long v = pv << s;
+    final long vn1 = v >>> 32;
+    final long vn0 = v & 0xFFFFFFFFL;
+
+    final long un32 = s == 0 ? u1 : (u1 << s) | (u0 >>> (64 - s));
+    final long un10 = u0 << s;
+    final long un1 = un10 >>> 32;
+    final long un0 = un10 & 0xFFFFFFFFL;
+
+    // First quotient digit
+    long q1 = Long.divideUnsigned (un32, vn1);
+    long rhat = un32 - q1 * vn1;
+    while (Long.compareUnsigned (q1, b) >= 0 || Long.compareUnsigned (q1 * vn0, (rhat << 32) + un1) > 0)
+    {
+      --q1;
+      rhat += vn1;
+      if (Long.compareUnsigned (rhat, b) >= 0)
+        break;
+    }
+    final long un21 = (un32 << 32) + un1 - q1 * v;
+
+    // Second quotient digit
+    long q0 = Long.divideUnsigned (un21, vn1);
+    rhat = un21 - q0 * vn1;
+    while (Long.compareUnsigned (q0, b) >= 0 || Long.compareUnsigned (q0 * vn0, (rhat << 32) + un0) > 0)
+    {
+      --q0;
+      rhat += vn1;
+      if (Long.compareUnsigned (rhat, b) >= 0)
+        break;
+    }
+
+    return ((un21 << 32) + un0 - q0 * v) >>> s;
+  }
+
+  /**
+   * Raise a to the b power modulo m, where 0 &le; a &lt; m.
    *
    * @param pbase
    *        the value of a
    * @param pexponent
    *        the value of b
    * @param m
-   *        the modulus m
+   *        the modulus m, 0 &lt; m &le; Long.MAX_VALUE
    * @return the value of a^b (mod m)
    */
-  public static int raise (final int pbase, final int pexponent, final int m)
+  public static long raise (final long pbase, final long pexponent, final long m)
   {
-    int base = pbase;
-    int exponent = pexponent;
-    int power = 1;
+    // Odd moduli beyond the int range profit from Montgomery reduction.
+    if ((m & 1) == 1 && m > Integer.MAX_VALUE)
+      return new MontgomeryContext (m).raise (pbase, pexponent);
+
+    long base = pbase;
+    long exponent = pexponent;
+    long power = 1 % m;
 
     // Loop to compute power = (base^exponent)%m.
     while (exponent > 0)
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * Modular multiplication and exponentiation for a fixed odd long modulus with
+ * Montgomery reduction. Values in Montgomery form represent aR (mod m) with
+ * R = 2^64, and the product of two such values is reduced with two 64x64 bit
+ * multiplications instead of a division. The context is immutable and can be
+ * shared between threads, so the setup cost is paid once per modulus.
+ */
+public final class MontgomeryContext
+{
+  /** the odd modulus */
+  private final long m_nModulus;
+  /** m^-1 (mod 2^64) */
+  private final long m_nInverse;
+  /** R (mod m), which is 1 in Montgomery form */
+  private final long m_nOne;
+  /** R^2 (mod m), used to convert into Montgomery form */
+  private final long m_nR2;
+
+  /**
+   * Constructor.
+   *
+   * @param m
+   *        the modulus, which must be odd and &gt; 1
+   */
+  public MontgomeryContext (final long m)
+  {
+    if (m <= 1 || (m & 1) == 0)
+      throw new IllegalArgumentException ("The modulus must be odd and > 1: " + m);
+
+    m_nModulus = m;
+
+    // Newton's iteration doubles the number of correct low bits each time,
+    // starting with 3 correct bits since m*m = 1 (mod 8).
+    long inv = m;
+    for (int i = 0; i < 5; ++i)
+      inv *= 2 - m * inv;
+    m_nInverse = inv;
+
+    // 2^64 (mod m) equals (2^64 - m) (mod m)
+    m_nOne = Long.remainderUnsigned (-m, m);
+    m_nR2 = ModuloArithmetic.multiply (m_nOne, m_nOne, m);
+  }
+
+  /**
+   * Get the modulus.
+   *
+   * @return the modulus m
+   */
+  public long getModulus ()
+  {
+    return m_nModulus;
+  }
+
+  /**
+   * Get the value 1 in Montgomery form.
+   *
+   * @return R (mod m)
+   */
+  public long getOne ()
+  {
+    return m_nOne;
+  }
+
+  /**
+   * Compute T * R^-1 (mod m) for the 128 bit value T = hi * 2^64 + lo with
+   * T &lt; mR.
+   */
+  private long _reduce (final long hi, final long lo)
+  {
+    // q*m has the same low 64 bits as T, so the subtraction is exact.
+    final long q = lo * m_nInverse;
+    // Unsigned high part of q*m; m is positive
+    final long qmHigh = Math.multiplyHigh (q, m_nModulus) + ((q >> 63) & m_nModulus);
+    final long r = hi - qmHigh;
+    return r < 0 ? r + m_nModulus : r;
+  }
+
+  /**
+   * Convert a value into Montgomery form.
+   *
+   * @param a
+   *        the value, 0 &le; a &lt; m
+   * @return aR (mod m)
+   */
+  public long toMontgomery (final long a)
+  {
+    return multiplyMontgomery (a, m_nR2);
+  }
+
+  /**
+   * Convert a value from Montgomery form.
+   *
+   * @param aR
+   *        the value in Montgomery form
+   * @return a (mod m)
+   */
+  public long fromMontgomery (final long aR)
+  {
+    return _reduce (0, aR);
+  }
+
+  /**
+   * Multiply two values in Montgomery form.
+   *
+   * @param aR
+   *        the first value in Montgomery form
+   * @param bR
+   *        the second value in Montgomery form
+   * @return abR (mod m), the product in Montgomery form
+   */
+  public long multiplyMontgomery (final long aR, final long bR)
+  {
+    return _reduce (Math.multiplyHigh (aR, bR), aR * bR);
+  }
+
+  /**
+   * Multiply two values modulo m.
+   *
+   * @param a
+   *        the value of a, 0 &le; a &lt; m
+   * @param b
+   *        the value of b, 0 &le; b &lt; m
+   * @return the value of ab (mod m)
+   */
+  public long multiply (final long a, final long b)
+  {
+    // (aR * b) R^-1 = ab
+    return multiplyMontgomery (toMontgomery (a), b);
+  }
+
+  /**
+   * Raise a value in Montgomery form to a power.
+   *
+   * @param baseR
+   *        the base in Montgomery form
+   * @param pexponent
+   *        the exponent, &ge; 0
+   * @return the power in Montgomery form
+   */
+  public long raiseMontgomery (final long baseR, final long pexponent)
+  {
+    long base = baseR;
+    long exponent = pexponent;
+    long power = m_nOne;
+
+    // Loop to compute power = (base^exponent)%m.
+    while (exponent > 0)
+    {
+      // Does the rightmost bit of the exponent == 1?
+      if ((exponent & 1) == 1)
+        power = multiplyMontgomery (power, base);
+
+      // Square the base modulo m and
+      // shift the exponent 1 bit to the right.
+      base = multiplyMontgomery (base, base);
+      exponent >>= 1;
+    }
+
+    return power;
+  }
+
+  /**
+   * Raise a to the b power modulo m.
+   *
+   * @param base
+   *        the value of a, 0 &le; a &lt; m
+   * @param exponent
+   *        the value of b, &ge; 0
+   * @return the value of a^b (mod m)
+   */
+  public long raise (final long base, final long exponent)
+  {
+    return fromMontgomery (raiseMontgomery (toMontgomery (base), exponent));
+  }
+}
@@ -28,7 +28,8 @@ public class PrimeFactors
   {}
 
   /**
-   * Compute the Sieve of Eratosthenes.
+   * Compute the Sieve of Eratosthenes. For large values of n, use the more
+   * compact {@link SegmentedPrimeSieve}.
    *
    * @param n
    *        the size of the sieve
@@ -37,26 +38,22 @@ public class PrimeFactors
    */
   public static boolean [] primeSieve (final int n)
   {
-    final int halfN = (n + 1) >> 1;
     final boolean sieve[] = new boolean [n + 1];
 
     // Initialize every integer from 2 onwards to prime.
     for (int i = 2; i <= n; ++i)
       sieve[i] = true;
 
-    int prime = 2; // first prime number
-
-    // Loop to create the sieve.
-    while (prime < halfN)
+    // Every composite <= n has a prime factor <= sqrt(n).
+    for (int prime = 2; (long) prime * prime <= n; ++prime)
     {
-
-      // Mark as composites multiples of the prime.
-      for (int composite = prime << 1; composite <= n; composite += prime)
-        sieve[composite] = false;
-
-      // Skip over composites to the next prime.
-      while ((++prime < halfN) && (!sieve[prime]))
-      {}
+      if (sieve[prime])
+      {
+        // Mark as composites multiples of the prime. The smaller
+        // multiples were already marked by smaller primes.
+        for (int composite = prime * prime; composite <= n && composite > 0; composite += prime)
+          sieve[composite] = false;
+      }
     }
 
     return sieve;
@@ -72,14 +69,15 @@ public class PrimeFactors
   public static int [] factorsOf (final int pn)
   {
     int n = pn;
-    // primes <= n
-    final boolean isPrime[] = primeSieve (n);
     final List <Integer> v = new ArrayList <> ();
 
-    // Loop to try prime divisors.
-    for (int factor = 2; n > 1; ++factor)
+    // Loop to try prime divisors up to sqrt(n) from the shared table, without
+    // copying it.
+    for (final int factor : SmallPrimeTable.getPrimesCovering ((int) Math.sqrt (n)))
     {
-      if (isPrime[factor] && (n % factor == 0))
+      if ((long) factor * factor > n)
+        break;
+      if (n % factor == 0)
       {
 
         // Prime divisor found.
@@ -93,6 +91,10 @@ public class PrimeFactors
       }
     }
 
+    // The remaining cofactor is prime.
+    if (n > 1)
+      v.add (Integer.valueOf (n));
+
     // Create an array of the distinct prime factors.
     final int factors[] = new int [v.size ()];
     for (int i = 0; i < v.size (); ++i)
@@ -16,18 +16,46 @@
  */
 package com.helger.numbercruncher.mathutils;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
 
 /**
  * Utility class that generates exponentially-distributed random values using
- * several algorithms.
+ * several algorithms. Bulk values are generated with the Ziggurat algorithm.
  */
-public class RandomExponential
+public class RandomExponential extends AbstractRandomSampler
 {
   private float m_fMean;
 
-  /** generator of uniformly-distributed random values */
-  private static final Random GENERATOR = new Random ();
+  /**
+   * Constructor with a randomly seeded generator.
+   */
+  public RandomExponential ()
+  {}
+
+  /**
+   * Constructor with a seeded generator, for reproducible sequences.
+   *
+   * @param seed
+   *        the seed
+   */
+  public RandomExponential (final long seed)
+  {
+    super (seed);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  public RandomExponential (@NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+  }
 
   /**
    * Set the mean.
@@ -40,6 +68,37 @@ public class RandomExponential
     this.m_fMean = mean;
   }
 
+  @Override
+  @NonNull
+  public RandomExponential split ()
+  {
+    final RandomExponential ret = new RandomExponential (splitGenerator ());
+    ret.setParameters (m_fMean);
+    return ret;
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final float [] dest,
+                            final int off,
+                            final int len)
+  {
+    final double mean = m_fMean;
+    for (int i = off; i < off + len; ++i)
+      dest[i] = (float) (mean * Ziggurat.nextExponential (aGenerator));
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final double [] dest,
+                            final int off,
+                            final int len)
+  {
+    final double mean = m_fMean;
+    for (int i = off; i < off + len; ++i)
+      dest[i] = mean * Ziggurat.nextExponential (aGenerator);
+  }
+
   /**
    * Compute the next random value using the logarithm algorithm. Requires a
    * uniformly-distributed random value in [0, 1).
@@ -50,7 +109,7 @@ public class RandomExponential
   {
     // Generate a non-zero uniformly-distributed random value.
     float u;
-    while ((u = GENERATOR.nextFloat ()) == 0)
+    while ((u = m_aGenerator.nextFloat ()) == 0)
     {
       // try again if 0
     }
@@ -58,6 +117,18 @@ public class RandomExponential
     return (float) (-m_fMean * Math.log (u));
   }
 
+  /**
+   * Compute the next random value using the Ziggurat algorithm, see
+   * {@link Ziggurat}. Requires on average little more than one 64-bit random
+   * value and rarely a logarithm or exponential.
+   *
+   * @return next value
+   */
+  public float nextZiggurat ()
+  {
+    return (float) (m_fMean * Ziggurat.nextExponential (m_aGenerator));
+  }
+
   /**
    * Compute the next random value using the von Neumann algorithm. Requires
    * sequences of uniformly-distributed random values in [0, 1).
@@ -75,7 +146,7 @@ public class RandomExponential
     for (;;)
     {
       n = 1;
-      u1 = GENERATOR.nextFloat ();
+      u1 = m_aGenerator.nextFloat ();
 
       float u = u1;
       float uPrev = Float.NaN;
@@ -85,7 +156,7 @@ public class RandomExponential
       for (;;)
       {
         uPrev = u;
-        u = GENERATOR.nextFloat ();
+        u = m_aGenerator.nextFloat ();
 
         // No longer decreasing?
         if (u > uPrev)
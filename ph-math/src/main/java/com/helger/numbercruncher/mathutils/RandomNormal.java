@@ -16,13 +16,15 @@
  */
 package com.helger.numbercruncher.mathutils;
 
-import java.util.Random;
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
 
 /**
  * Utility class that generates normally-distributed random values using several
- * algorithms.
+ * algorithms. Bulk values are generated with the Ziggurat algorithm.
  */
-public class RandomNormal
+public class RandomNormal extends AbstractRandomSampler
 {
   /** mean */
   private float m_fMean;
@@ -38,8 +40,34 @@ public class RandomNormal
    */
   private boolean m_bHaveNextPolar = false;
 
-  /** generator of uniformly-distributed random values */
-  private static final Random GENERATOR = new Random ();
+  /**
+   * Constructor with a randomly seeded generator.
+   */
+  public RandomNormal ()
+  {}
+
+  /**
+   * Constructor with a seeded generator, for reproducible sequences.
+   *
+   * @param seed
+   *        the seed
+   */
+  public RandomNormal (final long seed)
+  {
+    super (seed);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  public RandomNormal (@NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+  }
 
   /**
    * Set the mean and standard deviation.
@@ -55,6 +83,39 @@ public class RandomNormal
     m_fStddev = stddev;
   }
 
+  @Override
+  @NonNull
+  public RandomNormal split ()
+  {
+    final RandomNormal ret = new RandomNormal (splitGenerator ());
+    ret.setParameters (m_fMean, m_fStddev);
+    return ret;
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final float [] dest,
+                            final int off,
+                            final int len)
+  {
+    final double mean = m_fMean;
+    final double stddev = m_fStddev;
+    for (int i = off; i < off + len; ++i)
+      dest[i] = (float) (stddev * Ziggurat.nextNormal (aGenerator) + mean);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final double [] dest,
+                            final int off,
+                            final int len)
+  {
+    final double mean = m_fMean;
+    final double stddev = m_fStddev;
+    for (int i = off; i < off + len; ++i)
+      dest[i] = stddev * Ziggurat.nextNormal (aGenerator) + mean;
+  }
+
   /**
    * Compute the next random value using the Central Limit Theorem, which states
    * that the averages of sets of uniformly-distributed random values are
@@ -67,7 +128,7 @@ public class RandomNormal
     // Average 12 uniformly-distributed random values.
     float sum = 0.0f;
     for (int j = 0; j < 12; ++j)
-      sum += GENERATOR.nextFloat ();
+      sum += m_aGenerator.nextFloat ();
 
     // Subtract 6 to center about 0.
     return m_fStddev * (sum - 6) + m_fMean;
@@ -96,8 +157,8 @@ public class RandomNormal
     {
       // u1 and u2 will be uniformly-distributed
       // random values in [-1, +1).
-      u1 = 2 * GENERATOR.nextFloat () - 1;
-      u2 = 2 * GENERATOR.nextFloat () - 1;
+      u1 = 2 * m_aGenerator.nextFloat () - 1;
+      u2 = 2 * m_aGenerator.nextFloat () - 1;
 
       // Want radius r inside the unit circle.
       r = u1 * u1 + u2 * u2;
@@ -136,11 +197,11 @@ public class RandomNormal
     {
       // u and v are two uniformly-distributed random values
       // in [0, 1), and u != 0.
-      while ((u = GENERATOR.nextFloat ()) == 0)
+      while ((u = m_aGenerator.nextFloat ()) == 0)
       {
         // try again if 0
       }
-      v = GENERATOR.nextFloat ();
+      v = m_aGenerator.nextFloat ();
 
       // y coord of point (u, y)
       final float y = C1 * (v - 0.5f);
@@ -156,4 +217,16 @@ public class RandomNormal
 
     return m_fStddev * x + m_fMean;
   }
+
+  /**
+   * Compute the next random value using the Ziggurat algorithm, see
+   * {@link Ziggurat}. Requires on average little more than one 64-bit random
+   * value and rarely a logarithm or exponential.
+   *
+   * @return next value
+   */
+  public float nextZiggurat ()
+  {
+    return (float) (m_fStddev * Ziggurat.nextNormal (m_aGenerator) + m_fMean);
+  }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+/**
+ * Adaptive function integrator with Romberg's algorithm. The number of
+ * trapezoidal intervals is doubled in each step, which reuses all the previous
+ * function values, and Richardson extrapolation of the sequence of
+ * trapezoidal areas removes the error terms of increasing order. This
+ * converges very fast for smooth integrands and slowly for anything with a
+ * kink or a peak.
+ */
+public class RombergIntegrator extends AbstractAdaptiveIntegrator
+{
+  /** the default maximum number of function evaluations */
+  public static final int DEFAULT_MAX_EVALUATIONS = (1 << 16) + 1;
+
+  /** the maximum number of rows of the extrapolation table */
+  private static final int MAX_ROWS = 31;
+  /** the minimum number of rows before the convergence test */
+  private static final int MIN_ROWS = 5;
+  /** the number of nodes evaluated at once */
+  private static final int BATCH_SIZE = 1024;
+
+  /**
+   * Constructor with the default evaluation budget.
+   *
+   * @param integrand
+   *        the function to integrate, float or double
+   * @param relativeTolerance
+   *        the error tolerance relative to the area, &gt; 0
+   */
+  public RombergIntegrator (final IDoubleEvaluatable integrand, final double relativeTolerance)
+  {
+    this (integrand, 0, relativeTolerance, DEFAULT_MAX_EVALUATIONS);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param integrand
+   *        the function to integrate, float or double
+   * @param absoluteTolerance
+   *        the absolute error tolerance, &ge; 0
+   * @param relativeTolerance
+   *        the error tolerance relative to the area, &ge; 0
+   * @param maxEvaluations
+   *        the maximum number of function evaluations
+   */
+  public RombergIntegrator (final IDoubleEvaluatable integrand,
+                            final double absoluteTolerance,
+                            final double relativeTolerance,
+                            final int maxEvaluations)
+  {
+    super (integrand, absoluteTolerance, relativeTolerance, maxEvaluations);
+  }
+
+  @Override
+  protected double doIntegrate (final double a, final double b)
+  {
+    double [] previous = new double [MAX_ROWS];
+    double [] current = new double [MAX_ROWS];
+    double h = b - a;
+    final double [] values = new double [BATCH_SIZE];
+    values[0] = a;
+    values[1] = b;
+    evaluate (values, values, 2);
+    previous[0] = h / 2 * (values[0] + values[1]);
+    double error = Double.POSITIVE_INFINITY;
+    // the index of the last row, which is in previous
+    int last = 0;
+
+    for (int k = 1; k < MAX_ROWS; ++k)
+    {
+      // The new nodes are the midpoints of the current intervals.
+      final int newNodes = 1 << (k - 1);
+      h /= 2;
+      if (!canEvaluate (newNodes) || !canDistinguish (a, a + h))
+        break;
+
+      final CompensatedSummation sum = new CompensatedSummation ();
+      for (int first = 0; first < newNodes; first += BATCH_SIZE)
+      {
+        final int n = Math.min (BATCH_SIZE, newNodes - first);
+        for (int i = 0; i < n; ++i)
+          values[i] = a + (2 * (first + i) + 1) * h;
+        evaluate (values, values, n);
+        for (int i = 0; i < n; ++i)
+          sum.add (values[i]);
+      }
+      current[0] = previous[0] / 2 + h * sum.value ();
+
+      // Richardson extrapolation
+      double factor = 1;
+      for (int j = 1; j <= k; ++j)
+      {
+        factor *= 4;
+        current[j] = current[j - 1] + (current[j - 1] - previous[j - 1]) / (factor - 1);
+      }
+
+      error = Math.abs (current[k] - previous[k - 1]);
+      if (k + 1 >= MIN_ROWS && error <= getTolerance (current[k]))
+      {
+        setOutcome (error, true);
+        return current[k];
+      }
+
+      final double [] tmp = previous;
+      previous = current;
+      current = tmp;
+      last = k;
+    }
+
+    setOutcome (error, false);
+    return previous[last];
+  }
+}
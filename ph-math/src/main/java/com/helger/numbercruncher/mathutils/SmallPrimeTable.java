@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.style.ReturnsMutableCopy;
+
+/**
+ * A process-wide table of small primes that grows on demand. The table is an
+ * immutable snapshot that is replaced as a whole when a caller needs a larger
+ * limit (copy-on-write), so lookups never block. Growing at least doubles the
+ * limit, which keeps the total sieving work linear in the largest limit ever
+ * requested.
+ */
+public final class SmallPrimeTable
+{
+  /** the largest supported limit */
+  public static final int MAX_LIMIT = 1 << 27;
+
+  /** the limit of the initial table */
+  private static final int INITIAL_LIMIT = 1 << 16;
+
+  /**
+   * An immutable table of all primes up to a limit.
+   */
+  private static final class Snapshot
+  {
+    /** the sieve, for the lookup of single values */
+    private final SegmentedPrimeSieve m_aSieve;
+    /** all primes up to the limit in ascending order */
+    private final int [] m_aPrimes;
+
+    Snapshot (final int limit)
+    {
+      m_aSieve = new SegmentedPrimeSieve (limit);
+      m_aPrimes = new int [(int) m_aSieve.countPrimes ()];
+      final PrimitiveIterator.OfLong it = m_aSieve.primeIterator ();
+      for (int i = 0; i < m_aPrimes.length; ++i)
+        m_aPrimes[i] = (int) it.nextLong ();
+    }
+
+    int getLimit ()
+    {
+      return (int) m_aSieve.getLimit ();
+    }
+  }
+
+  /** the current table */
+  private static volatile Snapshot s_aSnapshot = new Snapshot (INITIAL_LIMIT);
+
+  private SmallPrimeTable ()
+  {}
+
+  /**
+   * Get a table that covers n, growing it if necessary.
+   */
+  @NonNull
+  private static Snapshot _getSnapshot (final int n)
+  {
+    if (n < 0 || n > MAX_LIMIT)
+      throw new IllegalArgumentException ("n must be between 0 and " + MAX_LIMIT + ": " + n);
+
+    Snapshot aSnapshot = s_aSnapshot;
+    if (n > aSnapshot.getLimit ())
+    {
+      synchronized (SmallPrimeTable.class)
+      {
+        // Another thread might have grown the table in the meantime.
+        aSnapshot = s_aSnapshot;
+        if (n > aSnapshot.getLimit ())
+        {
+          final int limit = (int) Math.min (MAX_LIMIT, Math.max (n, 2L * aSnapshot.getLimit ()));
+          aSnapshot = new Snapshot (limit);
+          s_aSnapshot = aSnapshot;
+        }
+      }
+    }
+    return aSnapshot;
+  }
+
+  /**
+   * Get the limit the table currently covers. Values up to this limit are
+   * looked up without growing the table.
+   *
+   * @return the current limit, inclusive
+   */
+  public static int getLimit ()
+  {
+    return s_aSnapshot.getLimit ();
+  }
+
+  /**
+   * Check if n is prime.
+   *
+   * @param n
+   *        the value to check, 0 &le; n &le; {@link #MAX_LIMIT}
+   * @return true if n is prime, false otherwise
+   */
+  public static boolean isSmallPrime (final int n)
+  {
+    return _getSnapshot (n).m_aSieve.isPrime (n);
+  }
+
+  /**
+   * Get the shared array of the current table, for iterating without a copy.
+   * It must not be modified.
+   *
+   * @param n
+   *        the upper limit to cover, 0 &le; n &le; {@link #MAX_LIMIT}
+   * @return all primes up to at least n in ascending order. May contain
+   *         primes &gt; n.
+   */
+  @NonNull
+  static int [] getPrimesCovering (final int n)
+  {
+    return _getSnapshot (n).m_aPrimes;
+  }
+
+  /**
+   * Get all primes up to n.
+   *
+   * @param n
+   *        the upper limit, 0 &le; n &le; {@link #MAX_LIMIT}
+   * @return the primes &le; n in ascending order
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public static int [] primesUpTo (final int n)
+  {
+    final int [] aPrimes = _getSnapshot (n).m_aPrimes;
+    final int index = Arrays.binarySearch (aPrimes, n);
+    return Arrays.copyOf (aPrimes, index >= 0 ? index + 1 : -index - 1);
+  }
+}
@@ -72,6 +72,19 @@ public class SystemOutAlignRight
     print (Integer.toString (value), nWidth);
   }
 
+  /**
+   * Print a long value right-aligned in the column.
+   *
+   * @param value
+   *        the value to print
+   * @param nWidth
+   *        the column width
+   */
+  public void print (final long value, final int nWidth)
+  {
+    print (Long.toString (value), nWidth);
+  }
+
   /**
    * Print a float value right-aligned in the column.
    *
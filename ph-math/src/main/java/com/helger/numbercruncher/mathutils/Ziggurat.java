@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * The Ziggurat algorithm of Marsaglia and Tsang for normally- and
+ * exponentially-distributed random values. The area under the density is
+ * covered by layers of equal area. A random layer and a random position in it
+ * are taken from a single 64-bit value; the position lies within the density in
+ * about 99% of all cases and is returned without further work. Only the rare
+ * remaining cases need another uniform value or a logarithm or exponential.
+ */
+public final class Ziggurat
+{
+  /** number of layers for the normal distribution */
+  private static final int NORMAL_LAYERS = 128;
+  /** start of the tail of the normal distribution */
+  private static final double NORMAL_R = 3.442619855899;
+  /** area of each layer of the normal distribution */
+  private static final double NORMAL_V = 9.91256303526217e-3;
+
+  /** number of layers for the exponential distribution */
+  private static final int EXP_LAYERS = 256;
+  /** start of the tail of the exponential distribution */
+  private static final double EXP_R = 7.69711747013104972;
+  /** area of each layer of the exponential distribution */
+  private static final double EXP_V = 3.949659822581572e-3;
+
+  /** right edges of the normal layers */
+  private static final double [] NORMAL_X = new double [NORMAL_LAYERS + 1];
+  /** density at the right edges of the normal layers */
+  private static final double [] NORMAL_F = new double [NORMAL_LAYERS + 1];
+  /** right edges of the exponential layers */
+  private static final double [] EXP_X = new double [EXP_LAYERS + 1];
+  /** density at the right edges of the exponential layers */
+  private static final double [] EXP_F = new double [EXP_LAYERS + 1];
+
+  static
+  {
+    // Layer 0 is the base strip including the tail, with the width of a
+    // rectangle of the same area.
+    NORMAL_X[0] = NORMAL_V / Math.exp (-0.5 * NORMAL_R * NORMAL_R);
+    NORMAL_X[1] = NORMAL_R;
+    for (int i = 1; i < NORMAL_LAYERS; ++i)
+      NORMAL_X[i + 1] = Math.sqrt (-2 * Math.log (NORMAL_V / NORMAL_X[i] + Math.exp (-0.5 * NORMAL_X[i] * NORMAL_X[i])));
+    NORMAL_X[NORMAL_LAYERS] = 0;
+    for (int i = 0; i <= NORMAL_LAYERS; ++i)
+      NORMAL_F[i] = Math.exp (-0.5 * NORMAL_X[i] * NORMAL_X[i]);
+
+    EXP_X[0] = EXP_V / Math.exp (-EXP_R);
+    EXP_X[1] = EXP_R;
+    for (int i = 1; i < EXP_LAYERS; ++i)
+      EXP_X[i + 1] = -Math.log (EXP_V / EXP_X[i] + Math.exp (-EXP_X[i]));
+    EXP_X[EXP_LAYERS] = 0;
+    for (int i = 0; i <= EXP_LAYERS; ++i)
+      EXP_F[i] = Math.exp (-EXP_X[i]);
+  }
+
+  /** 2^-52 */
+  private static final double TWO_POW_M52 = 0x1.0p-52;
+  /** 2^-53 */
+  private static final double TWO_POW_M53 = 0x1.0p-53;
+
+  private Ziggurat ()
+  {}
+
+  /**
+   * Compute the next normally-distributed random value with mean 0 and
+   * standard deviation 1.
+   *
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values
+   * @return next value
+   */
+  public static double nextNormal (@NonNull final RandomGenerator aGenerator)
+  {
+    for (;;)
+    {
+      // The low 7 bits select the layer, the high 53 bits the signed position.
+      final long bits = aGenerator.nextLong ();
+      final int i = (int) bits & (NORMAL_LAYERS - 1);
+      final double x = (bits >> 11) * TWO_POW_M52 * NORMAL_X[i];
+
+      // Inside the rectangle that lies completely below the density?
+      if (Math.abs (x) < NORMAL_X[i + 1])
+        return x;
+
+      if (i == 0)
+      {
+        // Sample from the tail beyond r.
+        double xx;
+        double yy;
+        do
+        {
+          xx = -Math.log (_nextNonZero (aGenerator)) / NORMAL_R;
+          yy = -Math.log (_nextNonZero (aGenerator));
+        } while (yy + yy < xx * xx);
+        return x > 0 ? NORMAL_R + xx : -NORMAL_R - xx;
+      }
+
+      // In the wedge: accept if below the density.
+      if (NORMAL_F[i] + aGenerator.nextDouble () * (NORMAL_F[i + 1] - NORMAL_F[i]) < Math.exp (-0.5 * x * x))
+        return x;
+    }
+  }
+
+  /**
+   * Compute the next exponentially-distributed random value with mean 1.
+   *
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values
+   * @return next value
+   */
+  public static double nextExponential (@NonNull final RandomGenerator aGenerator)
+  {
+    for (;;)
+    {
+      // The low 8 bits select the layer, the high 53 bits the position.
+      final long bits = aGenerator.nextLong ();
+      final int i = (int) bits & (EXP_LAYERS - 1);
+      final double x = (bits >>> 11) * TWO_POW_M53 * EXP_X[i];
+
+      // Inside the rectangle that lies completely below the density?
+      if (x < EXP_X[i + 1])
+        return x;
+
+      // The exponential tail beyond r is again exponential.
+      if (i == 0)
+        return EXP_R - Math.log (_nextNonZero (aGenerator));
+
+      // In the wedge: accept if below the density.
+      if (EXP_F[i] + aGenerator.nextDouble () * (EXP_F[i + 1] - EXP_F[i]) < Math.exp (-x))
+        return x;
+    }
+  }
+
+  /**
+   * @return a uniformly-distributed random value in (0, 1)
+   */
+  private static double _nextNonZero (@NonNull final RandomGenerator aGenerator)
+  {
+    double u;
+    while ((u = aGenerator.nextDouble ()) == 0)
+    {
+      // try again if 0
+    }
+    return u;
+  }
+}
@@ -16,12 +16,22 @@
  */
 package com.helger.numbercruncher.piutils;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.WillNotClose;
+
 /**
  * Utility class for programs that compute pi.
  */
@@ -33,45 +43,65 @@ public abstract class AbstractPiFormula
    * @param piString
    *        the string containing the digits of pi
    */
-  protected void printPi (final String piString)
+  protected void printPi (@NonNull final String piString)
   {
-    System.out.print ("\npi = " + piString.substring (0, 2));
-
-    int index = 2;
-    int line = 0;
-    int group = 0;
-    final int length = piString.length ();
-
-    // Loop for each group of 5 digits
-    while (index + 5 < length)
+    try
     {
-      System.out.print (piString.substring (index, index + 5) + " ");
-      index += 5;
-
-      // End of line after 10 groups.
-      if (++group == 10)
-      {
-        System.out.println ();
-
-        // Print a blank line after 10 lines.
-        if (++line == 10)
-        {
-          System.out.println ();
-          line = 0;
-        }
-
-        System.out.print ("       ");
-        group = 0;
-      }
+      final PiLayoutWriter aPLW = new PiLayoutWriter (_createSystemOutWriter ());
+      aPLW.write (piString);
+      aPLW.finish ();
     }
+    catch (final IOException ex)
+    {
+      throw new UncheckedIOException (ex);
+    }
+  }
 
-    // Print the last partial line.
-    if (index < length)
+  /**
+   * Print the digits of pi to {@link System#out}, without building the string
+   * of all digits first.
+   *
+   * @param pi
+   *        the value of pi
+   */
+  protected void printPi (@NonNull final BigDecimal pi)
+  {
+    try
+    {
+      printPi (pi, _createSystemOutWriter ());
+    }
+    catch (final IOException ex)
     {
-      System.out.println (piString.substring (index));
+      throw new UncheckedIOException (ex);
     }
   }
 
+  /**
+   * Print the digits of pi to the provided sink, using the same layout as
+   * {@link #printPi(String)}. The digits are streamed into the sink, without
+   * building the string of all digits first.
+   *
+   * @param pi
+   *        the value of pi
+   * @param aSink
+   *        the writer to print to. It is flushed but not closed.
+   * @throws IOException
+   *         in case of a write error
+   */
+  protected void printPi (@NonNull final BigDecimal pi, @NonNull @WillNotClose final Writer aSink) throws IOException
+  {
+    final PiLayoutWriter aPLW = new PiLayoutWriter (aSink);
+    DecimalDigits.write (pi, aPLW);
+    aPLW.finish ();
+  }
+
+  @NonNull
+  private static Writer _createSystemOutWriter ()
+  {
+    // The digits are pure ASCII
+    return new OutputStreamWriter (System.out, StandardCharsets.US_ASCII);
+  }
+
   /**
    * Return a timestamp string that contains the elapsed time period.
    *
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.piutils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.WillNotClose;
+
+/**
+ * Write the decimal digits of large numbers to a writer without building the
+ * whole string first. The number is split recursively by powers of ten, so
+ * only the leaves of the recursion are converted to strings.
+ */
+public final class DecimalDigits
+{
+  /** number of digits below which a part is converted with toString() */
+  private static final int LEAF_DIGITS = 512;
+
+  private DecimalDigits ()
+  {}
+
+  /**
+   * Write a non-negative value in plain notation, i.e. its integer part
+   * followed by a decimal point and exactly scale digits.
+   *
+   * @param aValue
+   *        the value to write
+   * @param aWriter
+   *        the writer to write to. It is neither flushed nor closed.
+   * @throws IOException
+   *         in case of a write error
+   */
+  public static void write (@NonNull final BigDecimal aValue, @NonNull @WillNotClose final Writer aWriter) throws IOException
+  {
+    if (aValue.signum () < 0)
+      throw new IllegalArgumentException ("value < 0: " + aValue);
+
+    final int scale = aValue.scale ();
+    if (scale <= 0)
+    {
+      aWriter.write (aValue.toPlainString ());
+      return;
+    }
+
+    final Map <Integer, BigInteger> aPowers = new HashMap <> ();
+    final BigInteger [] aParts = aValue.unscaledValue ().divideAndRemainder (_powerOfTen (scale, aPowers));
+
+    aWriter.write (aParts[0].toString ());
+    aWriter.write ('.');
+    _writeDigits (aParts[1], scale, aPowers, aWriter);
+  }
+
+  /**
+   * Write exactly the given number of digits of a non-negative value, padded
+   * with leading zeros.
+   *
+   * @param aValue
+   *        the value to write, which must be less than 10^digits
+   * @param digits
+   *        the number of digits to write
+   * @param aWriter
+   *        the writer to write to. It is neither flushed nor closed.
+   * @throws IOException
+   *         in case of a write error
+   */
+  public static void writeDigits (@NonNull final BigInteger aValue,
+                                  final int digits,
+                                  @NonNull @WillNotClose final Writer aWriter) throws IOException
+  {
+    if (aValue.signum () < 0)
+      throw new IllegalArgumentException ("value < 0: " + aValue);
+
+    _writeDigits (aValue, digits, new HashMap <> (), aWriter);
+  }
+
+  private static void _writeDigits (final BigInteger aValue,
+                                    final int digits,
+                                    final Map <Integer, BigInteger> aPowers,
+                                    final Writer aWriter) throws IOException
+  {
+    if (digits <= LEAF_DIGITS)
+    {
+      // Convert the leaf and pad it with leading zeros.
+      final String s = aValue.toString ();
+      for (int i = s.length (); i < digits; ++i)
+        aWriter.write ('0');
+      aWriter.write (s);
+      return;
+    }
+
+    // Split into the upper and the lower half of the digits.
+    final int lowDigits = digits >> 1;
+    final BigInteger [] aParts = aValue.divideAndRemainder (_powerOfTen (lowDigits, aPowers));
+    _writeDigits (aParts[0], digits - lowDigits, aPowers, aWriter);
+    _writeDigits (aParts[1], lowDigits, aPowers, aWriter);
+  }
+
+  private static BigInteger _powerOfTen (final int exponent, final Map <Integer, BigInteger> aPowers)
+  {
+    return aPowers.computeIfAbsent (Integer.valueOf (exponent), k -> BigInteger.TEN.pow (k.intValue ()));
+  }
+}
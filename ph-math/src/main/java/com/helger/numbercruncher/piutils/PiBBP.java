@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.piutils;
+
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.ModuloArithmetic;
+
+/**
+ * Extract hexadecimal digits of pi at an arbitrary position with the
+ * Bailey-Borwein-Plouffe formula, without computing the preceding digits. The
+ * cost for position n is O(n log n) with constant memory, so it is suited to
+ * spot-check the result of a long computation.
+ */
+public final class PiBBP
+{
+  /** maximum number of hex digits that can be extracted at once */
+  public static final int MAX_DIGITS = 8;
+
+  /** number of terms per parallel chunk */
+  private static final int CHUNK_TERMS = 1 << 14;
+
+  /** terms smaller than this do not affect the fraction */
+  private static final double TAIL_EPSILON = 1e-17;
+
+  private static final char [] HEX = "0123456789ABCDEF".toCharArray ();
+
+  private PiBBP ()
+  {}
+
+  /**
+   * Return the hexadecimal digit of pi at the given position.
+   *
+   * @param position
+   *        the position after the hexadecimal point, starting at 1
+   * @return the digit value 0 to 15
+   */
+  public static int hexDigitAt (final long position)
+  {
+    return (int) (_fractionAt (position) * 16);
+  }
+
+  /**
+   * Return hexadecimal digits of pi starting at the given position. For very
+   * large positions the last of the {@link #MAX_DIGITS} digits may be affected
+   * by the accumulated rounding error of the double arithmetic.
+   *
+   * @param position
+   *        the position after the hexadecimal point, starting at 1. So
+   *        position 1 returns "243F6A88".
+   * @param count
+   *        the number of digits, 1 to {@link #MAX_DIGITS}
+   * @return the digits as upper case hex string
+   */
+  @NonNull
+  public static String hexDigitsAt (final long position, final int count)
+  {
+    if (count < 1 || count > MAX_DIGITS)
+      throw new IllegalArgumentException ("count must be between 1 and " + MAX_DIGITS + ": " + count);
+
+    double x = _fractionAt (position);
+    final char [] digits = new char [count];
+    for (int i = 0; i < count; ++i)
+    {
+      x *= 16;
+      final int digit = (int) x;
+      digits[i] = HEX[digit];
+      x -= digit;
+    }
+    return new String (digits);
+  }
+
+  /**
+   * Return the hexadecimal digits of pi at each of the given positions. The
+   * positions are processed in parallel.
+   *
+   * @param positions
+   *        the positions after the hexadecimal point, starting at 1
+   * @return the digit values 0 to 15, in the order of the positions
+   */
+  @NonNull
+  public static int [] hexDigitsAt (@NonNull final long [] positions)
+  {
+    final int [] ret = new int [positions.length];
+    IntStream.range (0, positions.length).parallel ().forEach (i -> ret[i] = hexDigitAt (positions[i]));
+    return ret;
+  }
+
+  /**
+   * Compute the fraction of 16^(position-1) * pi. The finite part of the
+   * series is split into chunks that are summed in parallel.
+   */
+  private static double _fractionAt (final long position)
+  {
+    if (position < 1)
+      throw new IllegalArgumentException ("position < 1: " + position);
+
+    final long d = position - 1;
+
+    // Sum the chunks in parallel, then combine them in a fixed order so that
+    // the result does not depend on the scheduling.
+    final long terms = d + 1;
+    final int chunks = (int) ((terms + CHUNK_TERMS - 1) / CHUNK_TERMS);
+    final double [] aChunkSums = new double [chunks];
+    final IntStream aChunks = IntStream.range (0, chunks);
+    (chunks > 1 ? aChunks.parallel () : aChunks).forEach (i -> {
+      final long kFrom = (long) i * CHUNK_TERMS;
+      aChunkSums[i] = _headSum (d, kFrom, Math.min (kFrom + CHUNK_TERMS, terms));
+    });
+
+    double x = _tailSum (d);
+    for (final double s : aChunkSums)
+      x = _frac (x + s);
+    return x;
+  }
+
+  /**
+   * Compute the fraction of 4*S1 - 2*S4 - S5 - S6 for the terms k in [kFrom,
+   * kTo), where 16^(d-k) is an integer and can be reduced modulo 8k+j.
+   */
+  private static double _headSum (final long d, final long kFrom, final long kTo)
+  {
+    double s = 0;
+    for (long k = kFrom; k < kTo; ++k)
+    {
+      final long e = d - k;
+      final long k8 = 8 * k;
+      s += 4 * _term (e, k8 + 1) - 2 * _term (e, k8 + 4) - _term (e, k8 + 5) - _term (e, k8 + 6);
+      s = _frac (s);
+    }
+    return s;
+  }
+
+  /**
+   * Compute the fraction of (16^e mod m) / m.
+   */
+  private static double _term (final long e, final long m)
+  {
+    return (double) ModuloArithmetic.raise (16 % m, e, m) / m;
+  }
+
+  /**
+   * Compute 4*S1 - 2*S4 - S5 - S6 for the terms k &gt; d, where 16^(d-k) is a
+   * fraction that quickly becomes negligible.
+   */
+  private static double _tailSum (final long d)
+  {
+    double s = 0;
+    double power = 1.0 / 16;
+    for (long k = d + 1;; ++k)
+    {
+      final double k8 = 8.0 * k;
+      final double term = power * (4 / (k8 + 1) - 2 / (k8 + 4) - 1 / (k8 + 5) - 1 / (k8 + 6));
+      if (Math.abs (term) < TAIL_EPSILON)
+        break;
+      s += term;
+      power /= 16;
+    }
+    return s;
+  }
+
+  private static double _frac (final double x)
+  {
+    return x - Math.floor (x);
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.piutils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.WillNotClose;
+import com.helger.numbercruncher.mathutils.BigFunctions;
+
+/**
+ * Compute pi with the Chudnovsky formula. The series is summed exactly with
+ * integers by binary splitting, and the independent halves of each split are
+ * computed in parallel on a {@link ForkJoinPool}. Each term of the series adds
+ * about 14.18 decimal digits.
+ */
+public class PiChudnovsky
+{
+  /** decimal digits contributed by each term of the series */
+  private static final double DIGITS_PER_TERM = Math.log10 (151_931_373_056_000d);
+
+  /** extra digits computed to absorb the truncation error */
+  private static final int GUARD_DIGITS = 10;
+
+  /** number of terms below which the splitting is done sequentially */
+  private static final int SEQUENTIAL_TERMS = 64;
+
+  /** bit length above which the merge products are forked */
+  private static final int PARALLEL_MERGE_BITS = 1 << 16;
+
+  /** 640320^3 / 24 */
+  private static final BigInteger C3_OVER_24 = BigInteger.valueOf (10_939_058_860_032_000L);
+  private static final BigInteger A = BigInteger.valueOf (13_591_409);
+  private static final BigInteger B = BigInteger.valueOf (545_140_134);
+
+  /** number of pi digits after the decimal point */
+  private final int m_nDigits;
+  /** pool that runs the binary splitting */
+  private final ForkJoinPool m_aPool;
+
+  /** computed value of pi */
+  private BigDecimal m_aPi;
+
+  /**
+   * Constructor using the common fork/join pool.
+   *
+   * @param digits
+   *        the number of digits after the decimal point to compute
+   */
+  public PiChudnovsky (final int digits)
+  {
+    this (digits, ForkJoinPool.commonPool ());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param digits
+   *        the number of digits after the decimal point to compute
+   * @param aPool
+   *        the pool that runs the binary splitting
+   */
+  public PiChudnovsky (final int digits, @NonNull final ForkJoinPool aPool)
+  {
+    if (digits < 1)
+      throw new IllegalArgumentException ("digits < 1: " + digits);
+    m_nDigits = digits;
+    m_aPool = aPool;
+  }
+
+  /**
+   * Get the number of digits after the decimal point.
+   *
+   * @return the number of digits
+   */
+  public int getDigits ()
+  {
+    return m_nDigits;
+  }
+
+  /**
+   * Get the value of pi, truncated to the requested number of digits. The
+   * value is computed on the first call.
+   *
+   * @return the value of pi
+   */
+  @NonNull
+  public synchronized BigDecimal getPi ()
+  {
+    if (m_aPi == null)
+      m_aPi = new BigDecimal (_computeScaled (), m_nDigits);
+    return m_aPi;
+  }
+
+  /**
+   * Write the digits of pi to a writer as "3.14159...". The writer is neither
+   * flushed nor closed.
+   *
+   * @param aWriter
+   *        the writer to write to
+   * @throws IOException
+   *         in case of a write error
+   */
+  public void writeTo (@NonNull @WillNotClose final Writer aWriter) throws IOException
+  {
+    DecimalDigits.write (getPi (), aWriter);
+  }
+
+  /**
+   * Compute floor(pi * 10^digits).
+   *
+   * @return the scaled value of pi
+   */
+  private BigInteger _computeScaled ()
+  {
+    final int scaledDigits = m_nDigits + GUARD_DIGITS;
+    final int terms = (int) (scaledDigits / DIGITS_PER_TERM) + 2;
+
+    // Sum the series by binary splitting.
+    final PQT aPQT = m_aPool.invoke (new SplitTask (0, terms, false));
+
+    // sqrt(10005) * 10^scaledDigits
+    final BigInteger sqrt10005 = BigFunctions.isqrt (BigInteger.valueOf (10005).multiply (BigInteger.TEN.pow (scaledDigits << 1)));
+
+    // pi = 426880 * sqrt(10005) * Q / T
+    final BigInteger numerator = aPQT.m_aQ.multiply (BigInteger.valueOf (426880)).multiply (sqrt10005);
+    final BigInteger pi = numerator.divide (aPQT.m_aT);
+
+    // Drop the guard digits.
+    return pi.divide (BigInteger.TEN.pow (GUARD_DIGITS));
+  }
+
+  /**
+   * Compute P, Q and T of the range [a, b) sequentially.
+   *
+   * @param a
+   *        first term (inclusive)
+   * @param b
+   *        last term (exclusive)
+   * @param bNeedP
+   *        true if the caller needs P
+   * @return the partial result
+   */
+  private static PQT _split (final long a, final long b, final boolean bNeedP)
+  {
+    if (b - a == 1)
+      return _term (a);
+
+    final long m = (a + b) >>> 1;
+    final PQT aLeft = _split (a, m, true);
+    final PQT aRight = _split (m, b, bNeedP);
+    return new PQT (bNeedP ? aLeft.m_aP.multiply (aRight.m_aP) : null,
+                    aLeft.m_aQ.multiply (aRight.m_aQ),
+                    aRight.m_aQ.multiply (aLeft.m_aT).add (aLeft.m_aP.multiply (aRight.m_aT)));
+  }
+
+  /**
+   * Compute P, Q and T of the single term a.
+   *
+   * @param a
+   *        the term index
+   * @return the term result
+   */
+  private static PQT _term (final long a)
+  {
+    if (a == 0)
+      return new PQT (BigInteger.ONE, BigInteger.ONE, A);
+
+    // P = (6a-5)(2a-1)(6a-1)
+    final BigInteger p = BigInteger.valueOf (6 * a - 5)
+                                   .multiply (BigInteger.valueOf (2 * a - 1))
+                                   .multiply (BigInteger.valueOf (6 * a - 1));
+    // Q = a^3 * 640320^3 / 24
+    final BigInteger ba = BigInteger.valueOf (a);
+    final BigInteger q = ba.multiply (ba).multiply (ba).multiply (C3_OVER_24);
+    // T = (-1)^a * P * (13591409 + 545140134a)
+    BigInteger t = p.multiply (A.add (B.multiply (ba)));
+    if ((a & 1) == 1)
+      t = t.negate ();
+    return new PQT (p, q, t);
+  }
+
+  /**
+   * Partial result of the binary splitting of a term range.
+   */
+  private static final class PQT
+  {
+    final BigInteger m_aP;
+    final BigInteger m_aQ;
+    final BigInteger m_aT;
+
+    PQT (final BigInteger aP, final BigInteger aQ, final BigInteger aT)
+    {
+      m_aP = aP;
+      m_aQ = aQ;
+      m_aT = aT;
+    }
+  }
+
+  /**
+   * Fork/join task for the binary splitting of a term range.
+   */
+  private static final class SplitTask extends RecursiveTask <PQT>
+  {
+    private final long m_nA;
+    private final long m_nB;
+    private final boolean m_bNeedP;
+
+    SplitTask (final long a, final long b, final boolean bNeedP)
+    {
+      m_nA = a;
+      m_nB = b;
+      m_bNeedP = bNeedP;
+    }
+
+    @Override
+    protected PQT compute ()
+    {
+      if (m_nB - m_nA <= SEQUENTIAL_TERMS)
+        return _split (m_nA, m_nB, m_bNeedP);
+
+      // Compute the two halves in parallel.
+      final long m = (m_nA + m_nB) >>> 1;
+      final SplitTask aLeftTask = new SplitTask (m_nA, m, true);
+      aLeftTask.fork ();
+      final PQT aRight = new SplitTask (m, m_nB, m_bNeedP).compute ();
+      final PQT aLeft = aLeftTask.join ();
+
+      if (aLeft.m_aT.bitLength () < PARALLEL_MERGE_BITS)
+        return new PQT (m_bNeedP ? aLeft.m_aP.multiply (aRight.m_aP) : null,
+                        aLeft.m_aQ.multiply (aRight.m_aQ),
+                        aRight.m_aQ.multiply (aLeft.m_aT).add (aLeft.m_aP.multiply (aRight.m_aT)));
+
+      // Large operands: run the independent products in parallel as well.
+      final ForkJoinTask <BigInteger> aP = m_bNeedP ? ForkJoinTask.adapt ( () -> aLeft.m_aP.multiply (aRight.m_aP))
+                                                                  .fork () : null;
+      final ForkJoinTask <BigInteger> aQ = ForkJoinTask.adapt ( () -> aLeft.m_aQ.multiply (aRight.m_aQ)).fork ();
+      final ForkJoinTask <BigInteger> aT1 = ForkJoinTask.adapt ( () -> aRight.m_aQ.multiply (aLeft.m_aT)).fork ();
+      final BigInteger aT2 = aLeft.m_aP.multiply (aRight.m_aT);
+      return new PQT (aP == null ? null : aP.join (), aQ.join (), aT1.join ().add (aT2));
+    }
+  }
+}
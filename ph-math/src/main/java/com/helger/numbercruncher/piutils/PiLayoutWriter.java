@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.piutils;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A writer that lays out the digits of pi written to it the same way as
+ * {@link AbstractPiFormula#printPi(String)}: groups of 5 digits, 10 groups per
+ * line and a blank line after every 10 lines. The output is buffered and
+ * forwarded to a target writer, so arbitrarily many digits can be streamed
+ * through it.
+ */
+public class PiLayoutWriter extends Writer
+{
+  private static final String PREFIX = "\npi = ";
+  private static final String INDENT = "       ";
+  /** number of leading characters ("3.") that are not grouped */
+  private static final int LEAD_CHARS = 2;
+  private static final int GROUP_SIZE = 5;
+  private static final int GROUPS_PER_LINE = 10;
+  private static final int LINES_PER_BLOCK = 10;
+
+  /** the writer that receives the formatted output */
+  private final Writer m_aTarget;
+  /** output buffer */
+  private final char [] m_aBuffer = new char [8192];
+  /** number of used chars in the buffer */
+  private int m_nBufferLength;
+
+  /** number of characters received */
+  private long m_nReceived;
+  /** digits in the current group */
+  private int m_nGroupDigits;
+  /** completed groups in the current line */
+  private int m_nGroups;
+  /** completed lines in the current block */
+  private int m_nLines;
+  /** true if the current group is complete and needs a separator */
+  private boolean m_bSeparatorPending;
+  /** true if the output was finished */
+  private boolean m_bFinished;
+
+  /**
+   * Constructor.
+   *
+   * @param aTarget
+   *        the writer that receives the formatted output. It is closed when
+   *        this writer is closed.
+   */
+  public PiLayoutWriter (@NonNull final Writer aTarget)
+  {
+    m_aTarget = aTarget;
+  }
+
+  private void _append (final char c) throws IOException
+  {
+    if (m_nBufferLength == m_aBuffer.length)
+      _flushBuffer ();
+    m_aBuffer[m_nBufferLength++] = c;
+  }
+
+  private void _append (final String s) throws IOException
+  {
+    for (int i = 0; i < s.length (); ++i)
+      _append (s.charAt (i));
+  }
+
+  private void _flushBuffer () throws IOException
+  {
+    m_aTarget.write (m_aBuffer, 0, m_nBufferLength);
+    m_nBufferLength = 0;
+  }
+
+  private void _receive (final char c) throws IOException
+  {
+    if (m_bFinished)
+      throw new IOException ("The output was already finished");
+
+    if (m_nReceived++ == 0)
+      _append (PREFIX);
+
+    // Copy "3." unchanged.
+    if (m_nReceived <= LEAD_CHARS)
+    {
+      _append (c);
+      return;
+    }
+
+    // Separate the previous group only now that more digits follow.
+    if (m_bSeparatorPending)
+    {
+      _append (' ');
+
+      // End of line after 10 groups.
+      if (++m_nGroups == GROUPS_PER_LINE)
+      {
+        _append ('\n');
+
+        // Print a blank line after 10 lines.
+        if (++m_nLines == LINES_PER_BLOCK)
+        {
+          _append ('\n');
+          m_nLines = 0;
+        }
+
+        _append (INDENT);
+        m_nGroups = 0;
+      }
+      m_bSeparatorPending = false;
+    }
+
+    _append (c);
+    if (++m_nGroupDigits == GROUP_SIZE)
+    {
+      m_nGroupDigits = 0;
+      m_bSeparatorPending = true;
+    }
+  }
+
+  @Override
+  public void write (final int c) throws IOException
+  {
+    _receive ((char) c);
+  }
+
+  @Override
+  public void write (final char [] aBuf, final int nOfs, final int nLen) throws IOException
+  {
+    for (int i = 0; i < nLen; ++i)
+      _receive (aBuf[nOfs + i]);
+  }
+
+  @Override
+  public void write (final String sStr, final int nOfs, final int nLen) throws IOException
+  {
+    for (int i = 0; i < nLen; ++i)
+      _receive (sStr.charAt (nOfs + i));
+  }
+
+  /**
+   * Terminate the last line and flush everything to the target writer, without
+   * closing it. No more digits can be written afterwards.
+   *
+   * @throws IOException
+   *         in case of a write error
+   */
+  public void finish () throws IOException
+  {
+    if (!m_bFinished)
+    {
+      if (m_nReceived > LEAD_CHARS)
+        _append ('\n');
+      m_bFinished = true;
+    }
+    flush ();
+  }
+
+  @Override
+  public void flush () throws IOException
+  {
+    _flushBuffer ();
+    m_aTarget.flush ();
+  }
+
+  @Override
+  public void close () throws IOException
+  {
+    finish ();
+    m_aTarget.close ();
+  }
+}
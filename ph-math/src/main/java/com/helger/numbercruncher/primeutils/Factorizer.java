@@ -0,0 +1,379 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import java.util.Arrays;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.style.ReturnsMutableCopy;
+import com.helger.numbercruncher.mathutils.MontgomeryContext;
+import com.helger.numbercruncher.mathutils.SmallPrimeTable;
+
+/**
+ * Factor long values into primes. Small factors are removed by trial division
+ * with primes from the {@link SmallPrimeTable}. The remaining cofactor is split
+ * with Pollard's rho algorithm in Brent's variant and, should that fail, with
+ * Shanks' square forms factorization (SQUFOF). Primality of the parts is
+ * decided with the deterministic {@link MillerRabin} test.
+ */
+public final class Factorizer
+{
+  /** bound for the trial division */
+  private static final int TRIAL_BOUND = 1 << 12;
+
+  /** odd primes below TRIAL_BOUND */
+  private static final int [] TRIAL_PRIMES;
+
+  static
+  {
+    final int [] aPrimes = SmallPrimeTable.primesUpTo (TRIAL_BOUND);
+    TRIAL_PRIMES = Arrays.copyOfRange (aPrimes, 1, aPrimes.length);
+  }
+
+  /** number of rho attempts before SQUFOF is tried */
+  private static final int RHO_ATTEMPTS_BEFORE_SQUFOF = 3;
+  /** maximum number of rho attempts */
+  private static final int MAX_RHO_ATTEMPTS = 32;
+  /** rho iterations between two gcd computations */
+  private static final int RHO_BATCH = 128;
+  /** maximum number of rho iterations per attempt */
+  private static final long RHO_MAX_ITERATIONS = 1L << 26;
+
+  /** SQUFOF multipliers */
+  private static final int [] SQUFOF_MULTIPLIERS = { 1,
+                                                     3,
+                                                     5,
+                                                     7,
+                                                     11,
+                                                     3 * 5,
+                                                     3 * 7,
+                                                     3 * 11,
+                                                     5 * 7,
+                                                     5 * 11,
+                                                     7 * 11,
+                                                     3 * 5 * 7,
+                                                     3 * 5 * 11,
+                                                     3 * 7 * 11,
+                                                     5 * 7 * 11,
+                                                     3 * 5 * 7 * 11 };
+
+  private Factorizer ()
+  {}
+
+  /**
+   * Compute the prime factors of n, including multiplicities.
+   *
+   * @param pn
+   *        the value to factor, &ge; 1
+   * @return the prime factors in ascending order, each repeated according to
+   *         its multiplicity. The product of all elements is n. Empty for n=1.
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public static long [] factorsOf (final long pn)
+  {
+    if (pn < 1)
+      throw new IllegalArgumentException ("n < 1: " + pn);
+
+    // A long has at most 62 prime factors.
+    final long [] factors = new long [Long.SIZE];
+    int count = 0;
+
+    // Factor out 2.
+    final int twos = Long.numberOfTrailingZeros (pn);
+    for (int i = 0; i < twos; ++i)
+      factors[count++] = 2;
+    long n = pn >>> twos;
+
+    // Trial division by small odd primes.
+    for (final int p : TRIAL_PRIMES)
+    {
+      if ((long) p * p > n)
+        break;
+      while (n % p == 0)
+      {
+        factors[count++] = p;
+        n /= p;
+      }
+    }
+
+    if (n > 1)
+    {
+      // Without a factor below the bound, everything below its square is prime.
+      if (n < (long) TRIAL_BOUND * TRIAL_BOUND)
+        factors[count++] = n;
+      else
+        count = _split (n, factors, count);
+    }
+
+    final long [] ret = Arrays.copyOf (factors, count);
+    Arrays.sort (ret);
+    return ret;
+  }
+
+  /**
+   * Compute the distinct prime factors of n.
+   *
+   * @param n
+   *        the value to factor, &ge; 1
+   * @return the distinct prime factors in ascending order. Empty for n=1.
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public static long [] distinctFactorsOf (final long n)
+  {
+    final long [] factors = factorsOf (n);
+    int count = 0;
+    for (int i = 0; i < factors.length; ++i)
+      if (i == 0 || factors[i] != factors[i - 1])
+        factors[count++] = factors[i];
+    return Arrays.copyOf (factors, count);
+  }
+
+  /**
+   * Split an odd n without small factors into primes.
+   *
+   * @return the new number of factors
+   */
+  private static int _split (final long n, final long [] factors, final int count)
+  {
+    if (MillerRabin.isPrime (n))
+    {
+      factors[count] = n;
+      return count + 1;
+    }
+
+    final long r = isqrt (n);
+    final long d = r * r == n ? r : _findFactor (n);
+    return _split (n / d, factors, _split (d, factors, count));
+  }
+
+  /**
+   * Find a non-trivial factor of an odd composite n that is not a square.
+   */
+  private static long _findFactor (final long n)
+  {
+    for (int attempt = 0; attempt < MAX_RHO_ATTEMPTS; ++attempt)
+    {
+      if (attempt == RHO_ATTEMPTS_BEFORE_SQUFOF)
+      {
+        final long d = squfof (n);
+        if (d != 0)
+          return d;
+      }
+
+      final long d = pollardBrent (n, attempt + 1);
+      if (d != 0)
+        return d;
+    }
+    throw new IllegalStateException ("Failed to factor " + n);
+  }
+
+  /**
+   * Find a factor of an odd composite n with Pollard's rho algorithm in Brent's
+   * variant, using the polynomial x^2 + c. The differences are accumulated into
+   * a product so that only every {@value #RHO_BATCH} iterations a gcd is
+   * needed. All arithmetic is done in Montgomery form, which does not change
+   * the gcd with n.
+   *
+   * @param n
+   *        the odd composite value to factor
+   * @param c
+   *        the constant of the polynomial
+   * @return a non-trivial factor of n, or 0 if this attempt failed
+   */
+  static long pollardBrent (final long n, final long c)
+  {
+    final MontgomeryContext aCtx = new MontgomeryContext (n);
+    final long cR = aCtx.toMontgomery (c % n);
+
+    long y = aCtx.toMontgomery (2 % n);
+    long x = y;
+    long ys = y;
+    long q = aCtx.getOne ();
+    long g = 1;
+
+    for (long r = 1; g == 1; r <<= 1)
+    {
+      if (r > RHO_MAX_ITERATIONS)
+        return 0;
+
+      x = y;
+      for (long i = 0; i < r; ++i)
+        y = _rhoStep (aCtx, y, cR);
+
+      for (long k = 0; k < r && g == 1; k += RHO_BATCH)
+      {
+        ys = y;
+        final long steps = Math.min (RHO_BATCH, r - k);
+        for (long i = 0; i < steps; ++i)
+        {
+          y = _rhoStep (aCtx, y, cR);
+          q = aCtx.multiplyMontgomery (q, Math.abs (x - y));
+        }
+        g = gcd (q, n);
+      }
+    }
+
+    // The batch overshot: step through it one by one.
+    if (g == n)
+    {
+      do
+      {
+        ys = _rhoStep (aCtx, ys, cR);
+        g = gcd (Math.abs (x - ys), n);
+      } while (g == 1);
+    }
+
+    return g == n ? 0 : g;
+  }
+
+  private static long _rhoStep (final MontgomeryContext aCtx, final long y, final long cR)
+  {
+    // y^2 + c (mod n), without overflow since both are below n
+    final long y2 = aCtx.multiplyMontgomery (y, y);
+    final long n = aCtx.getModulus ();
+    return y2 >= n - cR ? y2 - (n - cR) : y2 + cR;
+  }
+
+  /**
+   * Find a factor of an odd composite n with Shanks' square forms
+   * factorization. Multipliers k are tried as long as kn fits into a long.
+   *
+   * @param n
+   *        the odd composite value to factor, which is not a square
+   * @return a non-trivial factor of n, or 0 if no factor was found
+   */
+  static long squfof (final long n)
+  {
+    final long s = isqrt (n);
+    if (s * s == n)
+      return s;
+
+    for (final int k : SQUFOF_MULTIPLIERS)
+    {
+      // Keep 2*sqrt(kn) and the products below in the long range.
+      if (n > (Long.MAX_VALUE >> 2) / k)
+        break;
+
+      final long d = k * n;
+      final long p0 = isqrt (d);
+      long qPrev = 1;
+      long q = d - p0 * p0;
+      if (q == 0)
+        continue;
+
+      long pPrev = p0;
+      long p = p0;
+      long r = 0;
+      final long bound = 3 * 2 * isqrt (2 * s);
+
+      // Forward cycle until a square form is found.
+      int i;
+      for (i = 2; i < bound; ++i)
+      {
+        final long bi = (p0 + p) / q;
+        p = bi * q - p;
+        final long qOld = q;
+        q = qPrev + bi * (pPrev - p);
+        r = isqrt (q);
+        if ((i & 1) == 0 && r * r == q)
+          break;
+        qPrev = qOld;
+        pPrev = p;
+      }
+      if (i >= bound || r == 0)
+        continue;
+
+      // Reverse cycle until P repeats.
+      final long b0 = (p0 - p) / r;
+      p = b0 * r + p;
+      pPrev = p;
+      qPrev = r;
+      q = (d - pPrev * pPrev) / qPrev;
+      if (q == 0)
+        continue;
+      do
+      {
+        final long bi = (p0 + p) / q;
+        pPrev = p;
+        p = bi * q - p;
+        final long qOld = q;
+        q = qPrev + bi * (pPrev - p);
+        qPrev = qOld;
+      } while (p != pPrev && q != 0);
+
+      final long f = gcd (n, p);
+      if (f != 1 && f != n)
+        return f;
+    }
+    return 0;
+  }
+
+  /**
+   * Compute the greatest common divisor with the binary gcd algorithm.
+   *
+   * @param pa
+   *        the value of a, &ge; 0
+   * @param pb
+   *        the value of b, &ge; 0
+   * @return gcd(a, b)
+   */
+  static long gcd (final long pa, final long pb)
+  {
+    long a = pa;
+    long b = pb;
+    if (a == 0)
+      return b;
+    if (b == 0)
+      return a;
+
+    final int shift = Long.numberOfTrailingZeros (a | b);
+    a >>>= Long.numberOfTrailingZeros (a);
+    do
+    {
+      b >>>= Long.numberOfTrailingZeros (b);
+      if (a > b)
+      {
+        final long t = b;
+        b = a;
+        a = t;
+      }
+      b -= a;
+    } while (b != 0);
+    return a << shift;
+  }
+
+  /**
+   * Compute floor(sqrt(n)).
+   *
+   * @param n
+   *        the value of n, &ge; 0
+   * @return the integer square root
+   */
+  static long isqrt (final long n)
+  {
+    long r = (long) Math.sqrt (n);
+    // Correct the rounding of the double square root.
+    while (r * r > n || r > 3_037_000_499L)
+      --r;
+    while (r < 3_037_000_499L && (r + 1) * (r + 1) <= n)
+      ++r;
+    return r;
+  }
+}
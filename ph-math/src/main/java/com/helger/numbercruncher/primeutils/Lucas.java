@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import com.helger.numbercruncher.mathutils.ModuloArithmetic;
+import com.helger.numbercruncher.mathutils.MontgomeryContext;
+
+/**
+ * The Lucas primality test: p is prime if there is an integer a with
+ * a^(p-1) = 1 (mod p) and a^((p-1)/q) != 1 (mod p) for every prime factor q of
+ * p-1. In contrast to the Miller-Rabin test a passing value a proves that p is
+ * prime.<br>
+ * All methods are thread-safe: every test run reports to the caller through
+ * its own status object.
+ */
+public final class Lucas
+{
+  private Lucas ()
+  {}
+
+  /**
+   * Test whether p is prime.
+   *
+   * @param p
+   *        the number to test
+   * @return true if p is prime, false if p is composite
+   */
+  public static boolean isPrime (final long p)
+  {
+    return isPrime (p, null);
+  }
+
+  /**
+   * Test whether p is prime.
+   *
+   * @param p
+   *        the number to test
+   * @param aCaller
+   *        the optional caller to report the status to
+   * @return true if p is prime, false if p is composite
+   */
+  public static boolean isPrime (final long p, @Nullable final ILucasCaller aCaller)
+  {
+    if (p < 2)
+      return false;
+    if (p < 4)
+      return true;
+
+    final long [] q = Factorizer.distinctFactorsOf (p - 1);
+    final LucasStatus aStatus = new LucasStatus ();
+    final MontgomeryContext aCtx = (p & 1) == 1 ? new MontgomeryContext (p) : null;
+
+    // Try integers a from 2 through p-1.
+    for (long a = 2; a < p; ++a)
+    {
+      // If a^(p-1) != 1 then p is composite (Fermat).
+      if (!_passPart1 (p, aCtx, a, aCaller, aStatus))
+        return false;
+      if (_passPart2 (p, aCtx, a, q, aCaller, aStatus))
+        return true;
+    }
+
+    return false;
+  }
+
+  /**
+   * Test if integer a passes the first part of the test.
+   *
+   * @return true if [a^(p-1)]%p == 1, else false
+   */
+  private static boolean _passPart1 (final long p,
+                                     @Nullable final MontgomeryContext aCtx,
+                                     final long a,
+                                     @Nullable final ILucasCaller aCaller,
+                                     @NonNull final LucasStatus aStatus)
+  {
+    final long exponent = p - 1;
+    final long value = _raise (p, aCtx, a, exponent);
+
+    return _report (aCaller, aStatus, a, 1, exponent, value, value == 1);
+  }
+
+  /**
+   * Test if integer a passes the second part of the test.
+   *
+   * @return true if [a^(p-1)/q]%p != 1 for all prime factors q, else false
+   */
+  private static boolean _passPart2 (final long p,
+                                     @Nullable final MontgomeryContext aCtx,
+                                     final long a,
+                                     final long [] q,
+                                     @Nullable final ILucasCaller aCaller,
+                                     @NonNull final LucasStatus aStatus)
+  {
+    final long pm1 = p - 1;
+
+    // Loop to try each prime factor.
+    for (final long element : q)
+    {
+      final long exponent = pm1 / element;
+      final long value = _raise (p, aCtx, a, exponent);
+
+      if (!_report (aCaller, aStatus, a, element, exponent, value, value != 1))
+        return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Compute a^exponent (mod p), with the Montgomery context if p is odd.
+   */
+  private static long _raise (final long p, @Nullable final MontgomeryContext aCtx, final long a, final long exponent)
+  {
+    return aCtx != null ? aCtx.raise (a, exponent) : ModuloArithmetic.raise (a, exponent, p);
+  }
+
+  /**
+   * Report the test status back to the caller.
+   *
+   * @return the passed value of bPass
+   */
+  private static boolean _report (@Nullable final ILucasCaller aCaller,
+                                  @NonNull final LucasStatus aStatus,
+                                  final long a,
+                                  final long q,
+                                  final long exponent,
+                                  final long value,
+                                  final boolean bPass)
+  {
+    if (aCaller != null)
+    {
+      aStatus.m_a = a;
+      aStatus.m_nPrimeFactory = q;
+      aStatus.m_nExponent = exponent;
+      aStatus.m_nModuloValue = value;
+      aStatus.m_bPass = bPass;
+
+      aCaller.reportStatus (aStatus);
+    }
+    return bPass;
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import java.math.BigInteger;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import com.helger.annotation.style.ReturnsMutableCopy;
+import com.helger.numbercruncher.mathutils.MontgomeryContext;
+import com.helger.numbercruncher.mathutils.SmallPrimeTable;
+
+/**
+ * The Lucas-Lehmer test for Mersenne numbers M = 2^p - 1: for an odd prime p,
+ * M is prime if and only if s(p-2) = 0 (mod M), where s(0) = 4 and s(i+1) =
+ * s(i)^2 - 2. Since 2^p = 1 (mod M), the square is reduced by adding its low p
+ * bits to the bits above them, without any division.<br>
+ * The test reports its progress to an optional {@link ILucasCaller} after each
+ * iteration. The {@link LucasStatus} then contains
+ * <ul>
+ * <li>{@link LucasStatus#getA()}: the number of the iteration, starting at
+ * 1</li>
+ * <li>{@link LucasStatus#getQ()} and {@link LucasStatus#getExponent()}: the
+ * exponent p</li>
+ * <li>{@link LucasStatus#getValue()}: the low 64 bits of the residue s</li>
+ * <li>{@link LucasStatus#didPass()}: in the last report true if M is prime,
+ * false before</li>
+ * </ul>
+ */
+public final class LucasLehmer
+{
+  /** the number of multipliers k of the trial factors 2kp+1 */
+  private static final int TRIAL_FACTOR_COUNT = 10_000;
+
+  private LucasLehmer ()
+  {}
+
+  /**
+   * Test whether 2^p - 1 is prime.
+   *
+   * @param p
+   *        the exponent
+   * @return true if 2^p - 1 is prime, false otherwise
+   */
+  public static boolean isMersennePrime (final int p)
+  {
+    return isMersennePrime (p, null);
+  }
+
+  /**
+   * Test whether 2^p - 1 is prime.
+   *
+   * @param p
+   *        the exponent
+   * @param aCaller
+   *        the optional caller to report the progress to
+   * @return true if 2^p - 1 is prime, false otherwise
+   */
+  public static boolean isMersennePrime (final int p, @Nullable final ILucasCaller aCaller)
+  {
+    // 2^p - 1 can only be prime if p is.
+    if (p == 2)
+      return true;
+    if (!Primality.isPrime (p))
+      return false;
+
+    final BigInteger m = BigInteger.ONE.shiftLeft (p).subtract (BigInteger.ONE);
+    final LucasStatus aStatus = new LucasStatus ();
+    aStatus.m_nPrimeFactory = p;
+    aStatus.m_nExponent = p;
+
+    BigInteger s = BigInteger.valueOf (4);
+    final int iterations = p - 2;
+    for (int i = 1; i <= iterations; ++i)
+    {
+      s = reduce (s.multiply (s), p, m);
+
+      // Subtract 2 modulo M.
+      s = s.compareTo (BigInteger.TWO) >= 0 ? s.subtract (BigInteger.TWO) : s.add (m).subtract (BigInteger.TWO);
+
+      if (aCaller != null)
+      {
+        aStatus.m_a = i;
+        aStatus.m_nModuloValue = s.longValue ();
+        aStatus.m_bPass = i == iterations && s.signum () == 0;
+        aCaller.reportStatus (aStatus);
+      }
+    }
+    return s.signum () == 0;
+  }
+
+  /**
+   * Reduce x modulo M = 2^p - 1 by shifts and additions.
+   *
+   * @param px
+   *        the value to reduce, &ge; 0
+   * @param p
+   *        the exponent
+   * @param m
+   *        the Mersenne number 2^p - 1, which is also the mask of the low p
+   *        bits
+   * @return x mod M
+   */
+  @NonNull
+  static BigInteger reduce (@NonNull final BigInteger px, final int p, @NonNull final BigInteger m)
+  {
+    BigInteger x = px;
+    // x = hi * 2^p + lo = hi + lo (mod M)
+    while (x.bitLength () > p)
+      x = x.shiftRight (p).add (x.and (m));
+    return x.equals (m) ? BigInteger.ZERO : x;
+  }
+
+  /**
+   * Search for a small factor of 2^p - 1. Every factor q of 2^p - 1 for an odd
+   * prime p has the form 2kp + 1 and satisfies q = +/-1 (mod 8), which leaves
+   * only few candidates to test with 2^p = 1 (mod q).
+   *
+   * @param p
+   *        the odd prime exponent
+   * @return a proper factor of 2^p - 1, or 0 if none was found among the trial
+   *         factors
+   */
+  static long findTrialFactor (final int p)
+  {
+    for (long k = 1; k <= TRIAL_FACTOR_COUNT; ++k)
+    {
+      final long q = 2 * k * p + 1;
+
+      // q must not be 2^p - 1 itself.
+      if (p < Long.SIZE - 1 && q >= (1L << p) - 1)
+        break;
+
+      final long r = q & 7;
+      if ((r == 1 || r == 7) && new MontgomeryContext (q).raise (2, p) == 1)
+        return q;
+    }
+    return 0;
+  }
+
+  /**
+   * Find all exponents p in [from, to] for which 2^p - 1 is prime. Prime
+   * exponents are first screened for small factors of 2^p - 1, and the
+   * remaining ones run the Lucas-Lehmer test. Both happen in parallel.
+   *
+   * @param from
+   *        the smallest exponent, inclusive
+   * @param to
+   *        the largest exponent, inclusive, &le;
+   *        {@link SmallPrimeTable#MAX_LIMIT}
+   * @return the exponents of the Mersenne primes in ascending order
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public static int [] findMersenneExponents (final int from, final int to)
+  {
+    return IntStream.of (SmallPrimeTable.primesUpTo (to))
+                    .filter (p -> p >= from)
+                    .parallel ()
+                    .filter (p -> findTrialFactor (p) == 0)
+                    .filter (LucasLehmer::isMersennePrime)
+                    .toArray ();
+  }
+}
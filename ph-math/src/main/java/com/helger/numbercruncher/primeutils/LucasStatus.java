@@ -22,32 +22,32 @@ package com.helger.numbercruncher.primeutils;
 public class LucasStatus
 {
   /** trial integer a */
-  int m_a;
+  long m_a;
   /** prime factor */
-  int m_nPrimeFactory;
+  long m_nPrimeFactory;
   /** exponent of a */
-  int m_nExponent;
+  long m_nExponent;
   /** modulo value */
-  int m_nModuloValue;
+  long m_nModuloValue;
   /** pass or fail */
   boolean m_bPass;
 
-  public int getA ()
+  public long getA ()
   {
     return m_a;
   }
 
-  public int getQ ()
+  public long getQ ()
   {
     return m_nPrimeFactory;
   }
 
-  public int getExponent ()
+  public long getExponent ()
   {
     return m_nExponent;
   }
 
-  public int getValue ()
+  public long getValue ()
   {
     return m_nModuloValue;
   }
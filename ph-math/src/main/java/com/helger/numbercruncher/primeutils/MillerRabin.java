@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import java.math.BigInteger;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import com.helger.numbercruncher.mathutils.MontgomeryContext;
+
+/**
+ * The Miller-Rabin primality test. For long values the test uses fixed sets of
+ * bases which make it deterministic, i.e. the result is a proof. BigInteger
+ * values beyond the long range are tested with random bases.<br>
+ * All methods are thread-safe: every test run reports to the caller through
+ * its own status object.
+ */
+public final class MillerRabin
+{
+  /** bases that are sufficient for all n &lt; 4,759,123,141 */
+  private static final long [] BASES_32 = { 2, 7, 61 };
+  private static final long LIMIT_32 = 4_759_123_141L;
+
+  /** bases that are sufficient for all n &lt; 2^64 (Jim Sinclair) */
+  private static final long [] BASES_64 = { 2, 325, 9375, 28178, 450775, 9780504, 1795265022 };
+
+  private static final BigInteger TWO = BigInteger.valueOf (2);
+
+  private MillerRabin ()
+  {}
+
+  /**
+   * Test whether n is prime.
+   *
+   * @param n
+   *        the number to test
+   * @return true if n is prime, false otherwise
+   */
+  public static boolean isPrime (final long n)
+  {
+    return isPrime (n, null);
+  }
+
+  /**
+   * Test whether n is prime.
+   *
+   * @param n
+   *        the number to test
+   * @param aCaller
+   *        the optional caller to report the status to
+   * @return true if n is prime, false otherwise
+   */
+  public static boolean isPrime (final long n, @Nullable final IMillerRabinCaller aCaller)
+  {
+    if (n < 2)
+      return false;
+    if (n < 4)
+      return true;
+    if ((n & 1) == 0)
+      return false;
+
+    final MontgomeryContext aCtx = new MontgomeryContext (n);
+    final MillerRabinStatus aStatus = new MillerRabinStatus ();
+    final long [] aBases = n < LIMIT_32 ? BASES_32 : BASES_64;
+    for (final long nBase : aBases)
+    {
+      // A base that is a multiple of n proves nothing
+      final long b = nBase % n;
+      if (b != 0 && !_test (aCtx, b, aCaller, aStatus))
+        return false;
+    }
+    return true;
+  }
+
+  /**
+   * Perform a single round of the Miller-Rabin test, i.e. test whether n is a
+   * strong probable prime to base b.
+   *
+   * @param n
+   *        the odd number to test, n &gt; 2
+   * @param b
+   *        the base, 1 &lt; b &lt; n
+   * @param aCaller
+   *        the optional caller to report the status to
+   * @return true if n is probably prime, false if n is composite
+   */
+  public static boolean test (final long n, final long b, @Nullable final IMillerRabinCaller aCaller)
+  {
+    if (n < 3 || (n & 1) == 0)
+      throw new IllegalArgumentException ("n must be odd and > 2: " + n);
+    if (b < 2 || b >= n)
+      throw new IllegalArgumentException ("b must be between 2 and n-1: " + b);
+
+    return _test (new MontgomeryContext (n), b, aCaller, new MillerRabinStatus ());
+  }
+
+  /**
+   * Perform a single round of the Miller-Rabin test. All computations are done
+   * in Montgomery form, and values are only converted back for reporting.
+   */
+  private static boolean _test (@NonNull final MontgomeryContext aCtx,
+                                final long b,
+                                @Nullable final IMillerRabinCaller aCaller,
+                                @NonNull final MillerRabinStatus aStatus)
+  {
+    final long n = aCtx.getModulus ();
+    final long pm1 = n - 1;
+    final long oneR = aCtx.getOne ();
+    final long pm1R = n - oneR;
+
+    // Shift p-1 to the right s bits to make it odd.
+    final int s = Long.numberOfTrailingZeros (pm1);
+    final long k = pm1 >>> s;
+
+    aStatus.m_nRandomBase = b;
+    aStatus.m_nShiftedPMinus1 = k;
+    aStatus.m_nRightShifts = s;
+    aStatus.m_nCounter = 0;
+    aStatus.m_nStatusCode = MillerRabinStatus.DONT_KNOW_YET;
+
+    long rR = aCtx.raiseMontgomery (aCtx.toMontgomery (b), k); // b^k (mod p)
+    if (aCaller != null)
+      aStatus.m_nModulo = aCtx.fromMontgomery (rR);
+
+    if (rR == oneR || rR == pm1R)
+      return _report (aCaller, aStatus, MillerRabinStatus.PROBABLY_PRIME);
+
+    // Square at most s-1 times.
+    for (int i = 1; i < s; ++i)
+    {
+      _report (aCaller, aStatus, MillerRabinStatus.DONT_KNOW_YET);
+
+      rR = aCtx.multiplyMontgomery (rR, rR); // r^2 (mod p)
+      aStatus.m_nCounter = i;
+      if (aCaller != null)
+        aStatus.m_nModulo = aCtx.fromMontgomery (rR);
+
+      if (rR == pm1R)
+        return _report (aCaller, aStatus, MillerRabinStatus.PROBABLY_PRIME);
+      if (rR == oneR)
+        return _report (aCaller, aStatus, MillerRabinStatus.DEFINITELY_COMPOSITE);
+    }
+
+    return _report (aCaller, aStatus, MillerRabinStatus.DEFINITELY_COMPOSITE);
+  }
+
+  /**
+   * Report the test status back to the caller.
+   *
+   * @return true if the status code is not DEFINITELY_COMPOSITE
+   */
+  private static boolean _report (@Nullable final IMillerRabinCaller aCaller,
+                                  @NonNull final MillerRabinStatus aStatus,
+                                  final int nStatusCode)
+  {
+    aStatus.m_nStatusCode = nStatusCode;
+    if (aCaller != null)
+      aCaller.reportStatus (aStatus);
+    return nStatusCode != MillerRabinStatus.DEFINITELY_COMPOSITE;
+  }
+
+  /**
+   * Test whether n is probably prime. Values in the long range are tested
+   * deterministically. Larger values are tested with base 2 and rounds-1 random
+   * bases, so the probability that a composite passes is at most 4^-rounds.
+   *
+   * @param n
+   *        the number to test
+   * @param rounds
+   *        the number of rounds for values beyond the long range, &ge; 1
+   * @return true if n is probably prime, false if n is composite
+   */
+  public static boolean isProbablePrime (@NonNull final BigInteger n, final int rounds)
+  {
+    if (rounds < 1)
+      throw new IllegalArgumentException ("rounds < 1: " + rounds);
+
+    if (n.bitLength () < Long.SIZE)
+      return isPrime (n.longValue ());
+    if (n.signum () < 0 || !n.testBit (0))
+      return false;
+
+    final BigInteger pm1 = n.subtract (BigInteger.ONE);
+    final int s = pm1.getLowestSetBit ();
+    final BigInteger k = pm1.shiftRight (s);
+    final ThreadLocalRandom aRandom = ThreadLocalRandom.current ();
+
+    for (int round = 0; round < rounds; ++round)
+    {
+      BigInteger b = TWO;
+      if (round > 0)
+      {
+        // Random base with 1 < b < n-1
+        do
+        {
+          b = new BigInteger (n.bitLength (), aRandom);
+        } while (b.compareTo (BigInteger.ONE) <= 0 || b.compareTo (pm1) >= 0);
+      }
+
+      if (!_test (n, pm1, k, s, b))
+        return false;
+    }
+    return true;
+  }
+
+  private static boolean _test (final BigInteger n,
+                                final BigInteger pm1,
+                                final BigInteger k,
+                                final int s,
+                                final BigInteger b)
+  {
+    BigInteger r = b.modPow (k, n);
+    if (r.equals (BigInteger.ONE) || r.equals (pm1))
+      return true;
+
+    for (int i = 1; i < s; ++i)
+    {
+      r = r.multiply (r).mod (n);
+      if (r.equals (pm1))
+        return true;
+      if (r.equals (BigInteger.ONE))
+        return false;
+    }
+    return false;
+  }
+}
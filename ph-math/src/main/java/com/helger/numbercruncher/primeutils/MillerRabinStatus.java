@@ -26,25 +26,25 @@ public class MillerRabinStatus
   public static final int DEFINITELY_COMPOSITE = 1;
   public static final int PROBABLY_PRIME = 2;
 
-  /** random base */
-  int m_nRandomBase;
+  /** base of the test */
+  long m_nRandomBase;
   /** shifted p-1 */
-  int m_nShiftedPMinus1;
+  long m_nShiftedPMinus1;
   /** no. of right shifts */
   int m_nRightShifts;
   /** counter */
   int m_nCounter;
   /** modulo value */
-  int m_nModulo;
+  long m_nModulo;
   /** status code */
   int m_nStatusCode;
 
-  public int getB ()
+  public long getB ()
   {
     return m_nRandomBase;
   }
 
-  public int getK ()
+  public long getK ()
   {
     return m_nShiftedPMinus1;
   }
@@ -59,7 +59,7 @@ public class MillerRabinStatus
     return m_nCounter;
   }
 
-  public int getValue ()
+  public long getValue ()
   {
     return m_nModulo;
   }
@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.style.ReturnsMutableCopy;
+import com.helger.numbercruncher.mathutils.ModuloArithmetic;
+
+/**
+ * A Pratt certificate proves that p is prime with a witness a of order p-1:
+ * a^(p-1) = 1 (mod p) and a^((p-1)/q) != 1 (mod p) for every prime factor q of
+ * p-1. The factorization of p-1 is part of the certificate, and every factor
+ * has its own certificate in turn. Verifying a certificate only takes a few
+ * modular exponentiations, while creating it needs the factorization and the
+ * search for a witness.<br>
+ * The text form {@link #getAsString()} lists each certificate of the tree once,
+ * one per line, before the certificates that use it. A line contains the prime,
+ * the witness and the factors of p-1, with the exponent after a '^' if it is
+ * greater than 1, e.g. for 7:
+ *
+ * <pre>
+ * 2 1
+ * 3 2 2
+ * 7 3 2 3
+ * </pre>
+ *
+ * Instances are immutable.
+ */
+public final class PrattCertificate
+{
+  /** the maximum number of cached certificates */
+  private static final int MAX_CACHE_SIZE = 1 << 16;
+
+  /** certificates of factors that occurred before */
+  private static final Map <Long, PrattCertificate> CACHE = new ConcurrentHashMap <> ();
+
+  /** the prime */
+  private final long m_nPrime;
+  /** the witness of order p-1 */
+  private final long m_nWitness;
+  /** the distinct prime factors of p-1 in ascending order */
+  private final long [] m_aFactors;
+  /** the exponents of the factors */
+  private final int [] m_aExponents;
+  /** the certificates of the factors */
+  private final PrattCertificate [] m_aFactorCertificates;
+
+  private PrattCertificate (final long nPrime,
+                            final long nWitness,
+                            @NonNull final long [] aFactors,
+                            @NonNull final int [] aExponents,
+                            @NonNull final PrattCertificate [] aFactorCertificates)
+  {
+    m_nPrime = nPrime;
+    m_nWitness = nWitness;
+    m_aFactors = aFactors;
+    m_aExponents = aExponents;
+    m_aFactorCertificates = aFactorCertificates;
+  }
+
+  /**
+   * @return the proven prime
+   */
+  public long getPrime ()
+  {
+    return m_nPrime;
+  }
+
+  /**
+   * @return the witness a of order p-1
+   */
+  public long getWitness ()
+  {
+    return m_nWitness;
+  }
+
+  /**
+   * @return the distinct prime factors of p-1 in ascending order
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public long [] getFactors ()
+  {
+    return m_aFactors.clone ();
+  }
+
+  /**
+   * @return the exponents of the prime factors of p-1
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public int [] getExponents ()
+  {
+    return m_aExponents.clone ();
+  }
+
+  /**
+   * @return the certificates of the prime factors of p-1
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public PrattCertificate [] getFactorCertificates ()
+  {
+    return m_aFactorCertificates.clone ();
+  }
+
+  /**
+   * Create the certificate of a prime.
+   *
+   * @param p
+   *        the prime
+   * @return the certificate
+   * @throws IllegalArgumentException
+   *         if p is not prime
+   */
+  @NonNull
+  public static PrattCertificate create (final long p)
+  {
+    if (!Primality.isPrime (p))
+      throw new IllegalArgumentException ("Not a prime: " + p);
+
+    final PrattCertificate ret = CACHE.get (Long.valueOf (p));
+    return ret != null ? ret : _create (p);
+  }
+
+  @NonNull
+  private static PrattCertificate _create (final long p)
+  {
+    // Group the prime factors of p-1 by value.
+    final long [] aAllFactors = Factorizer.factorsOf (p - 1);
+    final long [] aFactors = Factorizer.distinctFactorsOf (p - 1);
+    final int [] aExponents = new int [aFactors.length];
+    for (int i = 0, j = 0; i < aAllFactors.length; ++i)
+    {
+      if (aAllFactors[i] != aFactors[j])
+        ++j;
+      ++aExponents[j];
+    }
+
+    // The factors are prime, so each one gets a (cached) certificate.
+    final PrattCertificate [] aFactorCertificates = new PrattCertificate [aFactors.length];
+    for (int i = 0; i < aFactors.length; ++i)
+    {
+      final Long aKey = Long.valueOf (aFactors[i]);
+      PrattCertificate aCert = CACHE.get (aKey);
+      if (aCert == null)
+      {
+        aCert = _create (aFactors[i]);
+        if (CACHE.size () < MAX_CACHE_SIZE)
+          CACHE.putIfAbsent (aKey, aCert);
+      }
+      aFactorCertificates[i] = aCert;
+    }
+
+    // Search a witness. For p=2 the order 1 is already reached by a=1.
+    long a = p == 2 ? 1 : 2;
+    while (!_isWitness (p, a, aFactors))
+      ++a;
+
+    return new PrattCertificate (p, a, aFactors, aExponents, aFactorCertificates);
+  }
+
+  /**
+   * Check a^((p-1)/q) != 1 (mod p) for all prime factors q of p-1.
+   */
+  private static boolean _isWitness (final long p, final long a, @NonNull final long [] aFactors)
+  {
+    for (final long q : aFactors)
+      if (ModuloArithmetic.raise (a, (p - 1) / q, p) == 1)
+        return false;
+    return true;
+  }
+
+  /**
+   * Verify the certificate and all certificates of the factors.
+   *
+   * @return true if the certificate proves that {@link #getPrime()} is prime,
+   *         false if it is invalid
+   */
+  public boolean verify ()
+  {
+    return _verify (new HashSet <> ());
+  }
+
+  private boolean _verify (@NonNull final Set <Long> aVerified)
+  {
+    final long p = m_nPrime;
+    if (aVerified.contains (Long.valueOf (p)))
+      return true;
+    if (p < 2 || m_nWitness < 1 || m_nWitness >= p)
+      return false;
+
+    // The factors must be distinct and ascending and multiply to p-1.
+    long product = 1;
+    try
+    {
+      for (int i = 0; i < m_aFactors.length; ++i)
+      {
+        final long q = m_aFactors[i];
+        if (q < 2 || (i > 0 && q <= m_aFactors[i - 1]) || m_aExponents[i] < 1)
+          return false;
+        for (int e = 0; e < m_aExponents[i]; ++e)
+          product = Math.multiplyExact (product, q);
+      }
+    }
+    catch (final ArithmeticException ex)
+    {
+      return false;
+    }
+    if (product != p - 1)
+      return false;
+
+    // The witness must have order p-1.
+    if (ModuloArithmetic.raise (m_nWitness, p - 1, p) != 1 || !_isWitness (p, m_nWitness, m_aFactors))
+      return false;
+
+    // Each factor must be proven prime by its own certificate.
+    for (int i = 0; i < m_aFactors.length; ++i)
+    {
+      final PrattCertificate aCert = m_aFactorCertificates[i];
+      if (aCert.m_nPrime != m_aFactors[i] || !aCert._verify (aVerified))
+        return false;
+    }
+
+    aVerified.add (Long.valueOf (p));
+    return true;
+  }
+
+  private void _collect (@NonNull final Map <Long, PrattCertificate> aTarget)
+  {
+    if (!aTarget.containsKey (Long.valueOf (m_nPrime)))
+    {
+      for (final PrattCertificate aCert : m_aFactorCertificates)
+        aCert._collect (aTarget);
+      aTarget.put (Long.valueOf (m_nPrime), this);
+    }
+  }
+
+  /**
+   * Get the text form of the certificate, which can be read by
+   * {@link #parse(String)}.
+   *
+   * @return the text form, one line per certificate in the tree
+   */
+  @NonNull
+  public String getAsString ()
+  {
+    final Map <Long, PrattCertificate> aAll = new LinkedHashMap <> ();
+    _collect (aAll);
+
+    final StringBuilder aSB = new StringBuilder ();
+    for (final PrattCertificate aCert : aAll.values ())
+    {
+      if (aSB.length () > 0)
+        aSB.append ('\n');
+      aSB.append (aCert.m_nPrime).append (' ').append (aCert.m_nWitness);
+      for (int i = 0; i < aCert.m_aFactors.length; ++i)
+      {
+        aSB.append (' ').append (aCert.m_aFactors[i]);
+        if (aCert.m_aExponents[i] > 1)
+          aSB.append ('^').append (aCert.m_aExponents[i]);
+      }
+    }
+    return aSB.toString ();
+  }
+
+  /**
+   * Read a certificate from its text form. The certificate is not verified.
+   *
+   * @param sText
+   *        the text form as created by {@link #getAsString()}
+   * @return the certificate of the prime in the last line
+   * @throws IllegalArgumentException
+   *         if the text is malformed or uses a factor without certificate
+   */
+  @NonNull
+  public static PrattCertificate parse (@NonNull final String sText)
+  {
+    final Map <Long, PrattCertificate> aKnown = new LinkedHashMap <> ();
+    PrattCertificate ret = null;
+    try
+    {
+      for (final String sLine : sText.trim ().split ("\n"))
+      {
+        final String [] aParts = sLine.trim ().split (" +");
+        if (aParts.length < 2)
+          throw new IllegalArgumentException ("Missing witness: " + sLine);
+
+        final int nFactors = aParts.length - 2;
+        final long [] aFactors = new long [nFactors];
+        final int [] aExponents = new int [nFactors];
+        final List <PrattCertificate> aFactorCertificates = new ArrayList <> (nFactors);
+        for (int i = 0; i < nFactors; ++i)
+        {
+          final String sFactor = aParts[i + 2];
+          final int nCaret = sFactor.indexOf ('^');
+          aFactors[i] = Long.parseLong (nCaret < 0 ? sFactor : sFactor.substring (0, nCaret));
+          aExponents[i] = nCaret < 0 ? 1 : Integer.parseInt (sFactor.substring (nCaret + 1));
+
+          final PrattCertificate aCert = aKnown.get (Long.valueOf (aFactors[i]));
+          if (aCert == null)
+            throw new IllegalArgumentException ("No certificate for factor " + aFactors[i] + ": " + sLine);
+          aFactorCertificates.add (aCert);
+        }
+
+        ret = new PrattCertificate (Long.parseLong (aParts[0]),
+                                    Long.parseLong (aParts[1]),
+                                    aFactors,
+                                    aExponents,
+                                    aFactorCertificates.toArray (new PrattCertificate [0]));
+        aKnown.put (Long.valueOf (ret.m_nPrime), ret);
+      }
+    }
+    catch (final NumberFormatException ex)
+    {
+      throw new IllegalArgumentException ("Malformed certificate", ex);
+    }
+    if (ret == null)
+      throw new IllegalArgumentException ("Empty certificate");
+    return ret;
+  }
+
+  @Override
+  public String toString ()
+  {
+    return getAsString ();
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import java.math.BigInteger;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.SmallPrimeTable;
+
+/**
+ * Primality tests for long and BigInteger values. Small factors are removed by
+ * trial division before the Miller-Rabin test is run, which is deterministic
+ * for all long values.
+ */
+public final class Primality
+{
+  /** primes used for trial division before the Miller-Rabin test */
+  private static final int [] SMALL_PRIMES = { 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47 };
+  /** product of all SMALL_PRIMES */
+  private static final BigInteger PRIMORIAL_47 = BigInteger.valueOf (614_889_782_588_491_410L);
+
+  private Primality ()
+  {}
+
+  /**
+   * Test whether n is prime.
+   *
+   * @param n
+   *        the number to test
+   * @return true if n is prime, false otherwise
+   */
+  public static boolean isPrime (final long n)
+  {
+    if (n < 2)
+      return false;
+
+    // Trial division by small primes.
+    for (final int p : SMALL_PRIMES)
+    {
+      if (n % p == 0)
+        return n == p;
+    }
+
+    // No factor below 53 means that any n below 53^2 is prime.
+    if (n < 53 * 53)
+      return true;
+
+    // Look up values the shared table already covers.
+    if (n <= SmallPrimeTable.getLimit ())
+      return SmallPrimeTable.isSmallPrime ((int) n);
+
+    return MillerRabin.isPrime (n);
+  }
+
+  /**
+   * Test whether n is probably prime. Values in the long range are tested
+   * deterministically, larger values with the given number of Miller-Rabin
+   * rounds.
+   *
+   * @param n
+   *        the number to test
+   * @param rounds
+   *        the number of Miller-Rabin rounds for values beyond the long range
+   * @return true if n is probably prime, false if n is composite
+   */
+  public static boolean isProbablePrime (@NonNull final BigInteger n, final int rounds)
+  {
+    if (n.bitLength () < Long.SIZE)
+      return isPrime (n.longValue ());
+    if (n.signum () < 0)
+      return false;
+
+    // Trial division by small primes, with a single BigInteger division.
+    final long r = n.mod (PRIMORIAL_47).longValue ();
+    for (final int p : SMALL_PRIMES)
+    {
+      if (r % p == 0)
+        return false;
+    }
+
+    return MillerRabin.isProbablePrime (n, rounds);
+  }
+}
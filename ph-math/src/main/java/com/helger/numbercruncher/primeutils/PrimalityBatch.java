@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.SmallPrimeTable;
+
+/**
+ * Test many candidates for primality at once. Candidates divisible by a prime
+ * up to 13 are rejected with a wheel lookup, values covered by the
+ * {@link SmallPrimeTable} are looked up, and only the remaining ones run the
+ * deterministic {@link MillerRabin} test. Large batches are split into chunks
+ * of whole result words that are tested in parallel.
+ */
+public final class PrimalityBatch
+{
+  /** the primes of the wheel */
+  private static final int [] WHEEL_PRIMES = { 2, 3, 5, 7, 11, 13 };
+  /** the wheel size 2*3*5*7*11*13 */
+  private static final int WHEEL = 30030;
+  /** bit r is set if r is coprime to the wheel size */
+  private static final long [] WHEEL_COPRIME = new long [(WHEEL + Long.SIZE - 1) / Long.SIZE];
+
+  static
+  {
+    for (int r = 0; r < WHEEL; ++r)
+    {
+      boolean bCoprime = true;
+      for (final int p : WHEEL_PRIMES)
+        if (r % p == 0)
+          bCoprime = false;
+      if (bCoprime)
+        WHEEL_COPRIME[r >>> 6] |= 1L << r;
+    }
+  }
+
+  /** candidates per parallel chunk, a multiple of the word size */
+  private static final int CHUNK_SIZE = 64 * Long.SIZE;
+
+  private PrimalityBatch ()
+  {}
+
+  /**
+   * Test a single candidate.
+   */
+  private static boolean _isPrime (final long n)
+  {
+    if (n < 2)
+      return false;
+
+    final int r = (int) (n % WHEEL);
+    if ((WHEEL_COPRIME[r >>> 6] & (1L << r)) == 0)
+    {
+      // Divisible by a wheel prime.
+      for (final int p : WHEEL_PRIMES)
+        if (n == p)
+          return true;
+      return false;
+    }
+
+    // No factor up to 13 means that any n below 17^2 is prime.
+    if (n < 17 * 17)
+      return true;
+    if (n <= SmallPrimeTable.getLimit ())
+      return SmallPrimeTable.isSmallPrime ((int) n);
+    return MillerRabin.isPrime (n);
+  }
+
+  /**
+   * Test the candidates [from, to) and store the results in the words they
+   * belong to. from must be a multiple of 64.
+   */
+  private static void _testChunk (final long [] candidates, final int from, final int to, final long [] words)
+  {
+    for (int i = from; i < to; ++i)
+      if (_isPrime (candidates[i]))
+        words[i >>> 6] |= 1L << i;
+  }
+
+  /**
+   * Test all candidates for primality.
+   *
+   * @param candidates
+   *        the values to test. Values &lt; 2 are not prime.
+   * @return a bit set in which bit i is set if candidates[i] is prime
+   */
+  @NonNull
+  public static BitSet test (@NonNull final long [] candidates)
+  {
+    final long [] words = new long [(candidates.length + Long.SIZE - 1) / Long.SIZE];
+
+    // Chunks write to disjoint words and can be tested in parallel.
+    final int chunks = (candidates.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    final IntStream aChunks = IntStream.range (0, chunks);
+    (chunks > 1 ? aChunks.parallel () : aChunks).forEach (i -> _testChunk (candidates,
+                                                                          i * CHUNK_SIZE,
+                                                                          Math.min ((i + 1) * CHUNK_SIZE,
+                                                                                    candidates.length),
+                                                                          words));
+    return BitSet.valueOf (words);
+  }
+
+  /**
+   * Test all candidates of a stream for primality. The stream is consumed
+   * completely.
+   *
+   * @param aCandidates
+   *        the values to test, in encounter order. Values &lt; 2 are not prime.
+   * @return a bit set in which bit i is set if the i-th candidate is prime
+   */
+  @NonNull
+  public static BitSet test (@NonNull final LongStream aCandidates)
+  {
+    return test (aCandidates.toArray ());
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.style.ReturnsMutableCopy;
+
+/**
+ * Abstract base class for low-discrepancy sequences of points in the unit
+ * cube [0, 1)^d. The points fill the cube much more evenly than random points,
+ * so quasi-Monte-Carlo integration of smooth functions converges at nearly
+ * O(1/N) instead of O(1/sqrt(N)).<br>
+ * The sequence is deterministic: the point with a given index is always the
+ * same. {@link #skipTo(long)} jumps to any index, so parallel tasks can
+ * generate disjoint ranges of the same sequence with instances from
+ * {@link #createAt(long)}. An instance itself is not thread-safe.
+ */
+public abstract class AbstractQuasiRandomSequence
+{
+  /** points per parallel chunk of {@link #fill(double[], int, int)} */
+  private static final int CHUNK_POINTS = 1 << 14;
+
+  /** number of coordinates of a point */
+  private final int m_nDimension;
+  /** index of the next point */
+  private long m_nIndex;
+
+  /**
+   * Constructor.
+   *
+   * @param nDimension
+   *        the number of coordinates of a point, &ge; 1
+   */
+  protected AbstractQuasiRandomSequence (final int nDimension)
+  {
+    if (nDimension < 1)
+      throw new IllegalArgumentException ("The dimension must be positive: " + nDimension);
+    m_nDimension = nDimension;
+  }
+
+  /**
+   * @return the number of coordinates of a point
+   */
+  public final int getDimension ()
+  {
+    return m_nDimension;
+  }
+
+  /**
+   * @return the index of the next point, starting at 0
+   */
+  public final long getIndex ()
+  {
+    return m_nIndex;
+  }
+
+  /**
+   * Jump to a point of the sequence, forward or backward.
+   *
+   * @param nIndex
+   *        the index of the next point, &ge; 0
+   */
+  public final void skipTo (final long nIndex)
+  {
+    if (nIndex < 0)
+      throw new IllegalArgumentException ("The index must not be negative: " + nIndex);
+    seek (nIndex);
+    m_nIndex = nIndex;
+  }
+
+  /**
+   * Skip points of the sequence.
+   *
+   * @param nCount
+   *        the number of points to skip, &ge; 0
+   */
+  public final void skip (final long nCount)
+  {
+    if (nCount < 0)
+      throw new IllegalArgumentException ("The count must not be negative: " + nCount);
+    skipTo (m_nIndex + nCount);
+  }
+
+  /**
+   * Position the state at a point. Implementations throw an
+   * {@link IllegalArgumentException} if the index is past the end of the
+   * sequence.
+   *
+   * @param nIndex
+   *        the index of the next point, &ge; 0
+   */
+  protected abstract void seek (long nIndex);
+
+  /**
+   * Write the point at the current index and advance the state to the next
+   * index.
+   *
+   * @param nIndex
+   *        the index of the point
+   * @param aDest
+   *        the array to write to
+   * @param nOffset
+   *        the index of the first coordinate in the array
+   */
+  protected abstract void generate (long nIndex, @NonNull double [] aDest, int nOffset);
+
+  /**
+   * Create a sequence of the same kind and dimension, positioned at a point.
+   * Implementations return their own type.
+   *
+   * @param nIndex
+   *        the index of the next point, &ge; 0
+   * @return a new sequence
+   */
+  @NonNull
+  public abstract AbstractQuasiRandomSequence createAt (long nIndex);
+
+  /**
+   * Write the next point to an array.
+   *
+   * @param aDest
+   *        the array to write to
+   * @param nOffset
+   *        the index of the first coordinate in the array
+   */
+  public final void next (@NonNull final double [] aDest, final int nOffset)
+  {
+    Objects.checkFromIndexSize (nOffset, m_nDimension, aDest.length);
+    generate (m_nIndex, aDest, nOffset);
+    ++m_nIndex;
+  }
+
+  /**
+   * @return the next point as a new array
+   */
+  @NonNull
+  @ReturnsMutableCopy
+  public final double [] next ()
+  {
+    final double [] ret = new double [m_nDimension];
+    next (ret, 0);
+    return ret;
+  }
+
+  /**
+   * Fill an array with the next points, one after the other. Many points are
+   * generated in parallel chunks, each by a sequence created with
+   * {@link #createAt(long)}; the result is the same as from sequential calls.
+   *
+   * @param aDest
+   *        the array to fill
+   * @param nOffset
+   *        the index of the first coordinate of the first point
+   * @param nPoints
+   *        the number of points
+   */
+  public final void fill (@NonNull final double [] aDest, final int nOffset, final int nPoints)
+  {
+    if (nPoints < 0)
+      throw new IllegalArgumentException ("The number of points must not be negative: " + nPoints);
+    final long nValues = (long) nPoints * m_nDimension;
+    if (nValues > Integer.MAX_VALUE)
+      throw new IllegalArgumentException ("Too many points: " + nPoints);
+    Objects.checkFromIndexSize (nOffset, (int) nValues, aDest.length);
+
+    final long nStart = m_nIndex;
+    if (nPoints <= CHUNK_POINTS)
+    {
+      for (int i = 0; i < nPoints; ++i)
+        generate (nStart + i, aDest, nOffset + i * m_nDimension);
+      m_nIndex += nPoints;
+      return;
+    }
+
+    final int nChunks = (nPoints + CHUNK_POINTS - 1) / CHUNK_POINTS;
+    IntStream.range (0, nChunks).parallel ().forEach (c -> {
+      final int nFirst = c * CHUNK_POINTS;
+      final int nLast = Math.min (nPoints, nFirst + CHUNK_POINTS);
+      final AbstractQuasiRandomSequence aChunk = createAt (nStart + nFirst);
+      for (int i = nFirst; i < nLast; ++i)
+        aChunk.generate (nStart + i, aDest, nOffset + i * m_nDimension);
+    });
+    skipTo (nStart + nPoints);
+  }
+}
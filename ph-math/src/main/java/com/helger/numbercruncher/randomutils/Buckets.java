@@ -19,7 +19,8 @@ package com.helger.numbercruncher.randomutils;
 import com.helger.numbercruncher.mathutils.SystemOutAlignRight;
 
 /**
- * Counters of random values that fall within each interval.
+ * Counters of random values that fall within each interval. Not thread-safe;
+ * for concurrent counting with long counters see {@link ConcurrentHistogram}.
  */
 public class Buckets
 {
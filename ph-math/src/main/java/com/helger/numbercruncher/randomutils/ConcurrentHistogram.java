@@ -0,0 +1,438 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.annotation.style.ReturnsMutableCopy;
+
+/**
+ * A histogram that many threads can fill at the same time. Each bin is a
+ * {@link LongAdder}, which stripes its count over several cells under
+ * contention, so concurrent {@link #add(double)} calls do not serialise. Values
+ * below the minimum or above the maximum are counted in an underflow and an
+ * overflow bin, NaN values separately. The bins are either of equal width or
+ * of equal width on a logarithmic scale.<br>
+ * Queries work on a {@link Snapshot}, an immutable copy of the counts.
+ * Histograms with the same layout can be merged, e.g. after each thread filled
+ * its own.
+ */
+public final class ConcurrentHistogram
+{
+  /** the lower limit */
+  private final double m_dMin;
+  /** the upper limit */
+  private final double m_dMax;
+  /** number of regular bins */
+  private final int m_nBins;
+  /** true for a logarithmic layout */
+  private final boolean m_bLogarithmic;
+  /** start of the scale: min or ln(min) */
+  private final double m_dScaleStart;
+  /** bins per scale unit */
+  private final double m_dBinsPerUnit;
+
+  /** bin 0 is the underflow, bins 1..n the regular bins, bin n+1 the overflow */
+  private final LongAdder [] m_aCounters;
+  /** count of NaN values */
+  private final LongAdder m_aNaNCount = new LongAdder ();
+
+  private ConcurrentHistogram (final double dMin, final double dMax, final int nBins, final boolean bLogarithmic)
+  {
+    if (nBins < 1)
+      throw new IllegalArgumentException ("At least one bin is needed: " + nBins);
+    if (!(dMin < dMax) || Double.isInfinite (dMin) || Double.isInfinite (dMax))
+      throw new IllegalArgumentException ("Invalid range: " + dMin + " - " + dMax);
+    if (bLogarithmic && !(dMin > 0))
+      throw new IllegalArgumentException ("A logarithmic layout needs a positive minimum: " + dMin);
+
+    m_dMin = dMin;
+    m_dMax = dMax;
+    m_nBins = nBins;
+    m_bLogarithmic = bLogarithmic;
+    m_dScaleStart = bLogarithmic ? Math.log (dMin) : dMin;
+    m_dBinsPerUnit = nBins / ((bLogarithmic ? Math.log (dMax) : dMax) - m_dScaleStart);
+
+    m_aCounters = new LongAdder [nBins + 2];
+    for (int i = 0; i < m_aCounters.length; ++i)
+      m_aCounters[i] = new LongAdder ();
+  }
+
+  /**
+   * Create a histogram with bins of equal width.
+   *
+   * @param min
+   *        the lower limit of the first bin
+   * @param max
+   *        the upper limit of the last bin, &gt; min
+   * @param bins
+   *        the number of bins, &ge; 1
+   * @return a new histogram
+   */
+  @NonNull
+  public static ConcurrentHistogram createLinear (final double min, final double max, final int bins)
+  {
+    return new ConcurrentHistogram (min, max, bins, false);
+  }
+
+  /**
+   * Create a histogram with bins whose limits grow by a constant factor, for
+   * values that span several orders of magnitude.
+   *
+   * @param min
+   *        the lower limit of the first bin, &gt; 0
+   * @param max
+   *        the upper limit of the last bin, &gt; min
+   * @param bins
+   *        the number of bins, &ge; 1
+   * @return a new histogram
+   */
+  @NonNull
+  public static ConcurrentHistogram createLogarithmic (final double min, final double max, final int bins)
+  {
+    return new ConcurrentHistogram (min, max, bins, true);
+  }
+
+  /**
+   * Create an empty histogram with the same layout.
+   *
+   * @return a new histogram
+   */
+  @NonNull
+  public ConcurrentHistogram createEmptyCopy ()
+  {
+    return new ConcurrentHistogram (m_dMin, m_dMax, m_nBins, m_bLogarithmic);
+  }
+
+  /**
+   * @return the number of regular bins
+   */
+  public int getBinCount ()
+  {
+    return m_nBins;
+  }
+
+  /**
+   * @return true if the bins have a logarithmic layout
+   */
+  public boolean isLogarithmic ()
+  {
+    return m_bLogarithmic;
+  }
+
+  /**
+   * Get the index of the counter for a value.
+   */
+  private int _index (final double x)
+  {
+    if (x < m_dMin)
+      return 0;
+    if (x > m_dMax)
+      return m_nBins + 1;
+
+    // The maximum itself belongs to the last bin.
+    final int i = (int) (((m_bLogarithmic ? Math.log (x) : x) - m_dScaleStart) * m_dBinsPerUnit);
+    return Math.min (i, m_nBins - 1) + 1;
+  }
+
+  /**
+   * Count a value. Thread-safe.
+   *
+   * @param x
+   *        the value
+   */
+  public void add (final double x)
+  {
+    if (Double.isNaN (x))
+      m_aNaNCount.increment ();
+    else
+      m_aCounters[_index (x)].increment ();
+  }
+
+  /**
+   * Count a part of an array of values. Thread-safe.
+   *
+   * @param values
+   *        the values
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  public void addAll (@NonNull final double [] values, final int off, final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      add (values[i]);
+  }
+
+  /**
+   * Count a part of an array of values. Thread-safe.
+   *
+   * @param values
+   *        the values
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  public void addAll (@NonNull final float [] values, final int off, final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      add (values[i]);
+  }
+
+  /**
+   * Add the counts of another histogram with the same layout. Thread-safe, but
+   * values the other histogram counts at the same time may be missed.
+   *
+   * @param aOther
+   *        the histogram to merge into this one
+   */
+  public void merge (@NonNull final ConcurrentHistogram aOther)
+  {
+    if (aOther.m_dMin != m_dMin ||
+        aOther.m_dMax != m_dMax ||
+        aOther.m_nBins != m_nBins ||
+        aOther.m_bLogarithmic != m_bLogarithmic)
+      throw new IllegalArgumentException ("The histograms have different layouts");
+
+    for (int i = 0; i < m_aCounters.length; ++i)
+      m_aCounters[i].add (aOther.m_aCounters[i].sum ());
+    m_aNaNCount.add (aOther.m_aNaNCount.sum ());
+  }
+
+  /**
+   * Clear all counters. Values counted at the same time may or may not be
+   * kept.
+   */
+  public void reset ()
+  {
+    for (final LongAdder aCounter : m_aCounters)
+      aCounter.reset ();
+    m_aNaNCount.reset ();
+  }
+
+  /**
+   * Take a snapshot of the counters. Values counted while the snapshot is
+   * taken may or may not be contained.
+   *
+   * @return a new snapshot
+   */
+  @NonNull
+  public Snapshot snapshot ()
+  {
+    final long [] aCounts = new long [m_aCounters.length];
+    for (int i = 0; i < aCounts.length; ++i)
+      aCounts[i] = m_aCounters[i].sum ();
+    return new Snapshot (this, aCounts, m_aNaNCount.sum ());
+  }
+
+  /**
+   * Get a quantile of the counted values, see
+   * {@link Snapshot#getQuantile(double)}.
+   *
+   * @param q
+   *        the quantile in [0, 1], e.g. 0.99 for the 99th percentile
+   * @return the estimated value
+   */
+  public double getQuantile (final double q)
+  {
+    return snapshot ().getQuantile (q);
+  }
+
+  /**
+   * An immutable copy of the counters of a histogram.
+   */
+  public static final class Snapshot
+  {
+    private final ConcurrentHistogram m_aHistogram;
+    private final long [] m_aCounts;
+    private final long m_nNaNCount;
+    private final long m_nTotal;
+
+    Snapshot (@NonNull final ConcurrentHistogram aHistogram, @NonNull final long [] aCounts, final long nNaNCount)
+    {
+      m_aHistogram = aHistogram;
+      m_aCounts = aCounts;
+      m_nNaNCount = nNaNCount;
+      long total = 0;
+      for (final long c : aCounts)
+        total += c;
+      m_nTotal = total;
+    }
+
+    /**
+     * @return the number of regular bins
+     */
+    public int getBinCount ()
+    {
+      return m_aHistogram.m_nBins;
+    }
+
+    /**
+     * Get the count of a regular bin.
+     *
+     * @param i
+     *        the bin index in [0, bins)
+     * @return the count
+     */
+    public long getCount (final int i)
+    {
+      if (i < 0 || i >= getBinCount ())
+        throw new IndexOutOfBoundsException ("Invalid bin " + i);
+      return m_aCounts[i + 1];
+    }
+
+    /**
+     * @return the counts of all regular bins
+     */
+    @NonNull
+    @ReturnsMutableCopy
+    public long [] getCounts ()
+    {
+      return Arrays.copyOfRange (m_aCounts, 1, m_aCounts.length - 1);
+    }
+
+    /**
+     * @return the number of values below the minimum
+     */
+    public long getUnderflowCount ()
+    {
+      return m_aCounts[0];
+    }
+
+    /**
+     * @return the number of values above the maximum
+     */
+    public long getOverflowCount ()
+    {
+      return m_aCounts[m_aCounts.length - 1];
+    }
+
+    /**
+     * @return the number of NaN values
+     */
+    public long getNaNCount ()
+    {
+      return m_nNaNCount;
+    }
+
+    /**
+     * @return the number of all values except NaN
+     */
+    public long getTotalCount ()
+    {
+      return m_nTotal;
+    }
+
+    /**
+     * Get the lower limit of a bin.
+     *
+     * @param i
+     *        the bin index in [0, bins], where bins is the upper limit of the
+     *        last bin
+     * @return the lower limit
+     */
+    public double getLowerBound (final int i)
+    {
+      final ConcurrentHistogram h = m_aHistogram;
+      if (i == 0)
+        return h.m_dMin;
+      if (i == h.m_nBins)
+        return h.m_dMax;
+      final double x = h.m_dScaleStart + i / h.m_dBinsPerUnit;
+      return h.m_bLogarithmic ? Math.exp (x) : x;
+    }
+
+    /**
+     * Estimate a quantile, interpolating within the bin that contains it.
+     * Quantiles within the underflow or overflow are reported as the minimum
+     * or maximum.
+     *
+     * @param q
+     *        the quantile in [0, 1], e.g. 0.99 for the 99th percentile
+     * @return the estimated value, NaN if no value was counted
+     */
+    public double getQuantile (final double q)
+    {
+      if (!(q >= 0 && q <= 1))
+        throw new IllegalArgumentException ("The quantile must be in [0, 1]: " + q);
+      if (m_nTotal == 0)
+        return Double.NaN;
+
+      final double rank = q * m_nTotal;
+      double cumulative = m_aCounts[0];
+      if (rank < cumulative)
+        return m_aHistogram.m_dMin;
+
+      for (int i = 0; i < getBinCount (); ++i)
+      {
+        final long c = m_aCounts[i + 1];
+        if (c > 0 && rank <= cumulative + c)
+        {
+          final double fraction = (rank - cumulative) / c;
+          final double lower = getLowerBound (i);
+          final double upper = getLowerBound (i + 1);
+          return m_aHistogram.m_bLogarithmic ? lower * Math.pow (upper / lower, fraction)
+                                             : lower + fraction * (upper - lower);
+        }
+        cumulative += c;
+      }
+      return m_aHistogram.m_dMax;
+    }
+
+    /**
+     * Print the counts as a horizontal bar chart. The chart is scaled so that
+     * the longest bar has the given length.
+     *
+     * @param aPS
+     *        the stream to print to
+     * @param maxBarSize
+     *        the length of the longest bar
+     */
+    public void print (@NonNull final PrintStream aPS, final int maxBarSize)
+    {
+      long maxCount = 1;
+      for (final long c : m_aCounts)
+        maxCount = Math.max (maxCount, c);
+      final double factor = (double) maxBarSize / maxCount;
+
+      final StringBuilder aSB = new StringBuilder ();
+      for (int i = 0; i < m_aCounts.length; ++i)
+      {
+        final String sLabel;
+        if (i == 0)
+          sLabel = "< " + getLowerBound (0);
+        else
+          if (i == m_aCounts.length - 1)
+            sLabel = "> " + getLowerBound (getBinCount ());
+          else
+            sLabel = Double.toString (getLowerBound (i - 1));
+        aSB.append (String.format ("%24s %12d: ", sLabel, Long.valueOf (m_aCounts[i])));
+        final long length = Math.round (factor * m_aCounts[i]);
+        for (long j = 0; j < length; ++j)
+          aSB.append ('*');
+        aSB.append ('\n');
+      }
+      aPS.print (aSB);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+/**
+ * Logarithms of factorials for the acceptance tests of the discrete samplers.
+ */
+final class Factorials
+{
+  /** size of the table of exact values */
+  private static final int TABLE_SIZE = 256;
+  /** ln(k!) for k &lt; TABLE_SIZE */
+  private static final double [] LOG_FACTORIAL = new double [TABLE_SIZE];
+  /** ln(2 pi) / 2 */
+  private static final double HALF_LOG_2PI = 0.5 * Math.log (2 * Math.PI);
+
+  static
+  {
+    for (int k = 1; k < TABLE_SIZE; ++k)
+      LOG_FACTORIAL[k] = LOG_FACTORIAL[k - 1] + Math.log (k);
+  }
+
+  private Factorials ()
+  {}
+
+  /**
+   * Compute ln(k!).
+   *
+   * @param k
+   *        the value of k, &ge; 0
+   * @return ln(k!)
+   */
+  static double logFactorial (final long k)
+  {
+    if (k < TABLE_SIZE)
+      return LOG_FACTORIAL[(int) k];
+
+    // Stirling series, accurate to double precision for k >= 256
+    final double x = k;
+    final double inv = 1 / x;
+    final double inv2 = inv * inv;
+    return (x + 0.5) * Math.log (x) - x + HALF_LOG_2PI + inv * (1.0 / 12 - inv2 * (1.0 / 360 - inv2 / 1260));
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.SmallPrimeTable;
+
+/**
+ * The Halton low-discrepancy sequence: coordinate d of the point with index n
+ * is the radical inverse of n in the base of the d-th prime, the digits of n
+ * mirrored at the radix point. Every point is computed directly from its
+ * index, so {@link #skipTo(long)} costs nothing.<br>
+ * With large bases the first points of a coordinate increase monotonically
+ * and neighbouring coordinates are strongly correlated, so above about ten
+ * dimensions {@link SobolSequence} is usually the better choice.
+ */
+public final class HaltonSequence extends AbstractQuasiRandomSequence
+{
+  /** the maximum number of dimensions */
+  public static final int MAX_DIMENSION = 1000;
+
+  /** the first MAX_DIMENSION primes: 7919 is the 1000th prime */
+  private static final int [] PRIMES = SmallPrimeTable.primesUpTo (7919);
+
+  /**
+   * Constructor, positioned at the first point, which is the origin.
+   *
+   * @param nDimension
+   *        the number of coordinates of a point, 1 to {@link #MAX_DIMENSION}
+   */
+  public HaltonSequence (final int nDimension)
+  {
+    super (nDimension);
+    if (nDimension > MAX_DIMENSION)
+      throw new IllegalArgumentException ("At most " + MAX_DIMENSION + " dimensions are supported: " + nDimension);
+  }
+
+  /**
+   * Compute the radical inverse of a number.
+   *
+   * @param n
+   *        the number, &ge; 0
+   * @param nBase
+   *        the base, &ge; 2
+   * @return the digits of n in the base, mirrored at the radix point
+   */
+  static double radicalInverse (final long n, final int nBase)
+  {
+    final double dInverse = 1.0 / nBase;
+    double dFactor = dInverse;
+    double ret = 0;
+    for (long m = n; m != 0; m /= nBase)
+    {
+      ret += (m % nBase) * dFactor;
+      dFactor *= dInverse;
+    }
+    return ret;
+  }
+
+  @Override
+  protected void seek (final long nIndex)
+  {
+    // Nothing to do: every point is computed from its index.
+  }
+
+  @Override
+  protected void generate (final long nIndex, @NonNull final double [] aDest, final int nOffset)
+  {
+    final int nDimension = getDimension ();
+    for (int d = 0; d < nDimension; ++d)
+      aDest[nOffset + d] = radicalInverse (nIndex, PRIMES[d]);
+  }
+
+  @Override
+  @NonNull
+  public HaltonSequence createAt (final long nIndex)
+  {
+    final HaltonSequence ret = new HaltonSequence (getDimension ());
+    ret.skipTo (nIndex);
+    return ret;
+  }
+}
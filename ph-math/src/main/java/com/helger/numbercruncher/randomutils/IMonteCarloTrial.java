@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A single trial of a Monte-Carlo simulation. The estimate is the mean of the
+ * trial values. Implementations must be thread-safe, which usually means
+ * without mutable state.
+ */
+@FunctionalInterface
+public interface IMonteCarloTrial
+{
+  /**
+   * Run one trial.
+   *
+   * @param aGenerator
+   *        the generator to draw random values from, exclusive to the calling
+   *        thread
+   * @return the value of the trial
+   */
+  double run (@NonNull RandomGenerator aGenerator);
+}
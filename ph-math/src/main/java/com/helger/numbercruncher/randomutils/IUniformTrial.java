@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * A trial of a Monte-Carlo simulation as a function of uniformly-distributed
+ * values, which allows antithetic sampling with u and 1-u. Implementations
+ * must be thread-safe, which usually means without mutable state.
+ */
+@FunctionalInterface
+public interface IUniformTrial
+{
+  /**
+   * Evaluate the trial.
+   *
+   * @param u
+   *        the uniformly-distributed values in [0, 1], one per dimension. Must
+   *        not be modified or kept.
+   * @return the value of the trial
+   */
+  double evaluate (@NonNull double [] u);
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.IMultivariateEvaluatable;
+
+/**
+ * Integrate a function of several variables over a hyper-rectangle with
+ * random points, run in parallel by a {@link MonteCarloRunner}. The error
+ * shrinks with 1/sqrt(N) regardless of the dimension, and the result reports
+ * it as the standard error. The integrand is evaluated a chunk of points at a
+ * time and must be thread-safe.
+ */
+public final class MonteCarloIntegrator
+{
+  /** the number of points evaluated at once */
+  private static final int CHUNK_POINTS = 1 << 8;
+
+  /** the function to integrate */
+  private final IMultivariateEvaluatable m_aIntegrand;
+  /** the runner of the trials */
+  private final MonteCarloRunner m_aRunner;
+
+  /**
+   * Constructor with a runner on the common fork/join pool.
+   *
+   * @param aIntegrand
+   *        the thread-safe function to integrate
+   * @param nSeed
+   *        the seed of the random points
+   */
+  public MonteCarloIntegrator (@NonNull final IMultivariateEvaluatable aIntegrand, final long nSeed)
+  {
+    this (aIntegrand, new MonteCarloRunner (nSeed));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param aIntegrand
+   *        the thread-safe function to integrate
+   * @param aRunner
+   *        the runner of the trials
+   */
+  public MonteCarloIntegrator (@NonNull final IMultivariateEvaluatable aIntegrand,
+                               @NonNull final MonteCarloRunner aRunner)
+  {
+    m_aIntegrand = aIntegrand;
+    m_aRunner = aRunner;
+  }
+
+  /**
+   * Check the limits and return the volume of the hyper-rectangle.
+   */
+  static double getVolume (@NonNull final double [] aLower, @NonNull final double [] aUpper)
+  {
+    if (aLower.length == 0 || aLower.length != aUpper.length)
+      throw new IllegalArgumentException ("The limits must have the same positive number of coordinates");
+    double ret = 1;
+    for (int i = 0; i < aLower.length; ++i)
+    {
+      if (!(aUpper[i] > aLower[i]))
+        throw new IllegalArgumentException ("Upper limit " + i + " is not above the lower limit");
+      ret *= aUpper[i] - aLower[i];
+    }
+    return ret;
+  }
+
+  /**
+   * Integrate with independent random points.
+   *
+   * @param aLower
+   *        the lower limits, one per variable
+   * @param aUpper
+   *        the upper limits, one per variable, each above its lower limit
+   * @param nPoints
+   *        the number of points, &ge; 1
+   * @return the integral with its standard error
+   */
+  @NonNull
+  public MonteCarloResult integrate (@NonNull final double [] aLower,
+                                     @NonNull final double [] aUpper,
+                                     final long nPoints)
+  {
+    final double dVolume = getVolume (aLower, aUpper);
+    final int nDim = aLower.length;
+    final ThreadLocal <double []> aBuffer = ThreadLocal.withInitial ( () -> new double [CHUNK_POINTS * nDim]);
+    return m_aRunner.runChunked ( (aGenerator, aValues, n) -> {
+      final double [] aPoints = aBuffer.get ();
+      for (int p = 0; p < n; ++p)
+        for (int i = 0; i < nDim; ++i)
+          aPoints[p * nDim + i] = aLower[i] + (aUpper[i] - aLower[i]) * aGenerator.nextDouble ();
+      m_aIntegrand.at (aPoints, nDim, aValues, n);
+      for (int p = 0; p < n; ++p)
+        aValues[p] *= dVolume;
+    }, CHUNK_POINTS, nPoints);
+  }
+
+  /**
+   * Integrate with antithetic pairs of random points, x and its mirror image
+   * through the center. This reduces the error if the integrand is monotone in
+   * each variable.
+   *
+   * @param aLower
+   *        the lower limits, one per variable
+   * @param aUpper
+   *        the upper limits, one per variable, each above its lower limit
+   * @param nPairs
+   *        the number of pairs, &ge; 1. The function is evaluated twice as
+   *        often.
+   * @return the integral with its standard error
+   */
+  @NonNull
+  public MonteCarloResult integrateAntithetic (@NonNull final double [] aLower,
+                                               @NonNull final double [] aUpper,
+                                               final long nPairs)
+  {
+    final double dVolume = getVolume (aLower, aUpper);
+    final int nDim = aLower.length;
+    // A chunk holds the points of both halves of its pairs, interleaved
+    final ThreadLocal <double []> aPointBuffer = ThreadLocal.withInitial ( () -> new double [2 * CHUNK_POINTS * nDim]);
+    final ThreadLocal <double []> aValueBuffer = ThreadLocal.withInitial ( () -> new double [2 * CHUNK_POINTS]);
+    return m_aRunner.runChunked ( (aGenerator, aValues, n) -> {
+      final double [] aPoints = aPointBuffer.get ();
+      final double [] aPairValues = aValueBuffer.get ();
+      for (int p = 0; p < n; ++p)
+      {
+        final int nOfs = 2 * p * nDim;
+        for (int i = 0; i < nDim; ++i)
+        {
+          final double u = aGenerator.nextDouble ();
+          aPoints[nOfs + i] = aLower[i] + (aUpper[i] - aLower[i]) * u;
+          aPoints[nOfs + nDim + i] = aLower[i] + (aUpper[i] - aLower[i]) * (1 - u);
+        }
+      }
+      m_aIntegrand.at (aPoints, nDim, aPairValues, 2 * n);
+      for (int p = 0; p < n; ++p)
+        aValues[p] = dVolume * 0.5 * (aPairValues[2 * p] + aPairValues[2 * p + 1]);
+    }, CHUNK_POINTS, nPairs);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+/**
+ * The immutable result of a {@link MonteCarloRunner}, either final or running
+ * while the simulation is in progress.
+ */
+public final class MonteCarloResult
+{
+  private final long m_nTrials;
+  private final double m_dEstimate;
+  private final double m_dVariance;
+  private final long m_nElapsedNanos;
+
+  /**
+   * Constructor.
+   *
+   * @param nTrials
+   *        the number of completed trials
+   * @param dEstimate
+   *        the estimate
+   * @param dVariance
+   *        the sample variance of a single trial
+   * @param nElapsedNanos
+   *        the elapsed time in nanoseconds
+   */
+  public MonteCarloResult (final long nTrials, final double dEstimate, final double dVariance, final long nElapsedNanos)
+  {
+    m_nTrials = nTrials;
+    m_dEstimate = dEstimate;
+    m_dVariance = dVariance;
+    m_nElapsedNanos = nElapsedNanos;
+  }
+
+  /**
+   * @return the number of completed trials. An antithetic trial counts once
+   *         although the function is evaluated twice.
+   */
+  public long getTrials ()
+  {
+    return m_nTrials;
+  }
+
+  /**
+   * @return the estimate, NaN if there are no trials
+   */
+  public double getEstimate ()
+  {
+    return m_dEstimate;
+  }
+
+  /**
+   * @return the sample variance of a single trial, NaN if there are fewer than
+   *         two trials
+   */
+  public double getVariance ()
+  {
+    return m_dVariance;
+  }
+
+  /**
+   * @return the standard error of the estimate, NaN if there are fewer than two
+   *         trials
+   */
+  public double getStandardError ()
+  {
+    return Math.sqrt (m_dVariance / m_nTrials);
+  }
+
+  /**
+   * @return the elapsed time in nanoseconds
+   */
+  public long getElapsedNanos ()
+  {
+    return m_nElapsedNanos;
+  }
+
+  /**
+   * @return the throughput in trials per second
+   */
+  public double getThroughput ()
+  {
+    return m_nElapsedNanos == 0 ? Double.NaN : m_nTrials * 1e9 / m_nElapsedNanos;
+  }
+
+  @Override
+  public String toString ()
+  {
+    return m_dEstimate +
+           " +/- " +
+           getStandardError () +
+           " (" +
+           m_nTrials +
+           " trials, " +
+           Math.round (getThroughput ()) +
+           " trials/s)";
+  }
+}
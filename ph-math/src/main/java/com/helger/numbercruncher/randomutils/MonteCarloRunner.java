@@ -0,0 +1,450 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Run the trials of a Monte-Carlo simulation in parallel on a
+ * {@link ForkJoinPool}. The trials are split recursively into batches, and
+ * each batch draws from its own generator split off a seeded
+ * {@link SplittableRandom}. The tree of batches and generators depends only on
+ * the seed, the number of trials and the batch size, so a run is reproducible
+ * regardless of the pool size.<br>
+ * Besides the plain mean of the trial values there are two variance-reducing
+ * estimators: antithetic sampling, which averages f(u) and f(1-u), and control
+ * variates, which correct the mean with a correlated quantity of known mean.
+ * An optional listener receives the running result after every batch.
+ */
+public final class MonteCarloRunner
+{
+  /** the default number of trials of a batch */
+  public static final int DEFAULT_BATCH_SIZE = 1 << 14;
+
+  private final long m_nSeed;
+  private final ForkJoinPool m_aPool;
+  private int m_nBatchSize = DEFAULT_BATCH_SIZE;
+  private Consumer <MonteCarloResult> m_aListener;
+
+  /**
+   * Constructor using the common fork/join pool.
+   *
+   * @param nSeed
+   *        the seed of the generators
+   */
+  public MonteCarloRunner (final long nSeed)
+  {
+    this (nSeed, ForkJoinPool.commonPool ());
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param nSeed
+   *        the seed of the generators
+   * @param aPool
+   *        the pool that runs the trials
+   */
+  public MonteCarloRunner (final long nSeed, @NonNull final ForkJoinPool aPool)
+  {
+    m_nSeed = nSeed;
+    m_aPool = aPool;
+  }
+
+  /**
+   * @return the number of trials of a batch
+   */
+  public int getBatchSize ()
+  {
+    return m_nBatchSize;
+  }
+
+  /**
+   * Set the number of trials of a batch. Smaller batches give more frequent
+   * progress reports and better load balancing at a higher overhead.
+   *
+   * @param nBatchSize
+   *        the number of trials, &ge; 1
+   */
+  public void setBatchSize (final int nBatchSize)
+  {
+    if (nBatchSize < 1)
+      throw new IllegalArgumentException ("The batch size must be positive: " + nBatchSize);
+    m_nBatchSize = nBatchSize;
+  }
+
+  /**
+   * Set the listener that receives the running result after every batch. The
+   * calls are serialized but may come from any thread of the pool.
+   *
+   * @param aListener
+   *        the listener, or null for none
+   */
+  public void setProgressListener (@Nullable final Consumer <MonteCarloResult> aListener)
+  {
+    m_aListener = aListener;
+  }
+
+  /**
+   * Estimate the mean of the trial values.
+   *
+   * @param aTrial
+   *        the trial
+   * @param nTrials
+   *        the number of trials, &ge; 1
+   * @return the result
+   */
+  @NonNull
+  public MonteCarloResult run (@NonNull final IMonteCarloTrial aTrial, final long nTrials)
+  {
+    return _run (new Kernel ()
+    {
+      @Override
+      void runBatch (final RandomGenerator aGenerator, final long nCount, final Accumulator aAcc)
+      {
+        for (long i = 0; i < nCount; ++i)
+          aAcc.add (aTrial.run (aGenerator));
+      }
+    }, nTrials, Double.NaN);
+  }
+
+  /**
+   * Estimate the mean of a function of uniform values with antithetic
+   * sampling: each trial evaluates the function at u and at 1-u and takes the
+   * average. This reduces the variance if the function is monotone in each
+   * value.
+   *
+   * @param aTrial
+   *        the trial
+   * @param nDimension
+   *        the number of uniform values per evaluation, &ge; 1
+   * @param nTrials
+   *        the number of trials, &ge; 1. The function is evaluated twice as
+   *        often.
+   * @return the result
+   */
+  @NonNull
+  public MonteCarloResult runAntithetic (@NonNull final IUniformTrial aTrial, final int nDimension, final long nTrials)
+  {
+    if (nDimension < 1)
+      throw new IllegalArgumentException ("The dimension must be positive: " + nDimension);
+
+    return _run (new Kernel ()
+    {
+      @Override
+      void runBatch (final RandomGenerator aGenerator, final long nCount, final Accumulator aAcc)
+      {
+        final double [] u = new double [nDimension];
+        final double [] v = new double [nDimension];
+        for (long i = 0; i < nCount; ++i)
+        {
+          for (int j = 0; j < nDimension; ++j)
+          {
+            u[j] = aGenerator.nextDouble ();
+            v[j] = 1 - u[j];
+          }
+          aAcc.add (0.5 * (aTrial.evaluate (u) + aTrial.evaluate (v)));
+        }
+      }
+    }, nTrials, Double.NaN);
+  }
+
+  /**
+   * Estimate the mean of the trial values with a control variate. The
+   * estimate is mean(y) - beta * (mean(c) - E[c]) with the coefficient beta =
+   * cov(y, c) / var(c) that minimizes the variance, estimated from the trials.
+   *
+   * @param aTrial
+   *        the trial
+   * @param dControlMean
+   *        the exact mean E[c] of the control variate
+   * @param nTrials
+   *        the number of trials, &ge; 1
+   * @return the result
+   */
+  @NonNull
+  public MonteCarloResult runControlVariate (@NonNull final IControlVariateTrial aTrial,
+                                             final double dControlMean,
+                                             final long nTrials)
+  {
+    if (!Double.isFinite (dControlMean))
+      throw new IllegalArgumentException ("The control mean must be finite: " + dControlMean);
+
+    return _run (new Kernel ()
+    {
+      @Override
+      void runBatch (final RandomGenerator aGenerator, final long nCount, final Accumulator aAcc)
+      {
+        final double [] aResult = new double [2];
+        for (long i = 0; i < nCount; ++i)
+        {
+          aTrial.run (aGenerator, aResult);
+          aAcc.add (aResult[0], aResult[1]);
+        }
+      }
+    }, nTrials, dControlMean);
+  }
+
+  /**
+   * Computes the values of many trials at once.
+   */
+  @FunctionalInterface
+  interface IChunkTrial
+  {
+    /**
+     * Run trials.
+     *
+     * @param aGenerator
+     *        the generator to draw from
+     * @param aValues
+     *        receives the trial values
+     * @param nCount
+     *        the number of trials, at most the length of aValues
+     */
+    void run (@NonNull RandomGenerator aGenerator, @NonNull double [] aValues, int nCount);
+  }
+
+  /**
+   * Estimate the mean of the trial values, running the trials a chunk at a
+   * time. This lets the trials evaluate a function at many points at once.
+   *
+   * @param aTrial
+   *        the trial of a chunk
+   * @param nChunkSize
+   *        the maximum number of trials of a chunk, &ge; 1
+   * @param nTrials
+   *        the number of trials, &ge; 1
+   * @return the result
+   */
+  @NonNull
+  MonteCarloResult runChunked (@NonNull final IChunkTrial aTrial, final int nChunkSize, final long nTrials)
+  {
+    if (nChunkSize < 1)
+      throw new IllegalArgumentException ("The chunk size must be positive: " + nChunkSize);
+
+    return _run (new Kernel ()
+    {
+      @Override
+      void runBatch (final RandomGenerator aGenerator, final long nCount, final Accumulator aAcc)
+      {
+        final double [] aValues = new double [(int) Math.min (nChunkSize, nCount)];
+        for (long nDone = 0; nDone < nCount;)
+        {
+          final int n = (int) Math.min (aValues.length, nCount - nDone);
+          aTrial.run (aGenerator, aValues, n);
+          for (int i = 0; i < n; ++i)
+            aAcc.add (aValues[i]);
+          nDone += n;
+        }
+      }
+    }, nTrials, Double.NaN);
+  }
+
+  @NonNull
+  private MonteCarloResult _run (@NonNull final Kernel aKernel, final long nTrials, final double dControlMean)
+  {
+    if (nTrials < 1)
+      throw new IllegalArgumentException ("The number of trials must be positive: " + nTrials);
+
+    final long nStart = System.nanoTime ();
+    final Progress aProgress = m_aListener == null ? null
+                                                   : new Progress (m_aListener, nStart, dControlMean);
+    final BatchTask aTask = new BatchTask (aKernel,
+                                           new SplittableRandom (m_nSeed),
+                                           nTrials,
+                                           m_nBatchSize,
+                                           aProgress);
+    final Accumulator aAcc = m_aPool.invoke (aTask);
+    return aAcc.getResult (dControlMean, System.nanoTime () - nStart);
+  }
+
+  /**
+   * Runs the trials of one batch.
+   */
+  private abstract static class Kernel
+  {
+    abstract void runBatch (RandomGenerator aGenerator, long nCount, Accumulator aAcc);
+  }
+
+  /**
+   * Running mean, variance and covariance of the trial values y and control
+   * values c after Welford, merged with the pairwise formulas of Chan et al.
+   */
+  private static final class Accumulator
+  {
+    private long m_nCount;
+    private double m_dMeanY;
+    private double m_dM2Y;
+    private double m_dMeanC;
+    private double m_dM2C;
+    private double m_dCoYC;
+
+    void add (final double y)
+    {
+      final long n = ++m_nCount;
+      final double dy = y - m_dMeanY;
+      m_dMeanY += dy / n;
+      m_dM2Y += dy * (y - m_dMeanY);
+    }
+
+    void add (final double y, final double c)
+    {
+      final long n = ++m_nCount;
+      final double dy = y - m_dMeanY;
+      final double dc = c - m_dMeanC;
+      m_dMeanY += dy / n;
+      m_dMeanC += dc / n;
+      m_dM2Y += dy * (y - m_dMeanY);
+      m_dM2C += dc * (c - m_dMeanC);
+      m_dCoYC += dy * (c - m_dMeanC);
+    }
+
+    void merge (final Accumulator o)
+    {
+      if (o.m_nCount == 0)
+        return;
+      if (m_nCount == 0)
+      {
+        m_nCount = o.m_nCount;
+        m_dMeanY = o.m_dMeanY;
+        m_dM2Y = o.m_dM2Y;
+        m_dMeanC = o.m_dMeanC;
+        m_dM2C = o.m_dM2C;
+        m_dCoYC = o.m_dCoYC;
+        return;
+      }
+
+      final double na = m_nCount;
+      final double nb = o.m_nCount;
+      final double n = na + nb;
+      final double dy = o.m_dMeanY - m_dMeanY;
+      final double dc = o.m_dMeanC - m_dMeanC;
+      final double f = na * nb / n;
+      m_nCount += o.m_nCount;
+      m_dMeanY += dy * nb / n;
+      m_dMeanC += dc * nb / n;
+      m_dM2Y += o.m_dM2Y + dy * dy * f;
+      m_dM2C += o.m_dM2C + dc * dc * f;
+      m_dCoYC += o.m_dCoYC + dy * dc * f;
+    }
+
+    @NonNull
+    MonteCarloResult getResult (final double dControlMean, final long nElapsedNanos)
+    {
+      final long n = m_nCount;
+      double dEstimate = n == 0 ? Double.NaN : m_dMeanY;
+      double dM2 = m_dM2Y;
+      if (!Double.isNaN (dControlMean) && m_dM2C > 0)
+      {
+        final double dBeta = m_dCoYC / m_dM2C;
+        dEstimate -= dBeta * (m_dMeanC - dControlMean);
+        // The residual sum of squares can't be negative, but rounding may
+        // make it so
+        dM2 = Math.max (0, dM2 - dBeta * m_dCoYC);
+      }
+      return new MonteCarloResult (n, dEstimate, n < 2 ? Double.NaN : dM2 / (n - 1), nElapsedNanos);
+    }
+  }
+
+  /**
+   * The running result of all completed batches.
+   */
+  private static final class Progress
+  {
+    private final Consumer <MonteCarloResult> m_aListener;
+    private final long m_nStart;
+    private final double m_dControlMean;
+    private final Accumulator m_aAcc = new Accumulator ();
+
+    Progress (final Consumer <MonteCarloResult> aListener, final long nStart, final double dControlMean)
+    {
+      m_aListener = aListener;
+      m_nStart = nStart;
+      m_dControlMean = dControlMean;
+    }
+
+    synchronized void onBatchDone (final Accumulator aBatch)
+    {
+      m_aAcc.merge (aBatch);
+      m_aListener.accept (m_aAcc.getResult (m_dControlMean, System.nanoTime () - m_nStart));
+    }
+  }
+
+  /**
+   * Fork/join task for a range of trials.
+   */
+  private static final class BatchTask extends RecursiveTask <Accumulator>
+  {
+    private final Kernel m_aKernel;
+    private final SplittableGenerator m_aGenerator;
+    private final long m_nTrials;
+    private final int m_nBatchSize;
+    private final Progress m_aProgress;
+
+    BatchTask (final Kernel aKernel,
+               final SplittableGenerator aGenerator,
+               final long nTrials,
+               final int nBatchSize,
+               final Progress aProgress)
+    {
+      m_aKernel = aKernel;
+      m_aGenerator = aGenerator;
+      m_nTrials = nTrials;
+      m_nBatchSize = nBatchSize;
+      m_aProgress = aProgress;
+    }
+
+    @Override
+    protected Accumulator compute ()
+    {
+      if (m_nTrials <= m_nBatchSize)
+      {
+        final Accumulator ret = new Accumulator ();
+        m_aKernel.runBatch (m_aGenerator, m_nTrials, ret);
+        if (m_aProgress != null)
+          m_aProgress.onBatchDone (ret);
+        return ret;
+      }
+
+      // Split off the generator of the left half before forking, so the
+      // generators don't depend on the scheduling.
+      final long nLeft = m_nTrials >>> 1;
+      final BatchTask aLeftTask = new BatchTask (m_aKernel,
+                                                 m_aGenerator.split (),
+                                                 nLeft,
+                                                 m_nBatchSize,
+                                                 m_aProgress);
+      aLeftTask.fork ();
+      final Accumulator ret = new BatchTask (m_aKernel,
+                                             m_aGenerator,
+                                             m_nTrials - nLeft,
+                                             m_nBatchSize,
+                                             m_aProgress).compute ();
+      final Accumulator aLeft = aLeftTask.join ();
+      aLeft.merge (ret);
+      return aLeft;
+    }
+  }
+}
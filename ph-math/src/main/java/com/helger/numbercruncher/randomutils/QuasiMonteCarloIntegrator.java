@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.CompensatedSummation;
+import com.helger.numbercruncher.mathutils.IMultivariateEvaluatable;
+
+/**
+ * Integrate a function of several variables over a hyper-rectangle with the
+ * points of a low-discrepancy sequence, randomized after Cranley and
+ * Patterson: every replication adds its own random shift modulo 1 to all
+ * points. Each replication is an unbiased estimate with the O(1/N) error of
+ * quasi-Monte-Carlo integration, and the spread of the replications gives the
+ * standard error, which plain quasi-Monte-Carlo integration cannot provide.
+ * <br>
+ * The replications and chunks of points are evaluated in parallel with
+ * sequences from {@link AbstractQuasiRandomSequence#createAt(long)}, and the
+ * result does not depend on the number of threads. The integrand must be
+ * thread-safe.
+ */
+public final class QuasiMonteCarloIntegrator
+{
+  /** the default number of randomly shifted replications */
+  public static final int DEFAULT_REPLICATIONS = 16;
+
+  /** points per parallel chunk */
+  private static final int CHUNK_POINTS = 1 << 12;
+
+  /** the function to integrate */
+  private final IMultivariateEvaluatable m_aIntegrand;
+  /** the sequence whose points are shifted, from its current index on */
+  private final AbstractQuasiRandomSequence m_aSequence;
+  /** the number of replications */
+  private final int m_nReplications;
+  /** the seed of the random shifts */
+  private final long m_nSeed;
+
+  /**
+   * Constructor with the default number of replications.
+   *
+   * @param aIntegrand
+   *        the thread-safe function to integrate
+   * @param aSequence
+   *        the sequence with the dimension of the integrand. The points are
+   *        taken from its current index on; the sequence itself is not
+   *        modified.
+   * @param nSeed
+   *        the seed of the random shifts
+   */
+  public QuasiMonteCarloIntegrator (@NonNull final IMultivariateEvaluatable aIntegrand,
+                                    @NonNull final AbstractQuasiRandomSequence aSequence,
+                                    final long nSeed)
+  {
+    this (aIntegrand, aSequence, DEFAULT_REPLICATIONS, nSeed);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param aIntegrand
+   *        the thread-safe function to integrate
+   * @param aSequence
+   *        the sequence with the dimension of the integrand. The points are
+   *        taken from its current index on; the sequence itself is not
+   *        modified.
+   * @param nReplications
+   *        the number of randomly shifted replications, &ge; 2
+   * @param nSeed
+   *        the seed of the random shifts
+   */
+  public QuasiMonteCarloIntegrator (@NonNull final IMultivariateEvaluatable aIntegrand,
+                                    @NonNull final AbstractQuasiRandomSequence aSequence,
+                                    final int nReplications,
+                                    final long nSeed)
+  {
+    if (nReplications < 2)
+      throw new IllegalArgumentException ("At least 2 replications are needed: " + nReplications);
+    m_aIntegrand = aIntegrand;
+    m_aSequence = aSequence;
+    m_nReplications = nReplications;
+    m_nSeed = nSeed;
+  }
+
+  /**
+   * @return the number of randomly shifted replications
+   */
+  public int getReplications ()
+  {
+    return m_nReplications;
+  }
+
+  /**
+   * Integrate the function. The number of trials of the result is the total
+   * number of points, and its variance is the variance of the replications
+   * times the points per replication, so that the standard error is the
+   * standard error of the mean of the replications.
+   *
+   * @param aLower
+   *        the lower limits, one per variable
+   * @param aUpper
+   *        the upper limits, one per variable, each above its lower limit
+   * @param nPoints
+   *        the number of points per replication, &ge; 1. Powers of two suit
+   *        a {@link SobolSequence} best.
+   * @return the integral with its standard error
+   */
+  @NonNull
+  public MonteCarloResult integrate (@NonNull final double [] aLower,
+                                     @NonNull final double [] aUpper,
+                                     final int nPoints)
+  {
+    final double dVolume = MonteCarloIntegrator.getVolume (aLower, aUpper);
+    final int nDim = m_aSequence.getDimension ();
+    if (aLower.length != nDim)
+      throw new IllegalArgumentException ("The limits must have " + nDim + " coordinates");
+    if (nPoints < 1)
+      throw new IllegalArgumentException ("The number of points must be positive: " + nPoints);
+
+    final long nStart = System.nanoTime ();
+    final SplittableRandom aRandom = new SplittableRandom (m_nSeed);
+    final double [] [] aShifts = new double [m_nReplications] [nDim];
+    for (final double [] aShift : aShifts)
+      for (int i = 0; i < nDim; ++i)
+        aShift[i] = aRandom.nextDouble ();
+
+    final long nFirstIndex = m_aSequence.getIndex ();
+    final int nChunks = (nPoints + CHUNK_POINTS - 1) / CHUNK_POINTS;
+    final CompensatedSummation [] aPartialSums = IntStream.range (0, m_nReplications * nChunks)
+                                                          .parallel ()
+                                                          .mapToObj (t -> _sumChunk (aLower,
+                                                                                     aUpper,
+                                                                                     aShifts[t / nChunks],
+                                                                                     nFirstIndex,
+                                                                                     t % nChunks,
+                                                                                     nPoints))
+                                                          .toArray (CompensatedSummation []::new);
+
+    // Mean and variance of the replications
+    final double [] aEstimates = new double [m_nReplications];
+    double dMean = 0;
+    for (int r = 0; r < m_nReplications; ++r)
+    {
+      final CompensatedSummation aSum = new CompensatedSummation ();
+      for (int c = 0; c < nChunks; ++c)
+        aSum.add (aPartialSums[r * nChunks + c]);
+      aEstimates[r] = dVolume * aSum.value () / nPoints;
+      dMean += aEstimates[r];
+    }
+    dMean /= m_nReplications;
+    double dM2 = 0;
+    for (final double dEstimate : aEstimates)
+      dM2 += (dEstimate - dMean) * (dEstimate - dMean);
+    final double dVariance = dM2 / (m_nReplications - 1);
+
+    return new MonteCarloResult ((long) m_nReplications * nPoints,
+                                 dMean,
+                                 dVariance * nPoints,
+                                 System.nanoTime () - nStart);
+  }
+
+  /**
+   * Sum the function values of a chunk of shifted points.
+   */
+  @NonNull
+  private CompensatedSummation _sumChunk (@NonNull final double [] aLower,
+                                          @NonNull final double [] aUpper,
+                                          @NonNull final double [] aShift,
+                                          final long nFirstIndex,
+                                          final int nChunk,
+                                          final int nPoints)
+  {
+    final int nDim = aShift.length;
+    final int nFirst = nChunk * CHUNK_POINTS;
+    final int nCount = Math.min (CHUNK_POINTS, nPoints - nFirst);
+
+    final double [] aPoints = new double [nCount * nDim];
+    m_aSequence.createAt (nFirstIndex + nFirst).fill (aPoints, 0, nCount);
+    for (int p = 0; p < nCount; ++p)
+      for (int i = 0; i < nDim; ++i)
+      {
+        double u = aPoints[p * nDim + i] + aShift[i];
+        if (u >= 1)
+          u -= 1;
+        aPoints[p * nDim + i] = aLower[i] + (aUpper[i] - aLower[i]) * u;
+      }
+
+    final double [] aValues = new double [nCount];
+    m_aIntegrand.at (aPoints, nDim, aValues, nCount);
+
+    final CompensatedSummation ret = new CompensatedSummation ();
+    for (final double dValue : aValues)
+      ret.add (dValue);
+    return ret;
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.AbstractRandomSampler;
+
+/**
+ * Generates beta-distributed random values in [0, 1] as X / (X + Y) of two
+ * gamma-distributed values X and Y with the shapes alpha and beta. If a shape
+ * is below 1, X and Y are drawn as logarithms and combined as 1 / (1 +
+ * exp(log Y - log X)), because both often underflow to 0 for tiny shapes.
+ */
+public class RandomBeta extends AbstractRandomSampler
+{
+  /** the gamma distribution with shape alpha */
+  private final RandomGamma m_aGammaAlpha;
+  /** the gamma distribution with shape beta */
+  private final RandomGamma m_aGammaBeta;
+  /** combine the gamma values in log space? */
+  private final boolean m_bLogSpace;
+
+  /**
+   * Constructor with a randomly seeded generator.
+   *
+   * @param alpha
+   *        the shape alpha &gt; 0
+   * @param beta
+   *        the shape beta &gt; 0
+   */
+  public RandomBeta (final double alpha, final double beta)
+  {
+    this (alpha, beta, new SplittableRandom ());
+  }
+
+  /**
+   * Constructor with a seeded generator, for reproducible sequences.
+   *
+   * @param alpha
+   *        the shape alpha &gt; 0
+   * @param beta
+   *        the shape beta &gt; 0
+   * @param seed
+   *        the seed
+   */
+  public RandomBeta (final double alpha, final double beta, final long seed)
+  {
+    this (alpha, beta, new SplittableRandom (seed));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param alpha
+   *        the shape alpha &gt; 0
+   * @param beta
+   *        the shape beta &gt; 0
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  public RandomBeta (final double alpha, final double beta, @NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+    // The gamma samplers only provide the tables, all values come from this
+    // generator.
+    m_aGammaAlpha = new RandomGamma (alpha, 1, aGenerator);
+    m_aGammaBeta = new RandomGamma (beta, 1, aGenerator);
+    m_bLogSpace = alpha < 1 || beta < 1;
+  }
+
+  /**
+   * @return the shape alpha
+   */
+  public double getAlpha ()
+  {
+    return m_aGammaAlpha.getShape ();
+  }
+
+  /**
+   * @return the shape beta
+   */
+  public double getBeta ()
+  {
+    return m_aGammaBeta.getShape ();
+  }
+
+  @Override
+  @NonNull
+  public RandomBeta split ()
+  {
+    return new RandomBeta (getAlpha (), getBeta (), splitGenerator ());
+  }
+
+  private double _next (@NonNull final RandomGenerator aGenerator)
+  {
+    if (m_bLogSpace)
+    {
+      final double lx = m_aGammaAlpha.nextLogStandard (aGenerator);
+      final double ly = m_aGammaBeta.nextLogStandard (aGenerator);
+      return 1 / (1 + Math.exp (ly - lx));
+    }
+    final double x = m_aGammaAlpha.nextStandard (aGenerator);
+    final double y = m_aGammaBeta.nextStandard (aGenerator);
+    return x / (x + y);
+  }
+
+  /**
+   * Compute the next random value.
+   *
+   * @return next value
+   */
+  public double next ()
+  {
+    return _next (m_aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final float [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = (float) _next (aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final double [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = _next (aGenerator);
+  }
+}
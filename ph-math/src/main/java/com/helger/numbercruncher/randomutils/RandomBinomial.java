@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.AbstractRandomSampler;
+
+/**
+ * Generates binomially-distributed random values, the number of successes in n
+ * trials with the success probability p. Probabilities above 1/2 are mirrored.
+ * If np is small, the value is found by inversion, otherwise with the
+ * transformed rejection algorithm BTRS of H&ouml;rmann, which needs about 1.2
+ * pairs of uniform values per sample independent of n.
+ */
+public class RandomBinomial extends AbstractRandomSampler
+{
+  /** the smallest value of np that uses BTRS */
+  private static final double BTRS_MIN_MEAN = 10;
+
+  /** number of trials */
+  private final int m_nTrials;
+  /** success probability */
+  private final double m_dProbability;
+  /** min(p, 1-p) */
+  private final double m_dP;
+  /** true if p was mirrored */
+  private final boolean m_bMirrored;
+
+  // Constants of the inversion
+  private final double m_dS;
+  private final double m_dA0;
+  private final double m_dR0;
+
+  // Constants of BTRS
+  private final double m_dB;
+  private final double m_dA;
+  private final double m_dC;
+  private final double m_dVr;
+  private final double m_dAlpha;
+  private final double m_dLogPQ;
+  private final long m_nMode;
+  private final double m_dH;
+
+  /**
+   * Constructor with a randomly seeded generator.
+   *
+   * @param n
+   *        the number of trials &ge; 0
+   * @param p
+   *        the success probability in [0, 1]
+   */
+  public RandomBinomial (final int n, final double p)
+  {
+    this (n, p, new SplittableRandom ());
+  }
+
+  /**
+   * Constructor with a seeded generator, for reproducible sequences.
+   *
+   * @param n
+   *        the number of trials &ge; 0
+   * @param p
+   *        the success probability in [0, 1]
+   * @param seed
+   *        the seed
+   */
+  public RandomBinomial (final int n, final double p, final long seed)
+  {
+    this (n, p, new SplittableRandom (seed));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param n
+   *        the number of trials &ge; 0
+   * @param p
+   *        the success probability in [0, 1]
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  public RandomBinomial (final int n, final double p, @NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+    if (n < 0)
+      throw new IllegalArgumentException ("n < 0: " + n);
+    if (!(p >= 0 && p <= 1))
+      throw new IllegalArgumentException ("p must be in [0, 1]: " + p);
+
+    m_nTrials = n;
+    m_dProbability = p;
+    m_bMirrored = p > 0.5;
+    m_dP = m_bMirrored ? 1 - p : p;
+    final double q = 1 - m_dP;
+
+    m_dS = m_dP / q;
+    m_dA0 = (n + 1) * m_dS;
+    m_dR0 = Math.pow (q, n);
+
+    final double spq = Math.sqrt (n * m_dP * q);
+    m_dB = 1.15 + 2.53 * spq;
+    m_dA = -0.0873 + 0.0248 * m_dB + 0.01 * m_dP;
+    m_dC = n * m_dP + 0.5;
+    m_dVr = 0.92 - 4.2 / m_dB;
+    m_dAlpha = (2.83 + 5.1 / m_dB) * spq;
+    m_dLogPQ = Math.log (m_dP / q);
+    m_nMode = (long) Math.floor ((n + 1) * m_dP);
+    m_dH = Factorials.logFactorial (m_nMode) + Factorials.logFactorial (n - m_nMode);
+  }
+
+  /**
+   * @return the number of trials n
+   */
+  public int getTrials ()
+  {
+    return m_nTrials;
+  }
+
+  /**
+   * @return the success probability p
+   */
+  public double getProbability ()
+  {
+    return m_dProbability;
+  }
+
+  @Override
+  @NonNull
+  public RandomBinomial split ()
+  {
+    return new RandomBinomial (m_nTrials, m_dProbability, splitGenerator ());
+  }
+
+  private int _next (@NonNull final RandomGenerator aGenerator)
+  {
+    final int k = m_nTrials * m_dP < BTRS_MIN_MEAN ? _nextInversion (aGenerator) : _nextBTRS (aGenerator);
+    return m_bMirrored ? m_nTrials - k : k;
+  }
+
+  private int _nextInversion (@NonNull final RandomGenerator aGenerator)
+  {
+    for (;;)
+    {
+      // Subtract the probabilities P(X=0), P(X=1), ... from a uniform value.
+      double u = aGenerator.nextDouble ();
+      double r = m_dR0;
+      int k = 0;
+      while (u > r)
+      {
+        u -= r;
+        ++k;
+        if (k > m_nTrials)
+          break;
+        r *= m_dA0 / k - m_dS;
+      }
+      // Rounding might leave a tiny rest beyond n.
+      if (k <= m_nTrials)
+        return k;
+    }
+  }
+
+  private int _nextBTRS (@NonNull final RandomGenerator aGenerator)
+  {
+    for (;;)
+    {
+      final double u = aGenerator.nextDouble () - 0.5;
+      double v = aGenerator.nextDouble ();
+      final double us = 0.5 - Math.abs (u);
+      final long k = (long) Math.floor ((2 * m_dA / us + m_dB) * u + m_dC);
+
+      if (k < 0 || k > m_nTrials)
+        continue;
+      // quick acceptance
+      if (us >= 0.07 && v <= m_dVr)
+        return (int) k;
+      // final test
+      v = Math.log (v * m_dAlpha / (m_dA / (us * us) + m_dB));
+      if (v <= m_dH - Factorials.logFactorial (k) - Factorials.logFactorial (m_nTrials - k) + (k - m_nMode) * m_dLogPQ)
+        return (int) k;
+    }
+  }
+
+  /**
+   * Compute the next random value.
+   *
+   * @return next value in [0, n]
+   */
+  public int nextInt ()
+  {
+    return _next (m_aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final float [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = _next (aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final double [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = _next (aGenerator);
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.AbstractRandomSampler;
+
+/**
+ * Generates random indexes 0..n-1 with given weights using the alias method
+ * of Walker in the variant of Vose. Each index i owns a column of height 1 that
+ * is split between i and at most one alias, so a sample needs one random column
+ * and one uniform value, independent of n.
+ */
+public class RandomDiscrete extends AbstractRandomSampler
+{
+  /** probability to keep the column index instead of its alias */
+  private final double [] m_aKeep;
+  /** the alias of each column */
+  private final int [] m_aAlias;
+
+  /**
+   * Constructor with a randomly seeded generator.
+   *
+   * @param weights
+   *        the non-negative weights, at least one of them positive
+   */
+  public RandomDiscrete (@NonNull final double [] weights)
+  {
+    this (weights, new SplittableRandom ());
+  }
+
+  /**
+   * Constructor with a seeded generator, for reproducible sequences.
+   *
+   * @param weights
+   *        the non-negative weights, at least one of them positive
+   * @param seed
+   *        the seed
+   */
+  public RandomDiscrete (@NonNull final double [] weights, final long seed)
+  {
+    this (weights, new SplittableRandom (seed));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param weights
+   *        the non-negative weights, at least one of them positive
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  public RandomDiscrete (@NonNull final double [] weights, @NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+
+    final int n = weights.length;
+    double total = 0;
+    for (final double w : weights)
+    {
+      if (!(w >= 0) || Double.isInfinite (w))
+        throw new IllegalArgumentException ("Invalid weight: " + w);
+      total += w;
+    }
+    if (!(total > 0))
+      throw new IllegalArgumentException ("No positive weight");
+
+    m_aKeep = new double [n];
+    m_aAlias = new int [n];
+
+    // Scale the weights to an average of 1 and sort the columns into the ones
+    // below and above average, kept as two stacks in one array.
+    final double [] scaled = new double [n];
+    final int [] stack = new int [n];
+    int small = 0;
+    int large = n;
+    for (int i = 0; i < n; ++i)
+    {
+      scaled[i] = weights[i] * n / total;
+      if (scaled[i] < 1)
+        stack[small++] = i;
+      else
+        stack[--large] = i;
+    }
+
+    // Fill up each small column from a large one.
+    while (small > 0 && large < n)
+    {
+      final int s = stack[--small];
+      final int l = stack[large++];
+      m_aKeep[s] = scaled[s];
+      m_aAlias[s] = l;
+      scaled[l] -= 1 - scaled[s];
+      if (scaled[l] < 1)
+        stack[small++] = l;
+      else
+        stack[--large] = l;
+    }
+
+    // The remaining columns are full, up to rounding errors.
+    while (small > 0)
+      m_aKeep[stack[--small]] = 1;
+    while (large < n)
+      m_aKeep[stack[large++]] = 1;
+  }
+
+  /**
+   * Constructor sharing the tables.
+   */
+  private RandomDiscrete (@NonNull final RandomDiscrete aOther, @NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+    m_aKeep = aOther.m_aKeep;
+    m_aAlias = aOther.m_aAlias;
+  }
+
+  /**
+   * @return the number of indexes n
+   */
+  public int getSize ()
+  {
+    return m_aKeep.length;
+  }
+
+  @Override
+  @NonNull
+  public RandomDiscrete split ()
+  {
+    return new RandomDiscrete (this, splitGenerator ());
+  }
+
+  private int _next (@NonNull final RandomGenerator aGenerator)
+  {
+    final int column = aGenerator.nextInt (m_aKeep.length);
+    return aGenerator.nextDouble () < m_aKeep[column] ? column : m_aAlias[column];
+  }
+
+  /**
+   * Compute the next random index.
+   *
+   * @return next index in [0, n)
+   */
+  public int nextInt ()
+  {
+    return _next (m_aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final float [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = _next (aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final double [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = _next (aGenerator);
+  }
+}
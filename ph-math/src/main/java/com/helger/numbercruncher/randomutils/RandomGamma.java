@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.AbstractRandomSampler;
+import com.helger.numbercruncher.mathutils.Ziggurat;
+
+/**
+ * Generates gamma-distributed random values with the algorithm of Marsaglia
+ * and Tsang: a normally-distributed value is transformed and accepted with a
+ * squeeze test that avoids the logarithm in about 98% of all cases. Shapes
+ * below 1 are boosted to shape+1 and scaled back with a uniform value.
+ */
+public class RandomGamma extends AbstractRandomSampler
+{
+  /** shape k */
+  private final double m_dShape;
+  /** scale theta */
+  private final double m_dScale;
+  /** d = k - 1/3 of the boosted shape */
+  private final double m_dD;
+  /** c = 1 / sqrt(9d) */
+  private final double m_dC;
+  /** 1/k if k &lt; 1, else 0 */
+  private final double m_dBoostExponent;
+
+  /**
+   * Constructor with a randomly seeded generator.
+   *
+   * @param shape
+   *        the shape k &gt; 0
+   * @param scale
+   *        the scale theta &gt; 0
+   */
+  public RandomGamma (final double shape, final double scale)
+  {
+    this (shape, scale, new SplittableRandom ());
+  }
+
+  /**
+   * Constructor with a seeded generator, for reproducible sequences.
+   *
+   * @param shape
+   *        the shape k &gt; 0
+   * @param scale
+   *        the scale theta &gt; 0
+   * @param seed
+   *        the seed
+   */
+  public RandomGamma (final double shape, final double scale, final long seed)
+  {
+    this (shape, scale, new SplittableRandom (seed));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param shape
+   *        the shape k &gt; 0
+   * @param scale
+   *        the scale theta &gt; 0
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  public RandomGamma (final double shape, final double scale, @NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+    if (!(shape > 0) || !(scale > 0))
+      throw new IllegalArgumentException ("Shape and scale must be positive: " + shape + ", " + scale);
+
+    m_dShape = shape;
+    m_dScale = scale;
+    m_dD = (shape < 1 ? shape + 1 : shape) - 1.0 / 3;
+    m_dC = 1 / Math.sqrt (9 * m_dD);
+    m_dBoostExponent = shape < 1 ? 1 / shape : 0;
+  }
+
+  /**
+   * @return the shape k
+   */
+  public double getShape ()
+  {
+    return m_dShape;
+  }
+
+  /**
+   * @return the scale theta
+   */
+  public double getScale ()
+  {
+    return m_dScale;
+  }
+
+  @Override
+  @NonNull
+  public RandomGamma split ()
+  {
+    return new RandomGamma (m_dShape, m_dScale, splitGenerator ());
+  }
+
+  /**
+   * Marsaglia-Tsang: the next gamma-distributed value with shape m_dD + 1/3
+   * and scale 1.
+   */
+  private double _nextUnboosted (@NonNull final RandomGenerator aGenerator)
+  {
+    for (;;)
+    {
+      final double x = Ziggurat.nextNormal (aGenerator);
+      double v = 1 + m_dC * x;
+      if (v <= 0)
+        continue;
+      v = v * v * v;
+
+      final double u = aGenerator.nextDouble ();
+      final double xx = x * x;
+      // quick acceptance
+      if (u < 1 - 0.0331 * xx * xx)
+        return m_dD * v;
+      // final test
+      if (Math.log (u) < 0.5 * xx + m_dD * (1 - v + Math.log (v)))
+        return m_dD * v;
+    }
+  }
+
+  /**
+   * @return a uniformly-distributed value in (0, 1)
+   */
+  private static double _nextPositiveUniform (@NonNull final RandomGenerator aGenerator)
+  {
+    double u;
+    while ((u = aGenerator.nextDouble ()) == 0)
+    {
+      // try again if 0
+    }
+    return u;
+  }
+
+  /**
+   * Compute the next gamma-distributed value with scale 1.
+   *
+   * @param aGenerator
+   *        the generator to draw from
+   * @return next value
+   */
+  double nextStandard (@NonNull final RandomGenerator aGenerator)
+  {
+    final double dv = _nextUnboosted (aGenerator);
+    if (m_dBoostExponent == 0)
+      return dv;
+    // G(k) = G(k+1) * U^(1/k) for shape k < 1
+    return dv * Math.pow (_nextPositiveUniform (aGenerator), m_dBoostExponent);
+  }
+
+  /**
+   * Compute the logarithm of the next gamma-distributed value with scale 1.
+   * For small shapes the value itself often underflows to 0, its logarithm
+   * does not.
+   *
+   * @param aGenerator
+   *        the generator to draw from
+   * @return the logarithm of the next value
+   */
+  double nextLogStandard (@NonNull final RandomGenerator aGenerator)
+  {
+    final double ldv = Math.log (_nextUnboosted (aGenerator));
+    if (m_dBoostExponent == 0)
+      return ldv;
+    // log G(k) = log G(k+1) + log (U) / k for shape k < 1
+    return ldv + Math.log (_nextPositiveUniform (aGenerator)) * m_dBoostExponent;
+  }
+
+  /**
+   * Compute the next random value.
+   *
+   * @return next value
+   */
+  public double next ()
+  {
+    return m_dScale * nextStandard (m_aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final float [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = (float) (m_dScale * nextStandard (aGenerator));
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final double [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = m_dScale * nextStandard (aGenerator);
+  }
+}
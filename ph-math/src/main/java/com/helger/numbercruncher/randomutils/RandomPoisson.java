@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.jspecify.annotations.NonNull;
+
+import com.helger.numbercruncher.mathutils.AbstractRandomSampler;
+
+/**
+ * Generates Poisson-distributed random values. Small means use the
+ * multiplication of uniform values, means of 10 and more use the transformed
+ * rejection algorithm PTRS of H&ouml;rmann, which needs about 1.2 pairs of
+ * uniform values per sample independent of the mean.
+ */
+public class RandomPoisson extends AbstractRandomSampler
+{
+  /** the smallest mean that uses PTRS */
+  private static final double PTRS_MIN_MEAN = 10;
+
+  /** mean lambda */
+  private final double m_dMean;
+  /** e^-lambda for the multiplication algorithm */
+  private final double m_dExpMinusMean;
+
+  // Constants of PTRS
+  private final double m_dLogMean;
+  private final double m_dB;
+  private final double m_dA;
+  private final double m_dLogInvAlpha;
+  private final double m_dVr;
+
+  /**
+   * Constructor with a randomly seeded generator.
+   *
+   * @param mean
+   *        the mean lambda &gt; 0
+   */
+  public RandomPoisson (final double mean)
+  {
+    this (mean, new SplittableRandom ());
+  }
+
+  /**
+   * Constructor with a seeded generator, for reproducible sequences.
+   *
+   * @param mean
+   *        the mean lambda &gt; 0
+   * @param seed
+   *        the seed
+   */
+  public RandomPoisson (final double mean, final long seed)
+  {
+    this (mean, new SplittableRandom (seed));
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param mean
+   *        the mean lambda &gt; 0
+   * @param aGenerator
+   *        the generator of uniformly-distributed random values. It must not be
+   *        shared with other threads.
+   */
+  public RandomPoisson (final double mean, @NonNull final RandomGenerator aGenerator)
+  {
+    super (aGenerator);
+    if (!(mean > 0) || Double.isInfinite (mean))
+      throw new IllegalArgumentException ("The mean must be positive: " + mean);
+
+    m_dMean = mean;
+    m_dExpMinusMean = Math.exp (-mean);
+
+    final double sqrtMean = Math.sqrt (mean);
+    m_dLogMean = Math.log (mean);
+    m_dB = 0.931 + 2.53 * sqrtMean;
+    m_dA = -0.059 + 0.02483 * m_dB;
+    m_dLogInvAlpha = Math.log (1.1239 + 1.1328 / (m_dB - 3.4));
+    m_dVr = 0.9277 - 3.6224 / (m_dB - 2);
+  }
+
+  /**
+   * @return the mean lambda
+   */
+  public double getMean ()
+  {
+    return m_dMean;
+  }
+
+  @Override
+  @NonNull
+  public RandomPoisson split ()
+  {
+    return new RandomPoisson (m_dMean, splitGenerator ());
+  }
+
+  private long _next (@NonNull final RandomGenerator aGenerator)
+  {
+    if (m_dMean < PTRS_MIN_MEAN)
+    {
+      // Count the uniform values until their product drops below e^-lambda.
+      long k = 0;
+      double product = aGenerator.nextDouble ();
+      while (product > m_dExpMinusMean)
+      {
+        ++k;
+        product *= aGenerator.nextDouble ();
+      }
+      return k;
+    }
+
+    for (;;)
+    {
+      final double u = aGenerator.nextDouble () - 0.5;
+      final double v = aGenerator.nextDouble ();
+      final double us = 0.5 - Math.abs (u);
+      final long k = (long) Math.floor ((2 * m_dA / us + m_dB) * u + m_dMean + 0.43);
+
+      // quick acceptance
+      if (us >= 0.07 && v <= m_dVr)
+        return k;
+      // quick rejection
+      if (k < 0 || (us < 0.013 && v > us))
+        continue;
+      // final test
+      if (Math.log (v) + m_dLogInvAlpha - Math.log (m_dA / (us * us) + m_dB) <= -m_dMean +
+                                                                              k * m_dLogMean -
+                                                                              Factorials.logFactorial (k))
+        return k;
+    }
+  }
+
+  /**
+   * Compute the next random value.
+   *
+   * @return next value
+   */
+  public long nextLong ()
+  {
+    return _next (m_aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final float [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = _next (aGenerator);
+  }
+
+  @Override
+  protected void fillChunk (@NonNull final RandomGenerator aGenerator,
+                            @NonNull final double [] dest,
+                            final int off,
+                            final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      dest[i] = _next (aGenerator);
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * The Sobol low-discrepancy sequence in up to {@link #MAX_DIMENSION}
+ * dimensions with the direction numbers of Joe and Kuo (new-joe-kuo-6.21201).
+ * Consecutive points are generated in Gray code order with a single XOR per
+ * coordinate, and {@link #skipTo(long)} computes any point directly.<br>
+ * The first point is the origin. The first 2^k points of every coordinate
+ * fall into different intervals of width 2^-k, and integration works best
+ * with a power of two points.
+ */
+public final class SobolSequence extends AbstractQuasiRandomSequence
+{
+  /** the maximum number of dimensions */
+  public static final int MAX_DIMENSION = 21;
+
+  /** the number of bits of a coordinate */
+  private static final int BITS = 53;
+
+  /** the number of points of the sequence */
+  public static final long MAX_INDEX = 1L << BITS;
+
+  /** 2^-BITS */
+  private static final double SCALE = 0x1.0p-53;
+
+  /**
+   * Primitive polynomials and initial direction numbers of dimensions 2 to
+   * 21: degree s, coefficients a, then m_1 to m_s.
+   */
+  private static final int [] [] JOE_KUO = { { 1, 0, 1 },
+                                             { 2, 1, 1, 3 },
+                                             { 3, 1, 1, 3, 1 },
+                                             { 3, 2, 1, 1, 1 },
+                                             { 4, 1, 1, 1, 3, 3 },
+                                             { 4, 4, 1, 3, 5, 13 },
+                                             { 5, 2, 1, 1, 5, 5, 17 },
+                                             { 5, 4, 1, 1, 5, 5, 5 },
+                                             { 5, 7, 1, 1, 7, 11, 19 },
+                                             { 5, 11, 1, 1, 5, 1, 1 },
+                                             { 5, 13, 1, 1, 1, 3, 11 },
+                                             { 5, 14, 1, 3, 5, 5, 31 },
+                                             { 6, 1, 1, 3, 3, 9, 7, 49 },
+                                             { 6, 13, 1, 1, 1, 15, 21, 21 },
+                                             { 6, 16, 1, 3, 1, 13, 27, 49 },
+                                             { 6, 19, 1, 1, 1, 15, 7, 5 },
+                                             { 6, 22, 1, 3, 1, 15, 13, 25 },
+                                             { 6, 25, 1, 1, 5, 5, 19, 61 },
+                                             { 7, 1, 1, 3, 7, 11, 23, 15, 103 },
+                                             { 7, 4, 1, 3, 7, 13, 13, 15, 69 } };
+
+  /** the direction numbers v_1 to v_BITS of all dimensions */
+  private static final long [] [] DIRECTIONS = _createDirections ();
+
+  /** the current point as integers */
+  private final long [] m_aX;
+
+  /**
+   * Constructor, positioned at the first point.
+   *
+   * @param nDimension
+   *        the number of coordinates of a point, 1 to {@link #MAX_DIMENSION}
+   */
+  public SobolSequence (final int nDimension)
+  {
+    super (nDimension);
+    if (nDimension > MAX_DIMENSION)
+      throw new IllegalArgumentException ("At most " + MAX_DIMENSION + " dimensions are supported: " + nDimension);
+    m_aX = new long [nDimension];
+  }
+
+  @NonNull
+  private static long [] [] _createDirections ()
+  {
+    final long [] [] ret = new long [MAX_DIMENSION] [BITS];
+
+    // The first dimension is the van der Corput sequence in base 2.
+    for (int k = 0; k < BITS; ++k)
+      ret[0][k] = 1L << (BITS - 1 - k);
+
+    for (int d = 1; d < MAX_DIMENSION; ++d)
+    {
+      final int [] aRow = JOE_KUO[d - 1];
+      final int s = aRow[0];
+      final int a = aRow[1];
+      final long [] v = ret[d];
+      for (int k = 0; k < s; ++k)
+        v[k] = (long) aRow[2 + k] << (BITS - 1 - k);
+      // v_k = a_1 v_(k-1) ^ ... ^ a_(s-1) v_(k-s+1) ^ v_(k-s) ^ (v_(k-s) >> s)
+      for (int k = s; k < BITS; ++k)
+      {
+        long x = v[k - s] ^ (v[k - s] >>> s);
+        for (int i = 1; i < s; ++i)
+          if (((a >>> (s - 1 - i)) & 1) != 0)
+            x ^= v[k - i];
+        v[k] = x;
+      }
+    }
+    return ret;
+  }
+
+  @Override
+  protected void seek (final long nIndex)
+  {
+    if (nIndex > MAX_INDEX)
+      throw new IllegalArgumentException ("The index is past the end of the sequence: " + nIndex);
+    if (nIndex == MAX_INDEX)
+      return;
+
+    // The point with index n combines the direction numbers of the bits of
+    // the Gray code of n.
+    final long nGray = nIndex ^ (nIndex >>> 1);
+    for (int d = 0; d < m_aX.length; ++d)
+    {
+      final long [] v = DIRECTIONS[d];
+      long x = 0;
+      for (long g = nGray; g != 0; g &= g - 1)
+        x ^= v[Long.numberOfTrailingZeros (g)];
+      m_aX[d] = x;
+    }
+  }
+
+  @Override
+  protected void generate (final long nIndex, @NonNull final double [] aDest, final int nOffset)
+  {
+    if (nIndex >= MAX_INDEX)
+      throw new IllegalStateException ("The sequence is exhausted");
+
+    final long [] aX = m_aX;
+    for (int d = 0; d < aX.length; ++d)
+      aDest[nOffset + d] = aX[d] * SCALE;
+
+    // Gray code order: the next point differs in the lowest bit of n + 1.
+    final long nNext = nIndex + 1;
+    if (nNext < MAX_INDEX)
+    {
+      final int c = Long.numberOfTrailingZeros (nNext);
+      for (int d = 0; d < aX.length; ++d)
+        aX[d] ^= DIRECTIONS[d][c];
+    }
+  }
+
+  @Override
+  @NonNull
+  public SobolSequence createAt (final long nIndex)
+  {
+    final SobolSequence ret = new SobolSequence (getDimension ());
+    ret.skipTo (nIndex);
+    return ret;
+  }
+}
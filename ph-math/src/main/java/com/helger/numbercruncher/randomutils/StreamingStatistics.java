@@ -0,0 +1,466 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Statistics of a stream of values without storing them: count, minimum,
+ * maximum, and mean, variance, skewness and kurtosis from the central moments
+ * updated after Welford and Terriberry, plus quantiles from a merging t-digest
+ * after Dunning. The t-digest keeps a bounded number of centroids, small ones
+ * near the tails and larger ones near the median, so extreme quantiles like the
+ * 99.9th percentile stay accurate.<br>
+ * {@link #add(double)} does not allocate: new values go into a buffer that is
+ * sorted and merged into the preallocated centroid arrays when full.
+ * Instances are not thread-safe. Each thread fills its own instance, and the
+ * instances are combined with {@link #merge(StreamingStatistics)} using the
+ * pairwise formulas of P&eacute;bay.
+ */
+public final class StreamingStatistics
+{
+  /** the default compression of the t-digest */
+  public static final double DEFAULT_COMPRESSION = 200;
+
+  /** the compression delta of the t-digest */
+  private final double m_dCompression;
+
+  // Moments
+  private long m_nCount;
+  private double m_dMin = Double.POSITIVE_INFINITY;
+  private double m_dMax = Double.NEGATIVE_INFINITY;
+  private double m_dMean;
+  private double m_dM2;
+  private double m_dM3;
+  private double m_dM4;
+
+  // t-digest: the centroids, sorted by mean
+  private final double [] m_aMeans;
+  private final double [] m_aWeights;
+  private int m_nCentroids;
+  /** values and weights not yet merged into the centroids */
+  private final double [] m_aBufferMeans;
+  private final double [] m_aBufferWeights;
+  private int m_nBuffered;
+  /** scratch space for the merge */
+  private final double [] m_aTempMeans;
+  private final double [] m_aTempWeights;
+
+  /**
+   * Constructor with the default compression.
+   */
+  public StreamingStatistics ()
+  {
+    this (DEFAULT_COMPRESSION);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param compression
+   *        the compression of the t-digest, &ge; 10. Larger values give more
+   *        accurate quantiles with more centroids, about compression * pi / 2.
+   */
+  public StreamingStatistics (final double compression)
+  {
+    if (!(compression >= 10))
+      throw new IllegalArgumentException ("The compression must be at least 10: " + compression);
+
+    m_dCompression = compression;
+    final int capacity = (int) Math.ceil (2 * compression) + 10;
+    final int bufferSize = (int) Math.ceil (5 * compression);
+    m_aMeans = new double [capacity];
+    m_aWeights = new double [capacity];
+    m_aBufferMeans = new double [bufferSize];
+    m_aBufferWeights = new double [bufferSize];
+    m_aTempMeans = new double [capacity + bufferSize];
+    m_aTempWeights = new double [capacity + bufferSize];
+  }
+
+  /**
+   * @return the compression of the t-digest
+   */
+  public double getCompression ()
+  {
+    return m_dCompression;
+  }
+
+  /**
+   * Add a value. NaN values are ignored.
+   *
+   * @param x
+   *        the value
+   */
+  public void add (final double x)
+  {
+    if (Double.isNaN (x))
+      return;
+
+    final long n1 = m_nCount;
+    final long n = ++m_nCount;
+    final double delta = x - m_dMean;
+    final double deltaN = delta / n;
+    final double deltaN2 = deltaN * deltaN;
+    final double term1 = delta * deltaN * n1;
+    m_dMean += deltaN;
+    m_dM4 += term1 * deltaN2 * ((double) n * n - 3 * n + 3) + 6 * deltaN2 * m_dM2 - 4 * deltaN * m_dM3;
+    m_dM3 += term1 * deltaN * (n - 2) - 3 * deltaN * m_dM2;
+    m_dM2 += term1;
+    if (x < m_dMin)
+      m_dMin = x;
+    if (x > m_dMax)
+      m_dMax = x;
+
+    _buffer (x, 1);
+  }
+
+  /**
+   * Add a part of an array of values.
+   *
+   * @param values
+   *        the values
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  public void addAll (@NonNull final double [] values, final int off, final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      add (values[i]);
+  }
+
+  /**
+   * Add a part of an array of values.
+   *
+   * @param values
+   *        the values
+   * @param off
+   *        the index of the first value
+   * @param len
+   *        the number of values
+   */
+  public void addAll (@NonNull final float [] values, final int off, final int len)
+  {
+    for (int i = off; i < off + len; ++i)
+      add (values[i]);
+  }
+
+  /**
+   * Add the values of another instance, e.g. from another thread. The other
+   * instance is compressed but otherwise unchanged.
+   *
+   * @param aOther
+   *        the statistics to merge into this one
+   */
+  public void merge (@NonNull final StreamingStatistics aOther)
+  {
+    if (aOther.m_nCount == 0)
+      return;
+
+    // Combine the moments.
+    final double na = m_nCount;
+    final double nb = aOther.m_nCount;
+    final double n = na + nb;
+    final double delta = aOther.m_dMean - m_dMean;
+    final double delta2 = delta * delta;
+    final double delta3 = delta2 * delta;
+    final double delta4 = delta2 * delta2;
+    final double m2a = m_dM2;
+    final double m3a = m_dM3;
+    final double m2b = aOther.m_dM2;
+    final double m3b = aOther.m_dM3;
+
+    m_dMean += delta * nb / n;
+    m_dM4 += aOther.m_dM4 +
+             delta4 * na * nb * (na * na - na * nb + nb * nb) / (n * n * n) +
+             6 * delta2 * (na * na * m2b + nb * nb * m2a) / (n * n) +
+             4 * delta * (na * m3b - nb * m3a) / n;
+    m_dM3 += m3b + delta3 * na * nb * (na - nb) / (n * n) + 3 * delta * (na * m2b - nb * m2a) / n;
+    m_dM2 += m2b + delta2 * na * nb / n;
+    m_nCount += aOther.m_nCount;
+    m_dMin = Math.min (m_dMin, aOther.m_dMin);
+    m_dMax = Math.max (m_dMax, aOther.m_dMax);
+
+    // Add the centroids of the other digest as weighted values.
+    aOther._compress ();
+    for (int i = 0; i < aOther.m_nCentroids; ++i)
+      _buffer (aOther.m_aMeans[i], aOther.m_aWeights[i]);
+  }
+
+  private void _buffer (final double x, final double w)
+  {
+    if (m_nBuffered == m_aBufferMeans.length)
+      _compress ();
+    m_aBufferMeans[m_nBuffered] = x;
+    m_aBufferWeights[m_nBuffered] = w;
+    ++m_nBuffered;
+  }
+
+  /**
+   * The scale function k(q) = delta / (2 pi) * asin(2q - 1).
+   */
+  private double _k (final double q)
+  {
+    return m_dCompression / (2 * Math.PI) * Math.asin (2 * q - 1);
+  }
+
+  /**
+   * The inverse of the scale function.
+   */
+  private double _q (final double k)
+  {
+    return (Math.sin (Math.min (k * (2 * Math.PI) / m_dCompression, Math.PI / 2)) + 1) / 2;
+  }
+
+  /**
+   * Merge the buffer into the centroids.
+   */
+  private void _compress ()
+  {
+    if (m_nBuffered == 0)
+      return;
+
+    _sortPairs (m_aBufferMeans, m_aBufferWeights, m_nBuffered);
+
+    // Merge the sorted centroids and the sorted buffer.
+    final double [] aMeans = m_aTempMeans;
+    final double [] aWeights = m_aTempWeights;
+    int n = 0;
+    int i = 0;
+    int j = 0;
+    double total = 0;
+    while (i < m_nCentroids || j < m_nBuffered)
+    {
+      if (j >= m_nBuffered || (i < m_nCentroids && m_aMeans[i] <= m_aBufferMeans[j]))
+      {
+        aMeans[n] = m_aMeans[i];
+        aWeights[n] = m_aWeights[i++];
+      }
+      else
+      {
+        aMeans[n] = m_aBufferMeans[j];
+        aWeights[n] = m_aBufferWeights[j++];
+      }
+      total += aWeights[n++];
+    }
+    m_nBuffered = 0;
+
+    // Combine neighbours as long as the centroid stays within one unit of k.
+    int nCentroids = 0;
+    double weightSoFar = 0;
+    double limit = total * _q (_k (0) + 1);
+    double mean = aMeans[0];
+    double weight = aWeights[0];
+    for (int k = 1; k < n; ++k)
+    {
+      if (weightSoFar + weight + aWeights[k] <= limit)
+      {
+        weight += aWeights[k];
+        mean += (aMeans[k] - mean) * aWeights[k] / weight;
+      }
+      else
+      {
+        m_aMeans[nCentroids] = mean;
+        m_aWeights[nCentroids++] = weight;
+        weightSoFar += weight;
+        limit = total * _q (_k (weightSoFar / total) + 1);
+        mean = aMeans[k];
+        weight = aWeights[k];
+      }
+    }
+    m_aMeans[nCentroids] = mean;
+    m_aWeights[nCentroids++] = weight;
+    m_nCentroids = nCentroids;
+  }
+
+  /**
+   * Sort keys and values by the keys, in place with heap sort.
+   */
+  private static void _sortPairs (@NonNull final double [] aKeys, @NonNull final double [] aValues, final int n)
+  {
+    for (int i = n / 2 - 1; i >= 0; --i)
+      _siftDown (aKeys, aValues, i, n);
+    for (int end = n - 1; end > 0; --end)
+    {
+      _swap (aKeys, aValues, 0, end);
+      _siftDown (aKeys, aValues, 0, end);
+    }
+  }
+
+  private static void _siftDown (@NonNull final double [] aKeys,
+                                 @NonNull final double [] aValues,
+                                 final int pstart,
+                                 final int n)
+  {
+    int root = pstart;
+    for (;;)
+    {
+      int child = 2 * root + 1;
+      if (child >= n)
+        return;
+      if (child + 1 < n && aKeys[child + 1] > aKeys[child])
+        ++child;
+      if (aKeys[root] >= aKeys[child])
+        return;
+      _swap (aKeys, aValues, root, child);
+      root = child;
+    }
+  }
+
+  private static void _swap (@NonNull final double [] aKeys, @NonNull final double [] aValues, final int i, final int j)
+  {
+    final double k = aKeys[i];
+    aKeys[i] = aKeys[j];
+    aKeys[j] = k;
+    final double v = aValues[i];
+    aValues[i] = aValues[j];
+    aValues[j] = v;
+  }
+
+  /**
+   * @return the number of values
+   */
+  public long getCount ()
+  {
+    return m_nCount;
+  }
+
+  /**
+   * @return the smallest value, +infinity if there is none
+   */
+  public double getMin ()
+  {
+    return m_dMin;
+  }
+
+  /**
+   * @return the largest value, -infinity if there is none
+   */
+  public double getMax ()
+  {
+    return m_dMax;
+  }
+
+  /**
+   * @return the mean, NaN if there are no values
+   */
+  public double getMean ()
+  {
+    return m_nCount == 0 ? Double.NaN : m_dMean;
+  }
+
+  /**
+   * @return the sample variance with n-1 degrees of freedom, NaN for less than
+   *         two values
+   */
+  public double getVariance ()
+  {
+    return m_nCount < 2 ? Double.NaN : m_dM2 / (m_nCount - 1);
+  }
+
+  /**
+   * @return the sample standard deviation, NaN for less than two values
+   */
+  public double getStandardDeviation ()
+  {
+    return Math.sqrt (getVariance ());
+  }
+
+  /**
+   * @return the skewness g1 = m3 / m2^(3/2) of the sample moments, NaN for
+   *         less than two values
+   */
+  public double getSkewness ()
+  {
+    return m_nCount < 2 ? Double.NaN : Math.sqrt ((double) m_nCount) * m_dM3 / Math.pow (m_dM2, 1.5);
+  }
+
+  /**
+   * @return the excess kurtosis g2 = m4 / m2^2 - 3 of the sample moments, NaN
+   *         for less than two values
+   */
+  public double getExcessKurtosis ()
+  {
+    return m_nCount < 2 ? Double.NaN : m_nCount * m_dM4 / (m_dM2 * m_dM2) - 3;
+  }
+
+  /**
+   * @return the number of centroids of the t-digest after merging the buffer
+   */
+  public int getCentroidCount ()
+  {
+    _compress ();
+    return m_nCentroids;
+  }
+
+  /**
+   * Estimate a quantile by interpolating between the centroids.
+   *
+   * @param q
+   *        the quantile in [0, 1], e.g. 0.999 for the 99.9th percentile
+   * @return the estimated value, NaN if there are no values
+   */
+  public double getQuantile (final double q)
+  {
+    if (!(q >= 0 && q <= 1))
+      throw new IllegalArgumentException ("The quantile must be in [0, 1]: " + q);
+    _compress ();
+    if (m_nCentroids == 0)
+      return Double.NaN;
+    if (m_nCentroids == 1)
+      return m_aMeans[0];
+
+    final double total = m_nCount;
+    final double index = q * total;
+
+    // Between the minimum and the center of the first centroid
+    final double firstHalf = m_aWeights[0] / 2;
+    if (index < firstHalf)
+      return m_dMin + (m_aMeans[0] - m_dMin) * (index / firstHalf);
+
+    // Between the centers of two centroids
+    double center = firstHalf;
+    for (int i = 0; i < m_nCentroids - 1; ++i)
+    {
+      final double nextCenter = center + (m_aWeights[i] + m_aWeights[i + 1]) / 2;
+      if (index < nextCenter)
+        return m_aMeans[i] + (m_aMeans[i + 1] - m_aMeans[i]) * ((index - center) / (nextCenter - center));
+      center = nextCenter;
+    }
+
+    // Between the center of the last centroid and the maximum
+    final double lastHalf = m_aWeights[m_nCentroids - 1] / 2;
+    final double fraction = Math.min (1, (index - center) / lastHalf);
+    return m_aMeans[m_nCentroids - 1] + (m_dMax - m_aMeans[m_nCentroids - 1]) * fraction;
+  }
+
+  @Override
+  public String toString ()
+  {
+    return "n=" +
+           m_nCount +
+           ", mean=" +
+           getMean () +
+           ", stddev=" +
+           getStandardDeviation () +
+           ", min=" +
+           m_dMin +
+           ", max=" +
+           m_dMax;
+  }
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for classes {@link DormandPrinceDiffEqSolver} and
+ * {@link CashKarpDiffEqSolver}.
+ */
+public final class AdaptiveDiffEqSolverTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (AdaptiveDiffEqSolverTest.class);
+
+  /** y' = y, y(0) = 1 */
+  private static final class Growth extends AbstractDifferentialEquation
+  {
+    int m_nEvaluations;
+
+    Growth ()
+    {
+      super (new DataPoint (0, 1), "y = e^x");
+    }
+
+    @Override
+    public float at (final float x)
+    {
+      return 0;
+    }
+
+    @Override
+    public float at (final float x, final float y)
+    {
+      ++m_nEvaluations;
+      return y;
+    }
+
+    @Override
+    public float solutionAt (final float x)
+    {
+      return (float) Math.exp (x);
+    }
+  }
+
+  /** y' = -2y + x e^(-2x), y(0) = 1 */
+  private static final class Decay extends AbstractDifferentialEquation
+  {
+    Decay ()
+    {
+      super (new DataPoint (0, 1), "y = e^(-2x) (x^2/2 + 1)");
+    }
+
+    @Override
+    public float at (final float x)
+    {
+      return 0;
+    }
+
+    @Override
+    public float at (final float x, final float y)
+    {
+      return (float) (-2 * y + x * Math.exp (-2 * x));
+    }
+
+    @Override
+    public float solutionAt (final float x)
+    {
+      return (float) (Math.exp (-2 * x) * (x * x / 2 + 1));
+    }
+  }
+
+  /** y' = cos(x) y, y(0) = 1, in double precision */
+  private static final class Oscillation extends AbstractDoubleDifferentialEquation
+  {
+    Oscillation ()
+    {
+      super (0, 1, "y = e^sin(x)");
+    }
+
+    @Override
+    public double at (final double x)
+    {
+      return 0;
+    }
+
+    @Override
+    public double at (final double x, final double y)
+    {
+      return Math.cos (x) * y;
+    }
+
+    @Override
+    public double solutionAt (final double x)
+    {
+      return Math.exp (Math.sin (x));
+    }
+  }
+
+  /** y' = cos(x), y(0) = 0, in double precision */
+  private static final class Sine extends AbstractDoubleDifferentialEquation
+  {
+    Sine ()
+    {
+      super (0, 0, "y = sin(x)");
+    }
+
+    @Override
+    public double at (final double x)
+    {
+      return 0;
+    }
+
+    @Override
+    public double at (final double x, final double y)
+    {
+      return Math.cos (x);
+    }
+
+    @Override
+    public double solutionAt (final double x)
+    {
+      return Math.sin (x);
+    }
+  }
+
+  private static void _check (final AbstractAdaptiveDiffEqSolver aSolver,
+                              final AbstractDoubleDifferentialEquation aEquation,
+                              final double to,
+                              final double delta)
+  {
+    final double y = aSolver.nextPoint (to);
+    final double expected = aEquation.solutionAt (to);
+    LOGGER.info (aSolver.getClass ().getSimpleName () +
+                 ": y(" +
+                 aSolver.getX () +
+                 ") = " +
+                 y +
+                 ", expected " +
+                 expected +
+                 ", " +
+                 aSolver.getStepCount () +
+                 " steps, " +
+                 aSolver.getRejectedStepCount () +
+                 " rejected, " +
+                 aSolver.getEvaluationCount () +
+                 " evaluations");
+    assertEquals (to, aSolver.getX (), 0);
+    assertEquals (expected, y, delta);
+  }
+
+  @Test
+  public void testGrowth ()
+  {
+    final Growth aEq = new Growth ();
+    final DormandPrinceDiffEqSolver aDP = new DormandPrinceDiffEqSolver (aEq);
+    _check (aDP, aEq, 5, 1e-5 * Math.exp (5));
+    final CashKarpDiffEqSolver aCK = new CashKarpDiffEqSolver (aEq);
+    _check (aCK, aEq, 5, 1e-5 * Math.exp (5));
+
+    // Backwards to the start.
+    assertEquals (1, aCK.nextPoint (-5), 1e-5);
+    assertEquals (0, aCK.getX (), 0);
+  }
+
+  @Test
+  public void testDecay ()
+  {
+    final Decay aEq = new Decay ();
+    _check (new DormandPrinceDiffEqSolver (aEq), aEq, 3, 1e-5);
+    _check (new CashKarpDiffEqSolver (aEq), aEq, 3, 1e-5);
+    _check (new DormandPrinceDiffEqSolver (aEq, 1e-4, 1e-4), aEq, 3, 1e-3);
+  }
+
+  @Test
+  public void testDoubleEquation ()
+  {
+    // Tolerances far below float resolution
+    final Oscillation aEq = new Oscillation ();
+    _check (new DormandPrinceDiffEqSolver (aEq, 1e-13, 1e-13), aEq, 20, 1e-10);
+    _check (new CashKarpDiffEqSolver (aEq, 1e-13, 1e-13), aEq, 20, 1e-10);
+  }
+
+  @Test
+  public void testAwkwardWidths ()
+  {
+    // Widths that leave a remainder just below one controller step must not
+    // end in a step too small to tell x and x + h apart.
+    final Oscillation aEq = new Oscillation ();
+    final DormandPrinceDiffEqSolver aSolver = new DormandPrinceDiffEqSolver (aEq, 1e-6, 1e-6);
+    for (int i = 1; i <= 200; ++i)
+      aSolver.nextPoint (0.28244066f);
+    assertEquals (aEq.solutionAt (aSolver.getX ()), aSolver.getY (), 1e-4);
+
+    final Random aRandom = new Random (42);
+    for (int run = 0; run < 500; ++run)
+    {
+      final double h = aRandom.nextDouble () * 0.5;
+      final AbstractAdaptiveDiffEqSolver aRun = run % 2 == 0 ? new DormandPrinceDiffEqSolver (aEq, 1e-6, 1e-6)
+                                                             : new CashKarpDiffEqSolver (aEq, 1e-6, 1e-6);
+      for (int i = 0; i < 100; ++i)
+        aRun.nextPoint (h);
+      assertEquals (aEq.solutionAt (aRun.getX ()), aRun.getY (), 1e-4);
+    }
+
+    // The float equation rounds to float: a width of one double ulp
+    final Decay aFloat = new Decay ();
+    final CashKarpDiffEqSolver aFloatSolver = new CashKarpDiffEqSolver (aFloat);
+    aFloatSolver.nextPoint (1);
+    aFloatSolver.nextPoint (Math.ulp (1.0));
+    assertEquals (1 + Math.ulp (1.0), aFloatSolver.getX (), 0);
+  }
+
+  @Test
+  public void testFewerEvaluationsThanRungeKutta ()
+  {
+    // Fixed-step fourth-order Runge-Kutta over [0, 5] in 100 steps.
+    final Growth aFixed = new Growth ();
+    final RungeKuttaDiffEqSolver aRK = new RungeKuttaDiffEqSolver (aFixed);
+    DataPoint p = null;
+    for (int i = 1; i <= 100; ++i)
+      p = aRK.nextPoint (0.05f);
+    final double fixedError = Math.abs (p.getY () - Math.exp (5)) / Math.exp (5);
+
+    final Growth aAdaptive = new Growth ();
+    final DormandPrinceDiffEqSolver aDP = new DormandPrinceDiffEqSolver (aAdaptive, 1e-7, 1e-7);
+    final double adaptiveError = Math.abs (aDP.nextPoint (5) - Math.exp (5)) / Math.exp (5);
+    LOGGER.info ("Runge-Kutta: error " +
+                 fixedError +
+                 ", " +
+                 aFixed.m_nEvaluations +
+                 " evaluations; Dormand-Prince: error " +
+                 adaptiveError +
+                 ", " +
+                 aAdaptive.m_nEvaluations +
+                 " evaluations");
+    assertEquals (aAdaptive.m_nEvaluations, aDP.getEvaluationCount ());
+    assertTrue (adaptiveError <= fixedError);
+    assertTrue (aAdaptive.m_nEvaluations < aFixed.m_nEvaluations);
+  }
+
+  @Test
+  public void testStepping ()
+  {
+    final Decay aEq = new Decay ();
+    final CashKarpDiffEqSolver aSolver = new CashKarpDiffEqSolver (aEq);
+
+    // Single steps move forward by the chosen step size.
+    double x = 0;
+    for (int i = 0; i < 10; ++i)
+    {
+      final double y = aSolver.nextStep ();
+      assertTrue (aSolver.getX () > x);
+      x = aSolver.getX ();
+      assertEquals (aEq.solutionAt (x), y, 1e-5);
+    }
+    assertEquals (10, aSolver.getStepCount ());
+    assertTrue (aSolver.getStepSize () > 0);
+
+    // Points at fixed intervals hit x exactly.
+    aSolver.reset ();
+    assertEquals (0, aSolver.getEvaluationCount ());
+    for (int i = 1; i <= 20; ++i)
+    {
+      final double y = aSolver.nextPoint (0.25);
+      assertEquals (i * 0.25, aSolver.getX (), 0);
+      assertEquals (aEq.solutionAt (aSolver.getX ()), y, 1e-5);
+    }
+  }
+
+  @Test
+  public void testSingleTolerance ()
+  {
+    // Only a relative tolerance, starting at y = 0
+    final Sine aEq = new Sine ();
+    _check (new DormandPrinceDiffEqSolver (aEq, 0, 1e-8), aEq, 1, 1e-7);
+    _check (new CashKarpDiffEqSolver (aEq, 0, 1e-8), aEq, 1, 1e-7);
+    // Only an absolute tolerance
+    _check (new DormandPrinceDiffEqSolver (aEq, 1e-9, 0), aEq, 1, 1e-7);
+  }
+
+  @Test
+  public void testNonFinite ()
+  {
+    final DormandPrinceDiffEqSolver aSolver = new DormandPrinceDiffEqSolver (new Sine ());
+    for (final double h : new double [] { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY })
+      try
+      {
+        aSolver.nextPoint (h);
+        fail ();
+      }
+      catch (final IllegalArgumentException ex)
+      {
+        // expected
+      }
+    assertEquals (0, aSolver.getX (), 0);
+
+    final AbstractDoubleDifferentialEquation aNaN = new AbstractDoubleDifferentialEquation (0, 1, "NaN")
+    {
+      @Override
+      public double at (final double x)
+      {
+        return 0;
+      }
+
+      @Override
+      public double at (final double x, final double y)
+      {
+        return x > 0.5 ? Double.NaN : y;
+      }
+
+      @Override
+      public double solutionAt (final double x)
+      {
+        return Double.NaN;
+      }
+    };
+    try
+    {
+      new DormandPrinceDiffEqSolver (aNaN).nextPoint (1);
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testInvalidTolerance ()
+  {
+    try
+    {
+      new DormandPrinceDiffEqSolver (new Decay (), 0, 0);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new CashKarpDiffEqSolver (new Decay (), -1, 1e-6);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      // below float epsilon for a float equation
+      new DormandPrinceDiffEqSolver (new Decay (), 1e-12, 1e-9);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new CashKarpDiffEqSolver (new Oscillation (), 1e-12, -1e-6);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    // fine for a double equation
+    new DormandPrinceDiffEqSolver (new Oscillation (), 1e-12, 1e-9);
+    // a single tolerance is enough
+    new DormandPrinceDiffEqSolver (new Decay (), 0, 1e-6);
+    new CashKarpDiffEqSolver (new Decay (), 1e-6, 0);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for classes {@link GaussKronrodIntegrator},
+ * {@link AdaptiveSimpsonsIntegrator} and {@link RombergIntegrator}.
+ */
+public final class AdaptiveIntegratorTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (AdaptiveIntegratorTest.class);
+
+  private static void _check (final AbstractAdaptiveIntegrator aIntegrator,
+                              final float a,
+                              final float b,
+                              final double expected,
+                              final int maxEvaluations)
+  {
+    final float area = aIntegrator.integrate (a, b);
+    LOGGER.info (aIntegrator.getClass ().getSimpleName () +
+                 ": " +
+                 area +
+                 ", error " +
+                 (area - expected) +
+                 ", estimated " +
+                 aIntegrator.getErrorEstimate () +
+                 ", " +
+                 aIntegrator.getEvaluationCount () +
+                 " evaluations");
+    assertTrue (aIntegrator.hasConverged ());
+    assertEquals (expected, area, 1e-5 * Math.abs (expected));
+    assertTrue (aIntegrator.getEvaluationCount () <= maxEvaluations);
+  }
+
+  @Test
+  public void testSmooth ()
+  {
+    // The integral of e^x from 0 to 1 is e - 1.
+    final IEvaluatable f = x -> (float) Math.exp (x);
+    _check (new GaussKronrodIntegrator (f, 1e-6), 0, 1, Math.E - 1, 15);
+    _check (new AdaptiveSimpsonsIntegrator (f, 1e-6), 0, 1, Math.E - 1, 100);
+    _check (new RombergIntegrator (f, 1e-6), 0, 1, Math.E - 1, 33);
+  }
+
+  @Test
+  public void testPeak ()
+  {
+    // A narrow peak: the integral of 1/(e^2 + x^2) from -1 to 1 is
+    // 2/e atan(1/e).
+    final double eps = 1e-3;
+    final IEvaluatable f = x -> (float) (1 / (eps * eps + x * x));
+    final double expected = 2 / eps * Math.atan (1 / eps);
+    _check (new GaussKronrodIntegrator (f, 1e-6), -1, 1, expected, 2000);
+    _check (new AdaptiveSimpsonsIntegrator (f, 1e-6), -1, 1, expected, 5000);
+
+    // The composite rule needs orders of magnitude more evaluations for the
+    // same accuracy.
+    final float composite = new CompensatedSimpsonsIntegrator (f).integrate (-1, 1, 1000);
+    assertTrue (Math.abs (composite - expected) > 1e-3 * expected);
+  }
+
+  @Test
+  public void testSimpsonsEvaluatesEachNodeOnce ()
+  {
+    // The middle node hits the peak at 0, so the first approximation is far
+    // too large, and the relative tolerance is tightened after the first
+    // pass. The converged intervals are refined further instead of starting
+    // over.
+    final double eps = 1e-3;
+    final Set <Double> aNodes = new HashSet <> ();
+    final int [] duplicates = { 0 };
+    final IDoubleEvaluatable f = x -> {
+      if (!aNodes.add (Double.valueOf (x)))
+        duplicates[0]++;
+      return 1 / (eps * eps + x * x);
+    };
+    final double expected = 2 / eps * Math.atan (1 / eps);
+    final AdaptiveSimpsonsIntegrator aIntegrator = new AdaptiveSimpsonsIntegrator (f, 1e-8);
+    assertEquals (expected, aIntegrator.integrate (-1.0, 1.0), 1e-7 * expected);
+    assertTrue (aIntegrator.hasConverged ());
+    assertEquals (0, duplicates[0]);
+    assertEquals (aNodes.size (), aIntegrator.getEvaluationCount ());
+  }
+
+  @Test
+  public void testEndpointSingularity ()
+  {
+    // The integral of 1/sqrt(x) from 0 to 1 is 2. The Gauss-Kronrod nodes
+    // exclude the singular endpoint.
+    final IEvaluatable f = x -> (float) (1 / Math.sqrt (x));
+    _check (new GaussKronrodIntegrator (f, 1e-6), 0, 1, 2, 3000);
+  }
+
+  @Test
+  public void testBudgetExhausted ()
+  {
+    final IEvaluatable f = x -> (float) Math.sin (1 / (x + 1e-2));
+    final GaussKronrodIntegrator aGK = new GaussKronrodIntegrator (f, 0, 1e-9, 150);
+    aGK.integrate (0, 1);
+    assertFalse (aGK.hasConverged ());
+    assertTrue (aGK.getEvaluationCount () <= 150);
+
+    final AdaptiveSimpsonsIntegrator aSimpson = new AdaptiveSimpsonsIntegrator (f, 0, 1e-9, 101);
+    aSimpson.integrate (0, 1);
+    assertFalse (aSimpson.hasConverged ());
+    assertTrue (aSimpson.getEvaluationCount () <= 101);
+
+    final RombergIntegrator aRomberg = new RombergIntegrator (f, 0, 1e-9, 129);
+    aRomberg.integrate (0, 1);
+    assertFalse (aRomberg.hasConverged ());
+    assertTrue (aRomberg.getEvaluationCount () <= 129);
+    assertTrue (aRomberg.getErrorEstimate () > 0);
+  }
+
+  @Test
+  public void testInvalidArguments ()
+  {
+    final GaussKronrodIntegrator aGK = new GaussKronrodIntegrator (x -> 1, 1e-6);
+    assertEquals (0, aGK.integrate (1, 0), 0);
+    assertEquals (0, aGK.getEvaluationCount ());
+    try
+    {
+      new RombergIntegrator (x -> 1, 0, 0, 100);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new AdaptiveSimpsonsIntegrator (x -> 1, 1e-6, 0, 0);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+ * Test class for classes {@link CompensatedTrapezoidalIntegrator} and
+ * {@link CompensatedSimpsonsIntegrator}.
+ */
+public final class CompositeIntegratorTest
+{
+  @Test
+  public void testSameAsOriginal ()
+  {
+    final IEvaluatable f = x -> (float) Math.exp (-x * x);
+    for (final int intervals : new int [] { 1, 2, 7, 32, 100 })
+    {
+      assertEquals (new TrapezoidalIntegrator (f).integrate (0, 2, intervals),
+                    new CompensatedTrapezoidalIntegrator (f).integrate (0, 2, intervals),
+                    1e-5f);
+      assertEquals (new SimpsonsIntegrator (f).integrate (0, 2, intervals),
+                    new CompensatedSimpsonsIntegrator (f).integrate (0, 2, intervals),
+                    1e-5f);
+    }
+  }
+
+  @Test
+  public void testEvaluationCount ()
+  {
+    final AtomicLong aCount = new AtomicLong ();
+    final IEvaluatable f = x -> {
+      aCount.incrementAndGet ();
+      return x * x;
+    };
+
+    new CompensatedTrapezoidalIntegrator (f).integrate (0, 1, 1000);
+    assertEquals (1001, aCount.getAndSet (0));
+    new TrapezoidalIntegrator (f).integrate (0, 1, 1000);
+    assertEquals (2000, aCount.getAndSet (0));
+
+    new CompensatedSimpsonsIntegrator (f).integrate (0, 1, 1000);
+    assertEquals (2001, aCount.getAndSet (0));
+    new SimpsonsIntegrator (f).integrate (0, 1, 1000);
+    assertEquals (3000, aCount.getAndSet (0));
+
+    // Parallel chunks cover every node exactly once
+    new CompensatedSimpsonsIntegrator (f).integrate (0, 1, 100_000);
+    assertEquals (200_001, aCount.getAndSet (0));
+  }
+
+  @Test
+  public void testAccuracy ()
+  {
+    // The integral of sin from 0 to pi is 2. With a float sum the rounding
+    // error of a million intervals dominates the truncation error.
+    final IEvaluatable f = x -> (float) Math.sin (x);
+    final float pi = (float) Math.PI;
+    final float trapezoidal = new CompensatedTrapezoidalIntegrator (f).integrate (0, pi, 1_000_000);
+    final float simpsons = new CompensatedSimpsonsIntegrator (f).integrate (0, pi, 1_000_000);
+    assertEquals (2, trapezoidal, 1e-6f);
+    assertEquals (2, simpsons, 1e-6f);
+  }
+
+  @Test
+  public void testParallelIsReproducible ()
+  {
+    final IEvaluatable f = x -> 1 / (1 + x * x);
+    final float parallel = new CompensatedSimpsonsIntegrator (f).integrate (0, 1, 300_000);
+    final float sequential = new CompensatedSimpsonsIntegrator (f, false).integrate (0, 1, 300_000);
+    assertEquals (sequential, parallel, 0);
+    assertEquals ((float) (Math.PI / 4), parallel, 1e-6f);
+  }
+
+  @Test
+  public void testCompensatedSummation ()
+  {
+    final CompensatedSummation aSum = new CompensatedSummation ();
+    aSum.add (1);
+    aSum.add (1e100);
+    aSum.add (1);
+    aSum.add (-1e100);
+    assertEquals (2, aSum.value (), 0);
+
+    final CompensatedSummation aOther = new CompensatedSummation ();
+    for (int i = 0; i < 10; ++i)
+      aOther.add (0.1);
+    aSum.add (aOther);
+    assertEquals (3, aSum.value (), 0);
+  }
+
+  @Test
+  public void testInvalidArguments ()
+  {
+    assertEquals (0, new CompensatedTrapezoidalIntegrator (x -> 1).integrate (1, 0, 10), 0);
+    try
+    {
+      new CompensatedTrapezoidalIntegrator (x -> 1).integrate (0, 1, 0);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Test class for the double-precision differential equations and solvers.
+ */
+public final class DoubleDiffEqSolverTest
+{
+  /** y' = -2y + x e^(-2x), y(0) = 1 */
+  private static final class Decay extends AbstractDoubleDifferentialEquation
+  {
+    Decay ()
+    {
+      super (0, 1, "y = e^(-2x) (x^2/2 + 1)");
+    }
+
+    @Override
+    public double at (final double x)
+    {
+      return 0;
+    }
+
+    @Override
+    public double at (final double x, final double y)
+    {
+      return -2 * y + x * Math.exp (-2 * x);
+    }
+
+    @Override
+    public double solutionAt (final double x)
+    {
+      return Math.exp (-2 * x) * (x * x / 2 + 1);
+    }
+  }
+
+  private static double _solve (final AbstractDoubleDiffEqSolver aSolver, final int steps)
+  {
+    final double h = 2.0 / steps;
+    for (int i = 0; i < steps; ++i)
+      aSolver.nextPoint (h);
+    return aSolver.getY ();
+  }
+
+  @Test
+  public void testRungeKutta ()
+  {
+    final Decay aEq = new Decay ();
+    final double expected = aEq.solutionAt (2);
+
+    // Fourth order: the error drops by 16 when the step size halves
+    final DoubleRungeKuttaDiffEqSolver aSolver = new DoubleRungeKuttaDiffEqSolver (aEq);
+    final double e1 = Math.abs (_solve (aSolver, 100) - expected);
+    assertEquals (2, aSolver.getX (), 1e-12);
+    aSolver.reset ();
+    final double e2 = Math.abs (_solve (aSolver, 200) - expected);
+    assertEquals (16, e1 / e2, 1);
+
+    aSolver.reset ();
+    assertEquals (expected, _solve (aSolver, 2000), 1e-13);
+  }
+
+  @Test
+  public void testLowerOrder ()
+  {
+    final Decay aEq = new Decay ();
+    final double expected = aEq.solutionAt (2);
+    assertEquals (expected, _solve (new DoubleEulersDiffEqSolver (aEq), 100_000), 1e-5);
+    assertEquals (expected, _solve (new DoublePredictorCorrectorDiffEqSolver (aEq), 100_000), 1e-5);
+  }
+
+  @Test
+  public void testFloatEquationAsDouble ()
+  {
+    final AbstractDifferentialEquation aFloat = new AbstractDifferentialEquation (new DataPoint (0, 1), "y = e^x")
+    {
+      @Override
+      public float at (final float x)
+      {
+        return 0;
+      }
+
+      @Override
+      public float at (final float x, final float y)
+      {
+        return y;
+      }
+
+      @Override
+      public float solutionAt (final float x)
+      {
+        return (float) Math.exp (x);
+      }
+    };
+    assertEquals (0.1f, aFloat.at (0.5, 0.1), 0);
+    assertEquals (0, aFloat.getInitialX (), 0);
+    assertEquals (1, aFloat.getInitialY (), 0);
+    assertEquals ("y = e^x", aFloat.getSolutionLabel ());
+
+    final DoubleRungeKuttaDiffEqSolver aSolver = new DoubleRungeKuttaDiffEqSolver (aFloat);
+    assertEquals (Math.exp (2), _solve (aSolver, 100), 1e-5 * Math.exp (2));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Test class for the double-precision functions and integrators.
+ */
+public final class DoubleIntegrationTest
+{
+  /**
+   * e^x with its derivative.
+   */
+  private static final class Exp extends AbstractDoubleFunction
+  {
+    @Override
+    public double at (final double x)
+    {
+      return Math.exp (x);
+    }
+
+    @Override
+    public double derivativeAt (final double x)
+    {
+      return Math.exp (x);
+    }
+  }
+
+  @Test
+  public void testFloatFunctionAsDouble ()
+  {
+    final IEvaluatable f = x -> x * 3;
+    final IDoubleEvaluatable d = f;
+    // Evaluated at x rounded to float
+    assertEquals (0.1f * 3f, d.at (0.1), 0);
+
+    final double [] xs = { 0.1, 0.2, 0.3 };
+    final double [] ys = new double [3];
+    d.at (xs, ys, 3);
+    assertEquals (0.3f * 3f, ys[2], 0);
+  }
+
+  @Test
+  public void testCompositeDouble ()
+  {
+    final Exp f = new Exp ();
+    assertEquals (f.at (1.5), f.derivativeAt (1.5), 0);
+
+    // With millions of intervals float nodes have lost their precision, while
+    // the double result keeps improving.
+    final double expected = Math.E - 1;
+    final double trapezoidal = new CompensatedTrapezoidalIntegrator (f).integrate (0.0, 1.0, 1 << 22);
+    assertEquals (expected, trapezoidal, 1e-13);
+    final double simpsons = new CompensatedSimpsonsIntegrator (f).integrate (0.0, 1.0, 1000);
+    assertEquals (expected, simpsons, 1e-14);
+
+    final IDoubleIntegrator aIntegrator = new CompensatedSimpsonsIntegrator (x -> 1 / x, false);
+    assertEquals (Math.log (1000), aIntegrator.integrate (1, 1000.0, 1_000_000), 1e-12);
+  }
+
+  @Test
+  public void testAdaptiveDouble ()
+  {
+    final double expected = Math.E - 1;
+    final IAdaptiveIntegrator [] aIntegrators = { new GaussKronrodIntegrator (new Exp (), 1e-13),
+                                                  new AdaptiveSimpsonsIntegrator (new Exp (), 1e-13),
+                                                  new RombergIntegrator (new Exp (), 1e-13) };
+    for (final IAdaptiveIntegrator aIntegrator : aIntegrators)
+    {
+      assertEquals (expected, aIntegrator.integrate (0.0, 1.0), 1e-13);
+      assertTrue (aIntegrator.hasConverged ());
+      assertTrue (aIntegrator.getErrorEstimate () < 1e-12);
+    }
+  }
+}
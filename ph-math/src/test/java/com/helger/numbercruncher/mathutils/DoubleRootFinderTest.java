@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Test class for the double-precision root finders.
+ */
+public final class DoubleRootFinderTest
+{
+  private static final double SQRT2 = Math.sqrt (2);
+
+  /** x^2 - 2 */
+  private static final class Square extends AbstractDoubleFunction
+  {
+    @Override
+    public double at (final double x)
+    {
+      return x * x - 2;
+    }
+
+    @Override
+    public double derivativeAt (final double x)
+    {
+      return 2 * x;
+    }
+  }
+
+  /** x^2 - 2 in float */
+  private static final class FloatSquare extends AbstractFunction
+  {
+    @Override
+    public float at (final float x)
+    {
+      return x * x - 2;
+    }
+
+    @Override
+    public float derivativeAt (final float x)
+    {
+      return 2 * x;
+    }
+  }
+
+  private static void _solve (final AbstractDoubleRootFinder aFinder) throws Exception
+  {
+    while (!aFinder.step ())
+    {
+      // iterate
+    }
+  }
+
+  @Test
+  public void testBracketing () throws Exception
+  {
+    final DoubleBisectionRootFinder aBisection = new DoubleBisectionRootFinder (new Square (), 1, 2);
+    _solve (aBisection);
+    assertEquals (SQRT2, aBisection.getXMid (), 1e-13);
+
+    final DoubleRegulaFalsiRootFinder aRegulaFalsi = new DoubleRegulaFalsiRootFinder (new Square (), 1, 2);
+    _solve (aRegulaFalsi);
+    assertEquals (SQRT2, aRegulaFalsi.getXFalse (), 1e-13);
+
+    final DoubleImprovedRegulaFalsiRootFinder aImproved = new DoubleImprovedRegulaFalsiRootFinder (new Square (), 1, 2);
+    _solve (aImproved);
+    assertEquals (SQRT2, aImproved.getXFalse (), 1e-13);
+    assertTrue (aImproved.getIterationCount () < aRegulaFalsi.getIterationCount ());
+
+    try
+    {
+      new DoubleBisectionRootFinder (new Square (), 2, 3);
+      fail ();
+    }
+    catch (final AbstractRootFinder.InvalidIntervalException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testOpen () throws Exception
+  {
+    final DoubleSecantRootFinder aSecant = new DoubleSecantRootFinder (new Square (), 1, 2);
+    _solve (aSecant);
+    assertEquals (SQRT2, aSecant.getXnp1 (), 1e-14);
+
+    final DoubleNewtonsRootFinder aNewton = new DoubleNewtonsRootFinder (new Square ());
+    aNewton.reset (1);
+    _solve (aNewton);
+    assertEquals (SQRT2, aNewton.getXnp1 (), 1e-14);
+
+    // g(x) = (x + 2/x) / 2 has the fixed point sqrt(2)
+    final DoubleFixedPointRootFinder aFixedPoint = new DoubleFixedPointRootFinder (new AbstractDoubleFunction ()
+    {
+      @Override
+      public double at (final double x)
+      {
+        return (x + 2 / x) / 2;
+      }
+    });
+    aFixedPoint.reset (1);
+    _solve (aFixedPoint);
+    assertEquals (SQRT2, aFixedPoint.getGn (), 1e-14);
+  }
+
+  @Test
+  public void testBeyondFloatResolution () throws Exception
+  {
+    final NewtonsRootFinder aFloat = new NewtonsRootFinder (new FloatSquare ());
+    aFloat.reset (1);
+    try
+    {
+      while (!aFloat.step ())
+      {
+        // iterate
+      }
+    }
+    catch (final AbstractRootFinder.PositionUnchangedException ex)
+    {
+      // float resolution reached
+    }
+    final double floatError = Math.abs (aFloat.getXnp1 () - SQRT2);
+
+    final DoubleNewtonsRootFinder aDouble = new DoubleNewtonsRootFinder (new Square ());
+    aDouble.reset (1);
+    _solve (aDouble);
+    final double doubleError = Math.abs (aDouble.getXnp1 () - SQRT2);
+
+    assertTrue (floatError > 1e-9);
+    assertTrue (doubleError < 1e-14);
+  }
+
+  @Test
+  public void testFloatFunctionAsDouble () throws Exception
+  {
+    final FloatSquare f = new FloatSquare ();
+    final AbstractDoubleFunction d = f;
+    // Evaluated at x rounded to float
+    assertEquals (0.1f * 0.1f - 2, d.at (0.1), 0);
+    assertEquals (2 * 0.1f, d.derivativeAt (0.1), 0);
+
+    // The float values limit the root to float resolution.
+    final DoubleBisectionRootFinder aFinder = new DoubleBisectionRootFinder (f, 1, 2);
+    try
+    {
+      _solve (aFinder);
+    }
+    catch (final AbstractRootFinder.PositionUnchangedException | AbstractRootFinder.IterationCountExceededException ex)
+    {
+      // float resolution reached
+    }
+    assertEquals (SQRT2, aFinder.getXMid (), 1e-6);
+  }
+}
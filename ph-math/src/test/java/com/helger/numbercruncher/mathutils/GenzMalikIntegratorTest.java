@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link GenzMalikIntegrator}.
+ */
+public final class GenzMalikIntegratorTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (GenzMalikIntegratorTest.class);
+
+  private static double [] _filled (final int n, final double value)
+  {
+    final double [] ret = new double [n];
+    Arrays.fill (ret, value);
+    return ret;
+  }
+
+  @Test
+  public void testPolynomialIsExact ()
+  {
+    // The rule of degree 7 integrates x^3 y^2 z + 1 over [0, 2]^3 exactly:
+    // 4 * 8/3 * 2 + 8
+    final IMultivariateEvaluatable f = x -> x[0] * x[0] * x[0] * x[1] * x[1] * x[2] + 1;
+    final GenzMalikIntegrator aIntegrator = new GenzMalikIntegrator (f, 3, 0, 1e-12, 100_000, false);
+    assertEquals (64.0 / 3 + 8, aIntegrator.integrate (_filled (3, 0), _filled (3, 2)), 1e-12);
+    assertTrue (aIntegrator.hasConverged ());
+    assertEquals (aIntegrator.getPointsPerRegion (), aIntegrator.getEvaluationCount ());
+    assertEquals (1 + 12 + 12 + 8, aIntegrator.getPointsPerRegion ());
+  }
+
+  @Test
+  public void testCornerBatches ()
+  {
+    // 2^12 corners are evaluated in several batches; one region is still
+    // exact for x^3 y^2 z + sum of x_i^2 over [0, 1]^12
+    final int nDim = 12;
+    final IMultivariateEvaluatable f = x -> {
+      double ret = x[0] * x[0] * x[0] * x[1] * x[1] * x[2];
+      for (final double xi : x)
+        ret += xi * xi;
+      return ret;
+    };
+    final int points = 1 + 4 * nDim + 2 * nDim * (nDim - 1) + (1 << nDim);
+    final GenzMalikIntegrator aIntegrator = new GenzMalikIntegrator (f, nDim, 0, 1e-12, points, false);
+    assertEquals (points, aIntegrator.getPointsPerRegion ());
+    assertTrue (points > GenzMalikIntegrator.CORNER_BATCH_SIZE);
+    assertEquals (1.0 / 24 + nDim / 3.0, aIntegrator.integrate (_filled (nDim, 0), _filled (nDim, 1)), 1e-12);
+    assertEquals (points, aIntegrator.getEvaluationCount ());
+  }
+
+  @Test
+  public void testSmooth ()
+  {
+    for (int nDim = 2; nDim <= 5; ++nDim)
+    {
+      // The integral of e^(x1 + ... + xn) over the unit cube is (e - 1)^n.
+      final IMultivariateEvaluatable f = x -> {
+        double s = 0;
+        for (final double xi : x)
+          s += xi;
+        return Math.exp (s);
+      };
+      final GenzMalikIntegrator aIntegrator = new GenzMalikIntegrator (f, nDim, 0, 1e-6, 1_000_000, true);
+      final double expected = Math.pow (Math.E - 1, nDim);
+      final double integral = aIntegrator.integrate (_filled (nDim, 0), _filled (nDim, 1));
+      LOGGER.info (nDim +
+                   "D: error " +
+                   (integral - expected) +
+                   ", estimated " +
+                   aIntegrator.getErrorEstimate () +
+                   ", " +
+                   aIntegrator.getEvaluationCount () +
+                   " evaluations");
+      assertTrue (aIntegrator.hasConverged ());
+      assertEquals (expected, integral, 1e-6 * expected);
+    }
+  }
+
+  @Test
+  public void testPeak ()
+  {
+    // A peak in the middle of the unit cube:
+    // prod 1 / (a^2 + (x_i - 1/2)^2) integrates to ((2/a) atan (1/(2a)))^n.
+    final int nDim = 4;
+    final double a = 0.1;
+    final IMultivariateEvaluatable f = x -> {
+      double p = 1;
+      for (final double xi : x)
+        p /= a * a + (xi - 0.5) * (xi - 0.5);
+      return p;
+    };
+    final double expected = Math.pow (2 / a * Math.atan (0.5 / a), nDim);
+    final GenzMalikIntegrator aParallel = new GenzMalikIntegrator (f, nDim, 0, 1e-4, 1_000_000, true);
+    final double parallel = aParallel.integrate (_filled (nDim, 0), _filled (nDim, 1));
+    LOGGER.info ("Peak: error " +
+                 (parallel / expected - 1) +
+                 ", estimated " +
+                 aParallel.getErrorEstimate () / expected +
+                 ", " +
+                 aParallel.getEvaluationCount () +
+                 " evaluations");
+    assertTrue (aParallel.hasConverged ());
+    assertEquals (expected, parallel, 1e-4 * expected);
+
+    // Parallel evaluation gives the same result
+    final GenzMalikIntegrator aSequential = new GenzMalikIntegrator (f, nDim, 0, 1e-4, 1_000_000, false);
+    assertEquals (parallel, aSequential.integrate (_filled (nDim, 0), _filled (nDim, 1)), 0);
+    assertEquals (aParallel.getEvaluationCount (), aSequential.getEvaluationCount ());
+  }
+
+  @Test
+  public void testBudgetExhausted ()
+  {
+    final IMultivariateEvaluatable f = x -> Math.sin (50 * x[0] * x[1]);
+    final GenzMalikIntegrator aIntegrator = new GenzMalikIntegrator (f, 2, 0, 1e-12, 1000, true);
+    aIntegrator.integrate (_filled (2, 0), _filled (2, 1));
+    assertFalse (aIntegrator.hasConverged ());
+    assertTrue (aIntegrator.getEvaluationCount () <= 1000);
+  }
+
+  @Test
+  public void testInvalidArguments ()
+  {
+    final GenzMalikIntegrator aIntegrator = new GenzMalikIntegrator (x -> 1, 2, 1e-6, 0, 1000, true);
+    try
+    {
+      aIntegrator.integrate (new double [] { 0, 1 }, new double [] { 1, 1 });
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      aIntegrator.integrate (new double [] { 0 }, new double [] { 1 });
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new GenzMalikIntegrator (x -> 1, 1, 1e-6, 0, 1000, true);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new GenzMalikIntegrator (x -> 1, GenzMalikIntegrator.MAX_DIMENSION + 1, 1e-6, 0, 1000, true);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
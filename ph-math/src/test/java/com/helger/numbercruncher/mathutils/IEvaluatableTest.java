@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Test class for interface {@link IEvaluatable}.
+ */
+public final class IEvaluatableTest
+{
+  /**
+   * A function that only supports batch evaluation.
+   */
+  private static final class BatchOnlyFunction implements IEvaluatable
+  {
+    private int m_nPoints;
+
+    public float at (final float x)
+    {
+      throw new UnsupportedOperationException ();
+    }
+
+    @Override
+    public void at (final float [] xs, final float [] ys, final int n)
+    {
+      m_nPoints += n;
+      for (int i = 0; i < n; ++i)
+        ys[i] = xs[i] * xs[i];
+    }
+  }
+
+  @Test
+  public void testDefault ()
+  {
+    final IEvaluatable f = x -> 2 * x;
+    final float [] xs = { 1, 2, 3, 4 };
+    final float [] ys = new float [4];
+    f.at (xs, ys, 3);
+    assertArrayEquals (new float [] { 2, 4, 6, 0 }, ys, 0);
+
+    // In place
+    f.at (xs, xs, 4);
+    assertArrayEquals (new float [] { 2, 4, 6, 8 }, xs, 0);
+
+    try
+    {
+      f.at (xs, new float [2], 3);
+      fail ();
+    }
+    catch (final IndexOutOfBoundsException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testIntegratorsUseBatches ()
+  {
+    final BatchOnlyFunction f = new BatchOnlyFunction ();
+    assertEquals (1f / 3, new CompensatedTrapezoidalIntegrator (f).integrate (0, 1, 100_000), 1e-6f);
+    assertEquals (100_001, f.m_nPoints);
+
+    f.m_nPoints = 0;
+    assertEquals (1f / 3, new CompensatedSimpsonsIntegrator (f, false).integrate (0, 1, 10), 1e-6f);
+    assertEquals (21, f.m_nPoints);
+
+    final AbstractAdaptiveIntegrator [] aIntegrators = { new GaussKronrodIntegrator (f, 1e-6),
+                                                         new AdaptiveSimpsonsIntegrator (f, 1e-6),
+                                                         new RombergIntegrator (f, 1e-6) };
+    for (final AbstractAdaptiveIntegrator aIntegrator : aIntegrators)
+    {
+      f.m_nPoints = 0;
+      assertEquals (1f / 3, aIntegrator.integrate (0, 1), 1e-6f);
+      assertTrue (aIntegrator.hasConverged ());
+      assertEquals (aIntegrator.getEvaluationCount (), f.m_nPoints);
+    }
+  }
+}
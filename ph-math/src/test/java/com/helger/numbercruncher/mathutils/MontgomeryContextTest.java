@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link MontgomeryContext} and the long methods of
+ * {@link ModuloArithmetic}.
+ */
+public final class MontgomeryContextTest
+{
+  private static long _nextBelow (final Random aRandom, final long m)
+  {
+    return (aRandom.nextLong () >>> 1) % m;
+  }
+
+  @Test
+  public void testCompareWithBigInteger ()
+  {
+    final Random aRandom = new Random (1);
+    for (int i = 0; i < 20_000; ++i)
+    {
+      // Cover all bit lengths of the modulus
+      final int bits = 2 + aRandom.nextInt (62);
+      final long m = ((aRandom.nextLong () >>> (64 - bits)) | (1L << (bits - 1)) | 1) & Long.MAX_VALUE;
+      final BigInteger bm = BigInteger.valueOf (m);
+      final MontgomeryContext aCtx = new MontgomeryContext (m);
+
+      final long a = _nextBelow (aRandom, m);
+      final long b = _nextBelow (aRandom, m);
+      final long e = aRandom.nextLong () >>> 1;
+      final long ab = BigInteger.valueOf (a).multiply (BigInteger.valueOf (b)).mod (bm).longValue ();
+      final long aPowE = BigInteger.valueOf (a).modPow (BigInteger.valueOf (e), bm).longValue ();
+
+      assertEquals (a, aCtx.fromMontgomery (aCtx.toMontgomery (a)));
+      assertEquals (ab, aCtx.multiply (a, b));
+      assertEquals (aPowE, aCtx.raise (a, e));
+
+      // Even moduli go through the 128 bit remainder
+      final long mEven = m == Long.MAX_VALUE ? m - 1 : m + 1;
+      final long c = _nextBelow (aRandom, mEven);
+      final long d = _nextBelow (aRandom, mEven);
+      final BigInteger bmEven = BigInteger.valueOf (mEven);
+      assertEquals (BigInteger.valueOf (c).multiply (BigInteger.valueOf (d)).mod (bmEven).longValue (),
+                    ModuloArithmetic.multiply (c, d, mEven));
+      assertEquals (BigInteger.valueOf (c).modPow (BigInteger.valueOf (e), bmEven).longValue (),
+                    ModuloArithmetic.raise (c, e, mEven));
+      assertEquals (aPowE, ModuloArithmetic.raise (a, e, m));
+    }
+  }
+
+  @Test
+  public void testEdgeCases ()
+  {
+    final long m = Long.MAX_VALUE;
+    final MontgomeryContext aCtx = new MontgomeryContext (m);
+    assertEquals (1, aCtx.multiply (m - 1, m - 1));
+    assertEquals (1, ModuloArithmetic.multiply (m - 1, m - 1, m));
+    assertEquals (1, aCtx.raise (2, 0));
+    assertEquals (0, aCtx.raise (0, 5));
+    assertEquals (1, new MontgomeryContext (3).raise (2, 2));
+
+    // int overload no longer overflows for large moduli
+    assertEquals (BigInteger.valueOf (Integer.MAX_VALUE - 1)
+                            .modPow (BigInteger.valueOf (12345), BigInteger.valueOf (Integer.MAX_VALUE))
+                            .intValue (),
+                  ModuloArithmetic.raise (Integer.MAX_VALUE - 1, 12345, Integer.MAX_VALUE));
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Test class for classes {@link RandomNormal}, {@link RandomExponential} and
+ * {@link AbstractRandomSampler}.
+ */
+public final class RandomNormalTest
+{
+  @Test
+  public void testSeedIsReproducible ()
+  {
+    final RandomNormal a = new RandomNormal (42);
+    final RandomNormal b = new RandomNormal (42);
+    a.setParameters (1, 2);
+    b.setParameters (1, 2);
+    for (int i = 0; i < 1000; ++i)
+    {
+      assertEquals (a.nextPolar (), b.nextPolar (), 0);
+      assertEquals (a.nextRatio (), b.nextRatio (), 0);
+    }
+
+    final RandomExponential e1 = new RandomExponential (7);
+    final RandomExponential e2 = new RandomExponential (7);
+    e1.setParameters (3);
+    e2.setParameters (3);
+    for (int i = 0; i < 1000; ++i)
+      assertEquals (e1.nextLog (), e2.nextLog (), 0);
+  }
+
+  @Test
+  public void testSplit ()
+  {
+    final RandomNormal aNormal = new RandomNormal (42);
+    aNormal.setParameters (5, 2);
+
+    // Split samplers keep the parameters and are reproducible, but differ from
+    // each other.
+    final RandomNormal aSplit1 = aNormal.split ();
+    final RandomNormal aSplit2 = aNormal.split ();
+    final RandomNormal aNormalAgain = new RandomNormal (42);
+    aNormalAgain.setParameters (5, 2);
+    final RandomNormal aSplit1Again = aNormalAgain.split ();
+    assertEquals (aSplit1.nextCentral (), aSplit1Again.nextCentral (), 0);
+    assertNotEquals (aSplit1.nextCentral (), aSplit2.nextCentral (), 0);
+
+    // Parallel sampling with one split sampler per task.
+    final int tasks = 8;
+    final int n = 100_000;
+    final RandomNormal [] aSamplers = new RandomNormal [tasks];
+    for (int i = 0; i < tasks; ++i)
+      aSamplers[i] = aNormal.split ();
+    final double sum = IntStream.range (0, tasks).parallel ().mapToDouble (i -> {
+      double s = 0;
+      for (int j = 0; j < n; ++j)
+        s += aSamplers[i].nextRatio ();
+      return s;
+    }).sum ();
+    assertEquals (5, sum / (tasks * n), 0.01);
+  }
+
+  @Test
+  public void testFill ()
+  {
+    final RandomNormal aNormal = new RandomNormal (1);
+    aNormal.setParameters (3, 2);
+
+    // Large arrays are filled in parallel, but reproducibly.
+    final float [] a = new float [1_000_003];
+    aNormal.fill (a, 1, a.length - 2);
+    final RandomNormal aNormalAgain = new RandomNormal (1);
+    aNormalAgain.setParameters (3, 2);
+    final float [] b = new float [a.length];
+    aNormalAgain.fill (b, 1, b.length - 2);
+    assertArrayEquals (a, b, 0);
+    assertEquals (0, a[0], 0);
+    assertEquals (0, a[a.length - 1], 0);
+
+    double sum = 0;
+    double sum2 = 0;
+    for (int i = 1; i < a.length - 1; ++i)
+    {
+      sum += a[i];
+      sum2 += (a[i] - 3.0) * (a[i] - 3.0);
+    }
+    assertEquals (3, sum / (a.length - 2), 0.01);
+    assertEquals (4, sum2 / (a.length - 2), 0.02);
+
+    final RandomExponential aExponential = new RandomExponential (2);
+    aExponential.setParameters (0.5f);
+    final double [] d = new double [100];
+    aExponential.fill (d, 0, d.length);
+    for (final double x : d)
+      assertTrue (x >= 0);
+  }
+
+  @Test
+  public void testDoubles ()
+  {
+    final RandomExponential aExponential = new RandomExponential (3);
+    aExponential.setParameters (2);
+    assertEquals (0, aExponential.doubles (0).count ());
+    assertEquals (1000, aExponential.doubles (1000).count ());
+
+    final long n = 2_000_001;
+    assertEquals (n, aExponential.doubles (n).parallel ().count ());
+    assertEquals (2, aExponential.doubles (n).parallel ().average ().getAsDouble (), 0.01);
+    assertEquals (2, aExponential.doubles (n).limit (1000).average ().getAsDouble (), 0.3);
+    assertEquals (n, aExponential.doubles (n).parallel ().filter (x -> x >= 0).count ());
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link SegmentedPrimeSieve}.
+ */
+public final class SegmentedPrimeSieveTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (SegmentedPrimeSieveTest.class);
+
+  @Test
+  public void testCompareWithPrimeSieve ()
+  {
+    final int n = 1_000_003;
+    final boolean [] isPrime = PrimeFactors.primeSieve (n);
+    for (final int limit : new int [] { 0, 1, 2, 3, 4, 63, 64, 127, 128, 129, 1000, 524_287, 524_288, n })
+    {
+      final SegmentedPrimeSieve aSieve = new SegmentedPrimeSieve (limit);
+      int count = 0;
+      for (int i = 0; i <= limit; ++i)
+      {
+        assertEquals ("limit " + limit + ", n=" + i, isPrime[i], aSieve.isPrime (i));
+        if (isPrime[i])
+          ++count;
+      }
+      assertEquals (count, aSieve.countPrimes ());
+
+      // The iterator returns exactly the primes in order
+      final PrimitiveIterator.OfLong it = aSieve.primeIterator ();
+      for (int i = 0; i <= limit; ++i)
+        if (isPrime[i])
+          assertEquals (i, it.nextLong ());
+      assertFalse (it.hasNext ());
+    }
+  }
+
+  @Test
+  public void testCount ()
+  {
+    final long start = System.currentTimeMillis ();
+    final SegmentedPrimeSieve aSieve = new SegmentedPrimeSieve (100_000_000);
+    LOGGER.info ("Sieved up to 10^8 in " + (System.currentTimeMillis () - start) + " ms");
+    assertEquals (5_761_455, aSieve.countPrimes ());
+    assertEquals ((100_000_000 / 2 + 63) / 64, aSieve.getBits ().length);
+  }
+}
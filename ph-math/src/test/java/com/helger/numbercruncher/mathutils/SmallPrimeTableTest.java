@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link SmallPrimeTable}.
+ */
+public final class SmallPrimeTableTest
+{
+  @Test
+  public void testCompareWithPrimeSieve ()
+  {
+    final int n = 1_000_000;
+    final boolean [] isPrime = PrimeFactors.primeSieve (n);
+    for (int i = 0; i <= n; ++i)
+      assertEquals ("n=" + i, isPrime[i], SmallPrimeTable.isSmallPrime (i));
+    assertTrue (SmallPrimeTable.getLimit () >= n);
+
+    final int [] expected = IntStream.rangeClosed (0, n).filter (i -> isPrime[i]).toArray ();
+    assertArrayEquals (expected, SmallPrimeTable.primesUpTo (n));
+    assertArrayEquals (new int [0], SmallPrimeTable.primesUpTo (1));
+    assertArrayEquals (new int [] { 2, 3, 5, 7 }, SmallPrimeTable.primesUpTo (10));
+    assertArrayEquals (new int [] { 2, 3, 5, 7, 11 }, SmallPrimeTable.primesUpTo (11));
+  }
+
+  @Test
+  public void testConcurrentGrowth () throws InterruptedException
+  {
+    // Several threads grow the table at the same time.
+    final int limit = 5_000_000;
+    final int [] counts = new int [4];
+    final Thread [] aThreads = new Thread [counts.length];
+    for (int t = 0; t < aThreads.length; ++t)
+    {
+      final int index = t;
+      aThreads[t] = new Thread ( () -> counts[index] = SmallPrimeTable.primesUpTo (limit - index).length);
+      aThreads[t].start ();
+    }
+    for (final Thread aThread : aThreads)
+      aThread.join ();
+
+    // pi(5,000,000) = 348,513 and 4,999,999 is the largest prime below
+    assertEquals (348_513, counts[0]);
+    assertEquals (348_513, counts[1]);
+    assertEquals (348_512, counts[2]);
+    assertEquals (348_512, counts[3]);
+  }
+
+  @Test
+  public void testLimit ()
+  {
+    try
+    {
+      SmallPrimeTable.isSmallPrime (SmallPrimeTable.MAX_LIMIT + 1);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testFactorsWithoutCopy ()
+  {
+    // The shared array is handed out as is, and covers the limit.
+    final int [] aPrimes = SmallPrimeTable.getPrimesCovering (1000);
+    assertTrue (aPrimes == SmallPrimeTable.getPrimesCovering (1000));
+    assertTrue (aPrimes[aPrimes.length - 1] >= 997);
+
+    assertArrayEquals (new int [] { 2, 3, 7, 11, 31, 151, 331 }, PrimeFactors.factorsOf (Integer.MAX_VALUE - 1));
+    assertArrayEquals (new int [] { Integer.MAX_VALUE }, PrimeFactors.factorsOf (Integer.MAX_VALUE));
+    assertArrayEquals (new int [] { 2, 3, 7 }, PrimeFactors.factorsOf (84));
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.mathutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link Ziggurat}.
+ */
+public final class ZigguratTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (ZigguratTest.class);
+  private static final int N = 4_000_000;
+
+  @Test
+  public void testNormal ()
+  {
+    final SplittableRandom aRandom = new SplittableRandom (1);
+    double sum = 0;
+    double sum2 = 0;
+    double sum4 = 0;
+    int beyond1 = 0;
+    int beyond3 = 0;
+    int beyondR = 0;
+    for (int i = 0; i < N; ++i)
+    {
+      final double x = Ziggurat.nextNormal (aRandom);
+      final double x2 = x * x;
+      sum += x;
+      sum2 += x2;
+      sum4 += x2 * x2;
+      if (Math.abs (x) > 1)
+        ++beyond1;
+      if (Math.abs (x) > 3)
+        ++beyond3;
+      if (Math.abs (x) > 3.442619855899)
+        ++beyondR;
+    }
+    assertEquals (0, sum / N, 0.002);
+    assertEquals (1, sum2 / N, 0.003);
+    assertEquals (3, sum4 / N, 0.02);
+    assertEquals (0.31731, (double) beyond1 / N, 0.001);
+    assertEquals (0.0026998, (double) beyond3 / N, 0.0001);
+    assertEquals (0.000576, (double) beyondR / N, 0.00004);
+  }
+
+  @Test
+  public void testExponential ()
+  {
+    final SplittableRandom aRandom = new SplittableRandom (2);
+    double sum = 0;
+    double sum2 = 0;
+    int beyond1 = 0;
+    int beyond8 = 0;
+    for (int i = 0; i < N; ++i)
+    {
+      final double x = Ziggurat.nextExponential (aRandom);
+      assertTrue (x >= 0);
+      sum += x;
+      sum2 += x * x;
+      if (x > 1)
+        ++beyond1;
+      if (x > 8)
+        ++beyond8;
+    }
+    assertEquals (1, sum / N, 0.002);
+    assertEquals (2, sum2 / N, 0.01);
+    assertEquals (Math.exp (-1), (double) beyond1 / N, 0.001);
+    assertEquals (Math.exp (-8), (double) beyond8 / N, 0.00003);
+  }
+
+  @Test
+  public void testBenchmark ()
+  {
+    final RandomNormal aNormal = new RandomNormal (3);
+    aNormal.setParameters (0, 1);
+    final RandomExponential aExponential = new RandomExponential (3);
+    aExponential.setParameters (1);
+
+    float sink = 0;
+    long start = System.nanoTime ();
+    for (int i = 0; i < N; ++i)
+      sink += aNormal.nextPolar ();
+    final long polarMillis = (System.nanoTime () - start) / 1_000_000;
+    start = System.nanoTime ();
+    for (int i = 0; i < N; ++i)
+      sink += aNormal.nextZiggurat ();
+    final long zigguratMillis = (System.nanoTime () - start) / 1_000_000;
+    start = System.nanoTime ();
+    for (int i = 0; i < N; ++i)
+      sink += aExponential.nextLog ();
+    final long logMillis = (System.nanoTime () - start) / 1_000_000;
+    start = System.nanoTime ();
+    for (int i = 0; i < N; ++i)
+      sink += aExponential.nextZiggurat ();
+    final long expZigguratMillis = (System.nanoTime () - start) / 1_000_000;
+
+    LOGGER.info (N +
+                 " values: normal polar " +
+                 polarMillis +
+                 " ms, ziggurat " +
+                 zigguratMillis +
+                 " ms; exponential log " +
+                 logMillis +
+                 " ms, ziggurat " +
+                 expZigguratMillis +
+                 " ms (" +
+                 sink +
+                 ")");
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.piutils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link PiBBP}.
+ */
+public final class PiBBPTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (PiBBPTest.class);
+
+  @Test
+  public void testFirstDigits ()
+  {
+    assertEquals ("243F6A88", PiBBP.hexDigitsAt (1, 8));
+    assertEquals ("85A308D3", PiBBP.hexDigitsAt (9, 8));
+    assertEquals (2, PiBBP.hexDigitAt (1));
+    assertEquals (0xF, PiBBP.hexDigitAt (4));
+  }
+
+  @Test
+  public void testCompareWithChudnovsky ()
+  {
+    // 5000 decimal digits are good for about 4150 hex digits
+    final BigDecimal pi = new PiChudnovsky (5000).getPi ();
+    final int hexDigits = 4000;
+    final String hex = pi.subtract (BigDecimal.valueOf (3))
+                         .multiply (new BigDecimal (BigInteger.ONE.shiftLeft (4 * hexDigits)))
+                         .toBigInteger ()
+                         .toString (16)
+                         .toUpperCase ();
+    assertEquals (hexDigits, hex.length ());
+
+    final long [] positions = new long [hexDigits];
+    for (int i = 0; i < hexDigits; ++i)
+      positions[i] = i + 1;
+    final int [] digits = PiBBP.hexDigitsAt (positions);
+    for (int i = 0; i < hexDigits; ++i)
+      assertEquals ("position " + (i + 1), Character.digit (hex.charAt (i), 16), digits[i]);
+
+    for (final int position : new int [] { 1, 333, 1000, 2500, 3990 })
+      assertEquals (hex.substring (position - 1, position + 7), PiBBP.hexDigitsAt (position, 8));
+  }
+
+  @Test
+  public void testLargePosition ()
+  {
+    final long start = System.currentTimeMillis ();
+    final String digits = PiBBP.hexDigitsAt (1_000_001, 8);
+    LOGGER.info ("Hex digits at 1000001: " + digits + " in " + (System.currentTimeMillis () - start) + " ms");
+    assertEquals ("6C65E52C", digits);
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.piutils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.numbercruncher.mathutils.BigFunctions;
+
+/**
+ * Test class for class {@link PiChudnovsky}.
+ */
+public final class PiChudnovskyTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (PiChudnovskyTest.class);
+
+  static final String PI_100 = "3.1415926535897932384626433832795028841971693993751058209749445923078164062862089986280348253421170679";
+
+  @Test
+  public void testKnownDigits () throws IOException
+  {
+    for (final int digits : new int [] { 1, 13, 14, 15, 29, 100 })
+    {
+      final StringWriter aSW = new StringWriter ();
+      new PiChudnovsky (digits).writeTo (aSW);
+      assertEquals (PI_100.substring (0, digits + 2), aSW.toString ());
+    }
+  }
+
+  @Test
+  public void testCompareWithArctan ()
+  {
+    // Machin's formula pi = 16*arctan(1/5) - 4*arctan(1/239)
+    final int digits = 1000;
+    final int scale = digits + 5;
+    final BigDecimal r5 = BigDecimal.ONE.divide (BigDecimal.valueOf (5), scale, RoundingMode.HALF_EVEN);
+    final BigDecimal r239 = BigDecimal.ONE.divide (BigDecimal.valueOf (239), scale, RoundingMode.HALF_EVEN);
+    final BigDecimal machin = BigDecimal.valueOf (16)
+                                        .multiply (BigFunctions.arctan (r5, scale))
+                                        .subtract (BigDecimal.valueOf (4).multiply (BigFunctions.arctan (r239, scale)))
+                                        .setScale (digits, RoundingMode.DOWN);
+
+    assertEquals (machin, new PiChudnovsky (digits).getPi ());
+  }
+
+  @Test
+  public void testLarge ()
+  {
+    final int digits = 200_000;
+    final long start = System.currentTimeMillis ();
+    final BigDecimal pi = new PiChudnovsky (digits).getPi ();
+    LOGGER.info (digits + " digits of pi computed in " + (System.currentTimeMillis () - start) + " ms");
+    assertEquals (digits, pi.scale ());
+    assertEquals (PI_100, pi.setScale (100, RoundingMode.DOWN).toPlainString ());
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.piutils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class for classes {@link PiLayoutWriter} and {@link DecimalDigits}.
+ */
+public final class PiLayoutWriterTest
+{
+  /**
+   * The original layout algorithm of {@link AbstractPiFormula}, building the
+   * output from substrings.
+   */
+  private static String _layoutWithSubstrings (final String piString)
+  {
+    final StringBuilder aSB = new StringBuilder ();
+    aSB.append ("\npi = " + piString.substring (0, 2));
+
+    int index = 2;
+    int line = 0;
+    int group = 0;
+    final int length = piString.length ();
+    while (index + 5 < length)
+    {
+      aSB.append (piString.substring (index, index + 5) + " ");
+      index += 5;
+      if (++group == 10)
+      {
+        aSB.append ('\n');
+        if (++line == 10)
+        {
+          aSB.append ('\n');
+          line = 0;
+        }
+        aSB.append ("       ");
+        group = 0;
+      }
+    }
+    if (index < length)
+      aSB.append (piString.substring (index)).append ('\n');
+    return aSB.toString ();
+  }
+
+  @Test
+  public void testSameLayout () throws IOException
+  {
+    final String pi = new PiChudnovsky (5200).getPi ().toPlainString ();
+    for (int length = 2; length <= pi.length (); length += (length < 600 ? 1 : 97))
+    {
+      final String s = pi.substring (0, length);
+      final StringWriter aSW = new StringWriter ();
+      try (final PiLayoutWriter aPLW = new PiLayoutWriter (aSW))
+      {
+        aPLW.write (s);
+      }
+      assertEquals ("length " + length, _layoutWithSubstrings (s), aSW.toString ());
+    }
+  }
+
+  @Test
+  public void testDecimalDigits () throws IOException
+  {
+    final Random aRandom = new Random (42);
+    for (int i = 0; i < 50; ++i)
+    {
+      final BigInteger aUnscaled = new BigInteger (aRandom.nextInt (40_000) + 1, aRandom);
+      final BigDecimal aValue = new BigDecimal (aUnscaled, aRandom.nextInt (12_000));
+      final StringWriter aSW = new StringWriter ();
+      DecimalDigits.write (aValue, aSW);
+      assertEquals (aValue.toPlainString (), aSW.toString ());
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.numbercruncher.mathutils.PrimeFactors;
+
+/**
+ * Test class for class {@link Factorizer}.
+ */
+public final class FactorizerTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (FactorizerTest.class);
+
+  private static void _assertFactorization (final long n)
+  {
+    final long [] factors = Factorizer.factorsOf (n);
+    long product = 1;
+    for (int i = 0; i < factors.length; ++i)
+    {
+      assertTrue (n + ": " + factors[i], MillerRabin.isPrime (factors[i]));
+      if (i > 0)
+        assertTrue (factors[i - 1] <= factors[i]);
+      product = Math.multiplyExact (product, factors[i]);
+    }
+    assertEquals (n, product);
+  }
+
+  @Test
+  public void testCompareWithTrialDivision ()
+  {
+    assertArrayEquals (new long [0], Factorizer.factorsOf (1));
+    assertArrayEquals (new long [] { 2, 2, 3 }, Factorizer.factorsOf (12));
+    assertArrayEquals (new long [] { 2, 3 }, Factorizer.distinctFactorsOf (12));
+
+    for (int n = 2; n < 20_000; ++n)
+    {
+      final int [] expected = PrimeFactors.factorsOf (n);
+      final long [] factors = Factorizer.distinctFactorsOf (n);
+      assertEquals (expected.length, factors.length);
+      for (int i = 0; i < expected.length; ++i)
+        assertEquals (expected[i], factors[i]);
+    }
+  }
+
+  @Test
+  public void testHardComposites ()
+  {
+    // Semiprimes with factors of similar size
+    assertArrayEquals (new long [] { 2_147_483_647L, 2_147_483_647L }, Factorizer.factorsOf (2_147_483_647L * 2_147_483_647L));
+    assertArrayEquals (new long [] { 2_147_483_647L, 4_294_967_291L }, Factorizer.factorsOf (2_147_483_647L * 4_294_967_291L));
+    assertArrayEquals (new long [] { 1_000_003L, 1_000_033L }, Factorizer.factorsOf (1_000_003L * 1_000_033L));
+    assertArrayEquals (new long [] { 7, 7, 73, 127, 337, 92_737L, 649_657L }, Factorizer.factorsOf (Long.MAX_VALUE));
+    assertArrayEquals (new long [] { 2, 2, 2 }, Factorizer.factorsOf (8));
+    assertArrayEquals (new long [] { (1L << 61) - 1 }, Factorizer.factorsOf ((1L << 61) - 1));
+    _assertFactorization (3_825_123_056_546_413_051L);
+    _assertFactorization (1L << 62);
+  }
+
+  @Test
+  public void testSqufof ()
+  {
+    assertEquals (0, (1_000_003L * 1_000_033L) % Factorizer.squfof (1_000_003L * 1_000_033L));
+    final long n = 2_147_483_647L * 1_073_741_789L;
+    final long d = Factorizer.squfof (n);
+    assertTrue (d == 2_147_483_647L || d == 1_073_741_789L);
+  }
+
+  @Test
+  public void testRandom ()
+  {
+    final Random aRandom = new Random (42);
+    final int count = 20_000;
+    final long start = System.nanoTime ();
+    for (int i = 0; i < count; ++i)
+      _assertFactorization (1 + (aRandom.nextLong () >>> 1));
+    LOGGER.info ("Factored " + count + " random longs in " + (System.nanoTime () - start) / 1_000_000 + " ms");
+  }
+}
@@ -24,7 +24,7 @@ import com.helger.numbercruncher.mathutils.PrimeFactors;
  */
 public final class LucasFuncTest
 {
-  private static LucasStatus status = new LucasStatus ();
+  private final LucasStatus status = new LucasStatus ();
 
   /** number to test for primality */
   int m_nP;
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link LucasLehmer}.
+ */
+public final class LucasLehmerTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (LucasLehmerTest.class);
+
+  @Test
+  public void testSmallExponents ()
+  {
+    for (int p = 0; p < 62; ++p)
+      assertEquals ("p=" + p, Primality.isPrime ((1L << p) - 1), LucasLehmer.isMersennePrime (p));
+  }
+
+  @Test
+  public void testReduce ()
+  {
+    final int p = 127;
+    final BigInteger m = BigInteger.ONE.shiftLeft (p).subtract (BigInteger.ONE);
+    final BigInteger x = m.subtract (BigInteger.valueOf (12345)).pow (2);
+    assertEquals (x.mod (m), LucasLehmer.reduce (x, p, m));
+    assertEquals (BigInteger.ZERO, LucasLehmer.reduce (m, p, m));
+    assertEquals (BigInteger.ZERO, LucasLehmer.reduce (m.shiftLeft (5), p, m));
+  }
+
+  @Test
+  public void testTrialFactor ()
+  {
+    assertEquals (23, LucasLehmer.findTrialFactor (11));
+    assertEquals (47, LucasLehmer.findTrialFactor (23));
+    assertEquals (0, LucasLehmer.findTrialFactor (31));
+    assertEquals (0, LucasLehmer.findTrialFactor (3));
+  }
+
+  @Test
+  public void testProgress ()
+  {
+    final AtomicInteger aCount = new AtomicInteger ();
+    assertTrue (LucasLehmer.isMersennePrime (521, status -> {
+      assertEquals (aCount.incrementAndGet (), status.getA ());
+      assertEquals (521, status.getExponent ());
+      assertEquals (status.getA () == 519 && status.getValue () == 0, status.didPass ());
+    }));
+    assertEquals (519, aCount.get ());
+    assertFalse (LucasLehmer.isMersennePrime (523));
+  }
+
+  @Test
+  public void testFindMersenneExponents ()
+  {
+    final long start = System.nanoTime ();
+    final int [] exponents = LucasLehmer.findMersenneExponents (1, 2500);
+    LOGGER.info ("Found " + exponents.length + " Mersenne primes in " + (System.nanoTime () - start) / 1_000_000 + " ms");
+    assertArrayEquals (new int [] { 2,
+                                    3,
+                                    5,
+                                    7,
+                                    13,
+                                    17,
+                                    19,
+                                    31,
+                                    61,
+                                    89,
+                                    107,
+                                    127,
+                                    521,
+                                    607,
+                                    1279,
+                                    2203,
+                                    2281 },
+                       exponents);
+  }
+}
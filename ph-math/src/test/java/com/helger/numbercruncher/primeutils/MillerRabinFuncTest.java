@@ -25,7 +25,7 @@ import com.helger.numbercruncher.mathutils.ModuloArithmetic;
  */
 public final class MillerRabinFuncTest
 {
-  private static MillerRabinStatus status = new MillerRabinStatus ();
+  private final MillerRabinStatus status = new MillerRabinStatus ();
 
   /** number to test for primality */
   private final int m_nP;
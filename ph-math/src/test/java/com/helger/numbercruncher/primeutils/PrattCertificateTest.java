@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link PrattCertificate}.
+ */
+public final class PrattCertificateTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (PrattCertificateTest.class);
+
+  @Test
+  public void testSmall ()
+  {
+    assertEquals ("2 1", PrattCertificate.create (2).getAsString ());
+    assertEquals ("2 1\n3 2 2\n7 3 2 3", PrattCertificate.create (7).getAsString ());
+    assertEquals ("2 1\n5 2 2^2\n11 2 2 5\n23 5 2 11", PrattCertificate.create (23).getAsString ());
+
+    for (long p = 2; p < 10_000; ++p)
+      if (Primality.isPrime (p))
+        assertTrue (PrattCertificate.create (p).verify ());
+  }
+
+  @Test
+  public void testNotPrime ()
+  {
+    try
+    {
+      PrattCertificate.create (561);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testRoundTrip ()
+  {
+    final long p = 9_223_372_036_854_775_783L;
+    final PrattCertificate aCert = PrattCertificate.create (p);
+    assertTrue (aCert.verify ());
+
+    final String sText = aCert.getAsString ();
+    final PrattCertificate aParsed = PrattCertificate.parse (sText);
+    assertEquals (p, aParsed.getPrime ());
+    assertEquals (sText, aParsed.getAsString ());
+    assertTrue (aParsed.verify ());
+  }
+
+  @Test
+  public void testInvalid ()
+  {
+    // wrong witness: 2 has order 3 mod 7
+    assertFalse (PrattCertificate.parse ("2 1\n3 2 2\n7 2 2 3").verify ());
+    // incomplete factorization of 12
+    assertFalse (PrattCertificate.parse ("2 1\n3 2 2\n13 2 2 3").verify ());
+    // composite "factor" 9 with a bogus certificate
+    assertFalse (PrattCertificate.parse ("2 1\n9 2 2^3\n19 2 2 9").verify ());
+    // a composite number
+    assertFalse (PrattCertificate.parse ("2 1\n3 2 2\n5 2 2^2\n7 3 2 3\n561 5 2^4 5 7").verify ());
+
+    for (final String sText : new String [] { "", "7", "2 1\n7 3 2 3", "2 1\n3 x 2" })
+    {
+      try
+      {
+        PrattCertificate.parse (sText);
+        fail (sText);
+      }
+      catch (final IllegalArgumentException ex)
+      {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testVerifyIsFasterThanCreate ()
+  {
+    final Random aRandom = new Random (17);
+    final PrattCertificate [] aCerts = new PrattCertificate [1000];
+    long start = System.nanoTime ();
+    for (int i = 0; i < aCerts.length; ++i)
+    {
+      long p = (aRandom.nextLong () >>> 1) | 1;
+      while (!Primality.isPrime (p))
+        p += 2;
+      aCerts[i] = PrattCertificate.create (p);
+    }
+    final long createMillis = (System.nanoTime () - start) / 1_000_000;
+
+    start = System.nanoTime ();
+    for (final PrattCertificate aCert : aCerts)
+      assertTrue (aCert.verify ());
+    final long verifyMillis = (System.nanoTime () - start) / 1_000_000;
+    LOGGER.info (aCerts.length + " certificates of 63-bit primes: create " + createMillis + " ms, verify " + verifyMillis + " ms");
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link PrimalityBatch}.
+ */
+public final class PrimalityBatchTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (PrimalityBatchTest.class);
+
+  @Test
+  public void testSmall ()
+  {
+    final BitSet aResult = PrimalityBatch.test (LongStream.rangeClosed (-10, 100_000));
+    for (long n = -10; n <= 100_000; ++n)
+      assertEquals ("n=" + n, Primality.isPrime (n), aResult.get ((int) (n + 10)));
+  }
+
+  @Test
+  public void testRandom ()
+  {
+    final Random aRandom = new Random (4711);
+    final long [] candidates = new long [200_000];
+    for (int i = 0; i < candidates.length; ++i)
+      candidates[i] = (aRandom.nextLong () >>> (1 + i % 40)) | 1;
+
+    long start = System.nanoTime ();
+    final BitSet aResult = PrimalityBatch.test (candidates);
+    final long batchMillis = (System.nanoTime () - start) / 1_000_000;
+
+    start = System.nanoTime ();
+    for (int i = 0; i < candidates.length; ++i)
+      assertEquals (Long.toString (candidates[i]), Primality.isPrime (candidates[i]), aResult.get (i));
+    final long singleMillis = (System.nanoTime () - start) / 1_000_000;
+
+    LOGGER.info (candidates.length +
+                 " candidates, " +
+                 aResult.cardinality () +
+                 " primes: batch " +
+                 batchMillis +
+                 " ms, one by one " +
+                 singleMillis +
+                 " ms");
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.primeutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.numbercruncher.mathutils.PrimeFactors;
+
+/**
+ * Test class for classes {@link Primality}, {@link MillerRabin} and
+ * {@link Lucas}.
+ */
+public final class PrimalityTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (PrimalityTest.class);
+
+  @Test
+  public void testCompareWithSieve ()
+  {
+    final int n = 200_000;
+    final boolean [] isPrime = PrimeFactors.primeSieve (n);
+    for (int i = 0; i <= n; ++i)
+    {
+      assertEquals ("n=" + i, isPrime[i], Primality.isPrime (i));
+      assertEquals ("n=" + i, isPrime[i], MillerRabin.isPrime (i));
+      if (i < 20_000)
+        assertEquals ("n=" + i, isPrime[i], Lucas.isPrime (i));
+    }
+  }
+
+  @Test
+  public void testStrongPseudoprimes ()
+  {
+    // Strong pseudoprimes to several small prime bases
+    for (final long n : new long [] { 2047L,
+                                      1_373_653L,
+                                      25_326_001L,
+                                      3_215_031_751L,
+                                      2_152_302_898_747L,
+                                      3_474_749_660_383L,
+                                      341_550_071_728_321L,
+                                      3_825_123_056_546_413_051L,
+                                      // Carmichael numbers
+                                      561,
+                                      1105,
+                                      Long.MAX_VALUE })
+    {
+      assertFalse (Long.toString (n), Primality.isPrime (n));
+      assertFalse (Long.toString (n), Primality.isProbablePrime (BigInteger.valueOf (n), 1));
+    }
+
+    assertTrue (Primality.isPrime ((1L << 61) - 1));
+    assertTrue (Primality.isPrime (9_223_372_036_854_775_783L));
+    assertTrue (Primality.isPrime (4_759_123_151L));
+    assertFalse (Primality.isPrime (4_759_123_141L));
+  }
+
+  @Test
+  public void testBigInteger ()
+  {
+    final BigInteger m127 = BigInteger.ONE.shiftLeft (127).subtract (BigInteger.ONE);
+    assertTrue (Primality.isProbablePrime (m127, 20));
+    assertFalse (Primality.isProbablePrime (m127.add (BigInteger.TWO), 20));
+
+    final Random aRandom = new Random (7);
+    for (int i = 0; i < 200; ++i)
+    {
+      final BigInteger p = BigInteger.probablePrime (40 + aRandom.nextInt (200), aRandom);
+      final BigInteger q = BigInteger.probablePrime (40 + aRandom.nextInt (200), aRandom);
+      assertTrue (Primality.isProbablePrime (p, 20));
+      assertFalse (Primality.isProbablePrime (p.multiply (q), 20));
+    }
+  }
+
+  @Test
+  public void testBenchmarkAgainstBigInteger ()
+  {
+    final Random aRandom = new Random (0);
+    final int count = 50_000;
+    final long [] aValues = new long [count];
+    for (int i = 0; i < count; ++i)
+      aValues[i] = (aRandom.nextLong () >>> 1) | 1;
+
+    long start = System.nanoTime ();
+    int nPrimes = 0;
+    for (final long n : aValues)
+      if (Primality.isPrime (n))
+        ++nPrimes;
+    final long durationPrimality = System.nanoTime () - start;
+
+    start = System.nanoTime ();
+    int nPrimesBI = 0;
+    for (final long n : aValues)
+      if (BigInteger.valueOf (n).isProbablePrime (64))
+        ++nPrimesBI;
+    final long durationBI = System.nanoTime () - start;
+
+    assertEquals (nPrimesBI, nPrimes);
+    LOGGER.info (count +
+                 " random 63-bit values, " +
+                 nPrimes +
+                 " primes: Primality " +
+                 durationPrimality / 1_000_000 +
+                 " ms, BigInteger.isProbablePrime " +
+                 durationBI / 1_000_000 +
+                 " ms");
+  }
+}
@@ -16,13 +16,17 @@
  */
 package com.helger.numbercruncher.program12_1;
 
+import static org.junit.Assert.assertTrue;
+
 import java.math.BigInteger;
 
 import org.junit.Test;
 
+import com.helger.numbercruncher.primeutils.LucasLehmer;
+
 /**
  * PROGRAM 12-1: Big Prime Number Demonstrate BigInteger by computing the
- * Mersenne prime 2^11213 - 1.
+ * Mersenne prime 2^11213 - 1 and proving it with the Lucas-Lehmer test.
  */
 public final class BigPrimeFuncTest
 {
@@ -32,18 +36,16 @@ public final class BigPrimeFuncTest
   private BigInteger m_aPrime;
 
   /**
-   * Compute and print 2^EXPONENT - 1.
+   * Compute, test and print 2^EXPONENT - 1.
    */
   @Test
   public void testCompute () throws Exception
   {
     // Compute the value.
-    m_aPrime = BigInteger.valueOf (1);
-    for (int i = 1; i <= EXPONENT; ++i)
-    {
-      m_aPrime = m_aPrime.add (m_aPrime);
-    }
-    m_aPrime = m_aPrime.subtract (BigInteger.valueOf (1));
+    m_aPrime = BigInteger.ONE.shiftLeft (EXPONENT).subtract (BigInteger.ONE);
+
+    // Prove that it is prime.
+    assertTrue (LucasLehmer.isMersennePrime (EXPONENT));
 
     // Print it.
     System.out.println ("2^" + EXPONENT + " - 1 = ");
@@ -75,7 +75,7 @@ public final class PiArctan extends AbstractPiFormula
     BigDecimal pi = big4.multiply (term).setScale (digits, RoundingMode.DOWN);
 
     System.out.println (timestamp (markTime) + " pi computed");
-    printPi (pi.toString ());
+    printPi (pi);
 
     System.out.println ("\n" + timestamp (startTime) + " TOTAL TIME");
 
@@ -118,7 +118,7 @@ public final class PiArctan extends AbstractPiFormula
     pi = big4.multiply (term).setScale (digits, RoundingMode.DOWN);
 
     System.out.println (timestamp (markTime) + " pi computed");
-    printPi (pi.toString ());
+    printPi (pi);
 
     System.out.println ("\n" + timestamp (startTime) + " TOTAL TIME");
   }
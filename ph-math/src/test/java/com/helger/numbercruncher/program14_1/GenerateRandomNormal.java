@@ -69,6 +69,12 @@ public final class GenerateRandomNormal
     buckets.clear ();
     ratio ();
     print ("Ratio", startTime);
+
+    // Ziggurat algorithm.
+    startTime = System.currentTimeMillis ();
+    buckets.clear ();
+    ziggurat ();
+    print ("Ziggurat", startTime);
   }
 
   /**
@@ -120,6 +126,17 @@ public final class GenerateRandomNormal
     }
   }
 
+  /**
+   * Invoke the Ziggurat algorithm.
+   */
+  private void ziggurat ()
+  {
+    for (int i = 0; i < NUMBER_COUNT; ++i)
+    {
+      buckets.put (normal.nextZiggurat ());
+    }
+  }
+
   /**
    * Main.
    *
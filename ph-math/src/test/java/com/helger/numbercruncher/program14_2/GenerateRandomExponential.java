@@ -53,6 +53,13 @@ public final class GenerateRandomExponential
     buckets.setLimits (0, 12);
     vonNeumann ();
     print ("von Neumann", startTime);
+
+    // Ziggurat algorithm.
+    startTime = System.currentTimeMillis ();
+    buckets = new Buckets (32);
+    buckets.setLimits (0, 2);
+    ziggurat ();
+    print ("Ziggurat", startTime);
   }
 
   /**
@@ -93,6 +100,17 @@ public final class GenerateRandomExponential
     }
   }
 
+  /**
+   * Invoke the Ziggurat algorithm.
+   */
+  private void ziggurat ()
+  {
+    for (int i = 0; i < NUMBER_COUNT; ++i)
+    {
+      buckets.put (exponential.nextZiggurat ());
+    }
+  }
+
   /**
    * Main.
    *
@@ -17,6 +17,8 @@
 package com.helger.numbercruncher.program14_3;
 
 import com.helger.numbercruncher.mathutils.SystemOutAlignRight;
+import com.helger.numbercruncher.randomutils.MonteCarloResult;
+import com.helger.numbercruncher.randomutils.MonteCarloRunner;
 
 /**
  * PROGRAM 14-3: Buffon's Needle Demonstrate how we can calculate the value of
@@ -56,6 +58,26 @@ public final class Buffon
       ar.print (needles.getError (), 15);
       ar.println ();
     } while (needles.getCount () < MAX_NEEDLES);
+
+    // Drop the same number of needles in parallel. A trial is 1 if the
+    // needle crosses a line, so the estimate is the crossing probability
+    // 2/pi.
+    final MonteCarloRunner aRunner = new MonteCarloRunner (System.currentTimeMillis ());
+    final MonteCarloResult aResult = aRunner.run (aGenerator -> {
+      final double yCenter = aGenerator.nextDouble ();
+      final double sin = Math.sin (Math.PI * aGenerator.nextDouble ());
+      return Math.floor (yCenter - 0.5 * sin) != Math.floor (yCenter + 0.5 * sin) ? 1 : 0;
+    }, MAX_NEEDLES);
+
+    final double p = aResult.getEstimate ();
+    System.out.println ();
+    System.out.println ("Parallel: pi = " +
+                        (2 / p) +
+                        " +/- " +
+                        (2 / (p * p) * aResult.getStandardError ()) +
+                        ", " +
+                        Math.round (aResult.getThroughput ()) +
+                        " needles/s");
   }
 }
 /*
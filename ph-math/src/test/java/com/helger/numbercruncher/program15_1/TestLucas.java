@@ -27,7 +27,7 @@ import com.helger.numbercruncher.primeutils.LucasStatus;
  */
 public final class TestLucas implements ILucasCaller
 {
-  private int prevA = 0;
+  private long prevA = 0;
   private final SystemOutAlignRight ar = new SystemOutAlignRight (System.out);
 
   /**
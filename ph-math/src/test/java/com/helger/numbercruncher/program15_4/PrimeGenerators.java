@@ -16,10 +16,13 @@
  */
 package com.helger.numbercruncher.program15_4;
 
+import java.util.BitSet;
+import java.util.stream.LongStream;
+
 import com.helger.collection.commons.CommonsHashSet;
 import com.helger.collection.commons.ICommonsSet;
 import com.helger.numbercruncher.mathutils.SystemOutAlignRight;
-import com.helger.numbercruncher.primeutils.PrimalityFuncTest;
+import com.helger.numbercruncher.primeutils.PrimalityBatch;
 
 /**
  * PROGRAM 15-4: Prime Number Generators Demonstrate two quadratic polynomials
@@ -50,17 +53,23 @@ public final class PrimeGenerators
 
     String eMark, gMark; // " " if prime, "c" if composite
 
-    // Loop to test generated numbers.
-    for (int n = 0; n <= 99; ++n)
-    {
+    // Prime number generators.
+    final long [] eValues = LongStream.rangeClosed (0, 99).map (n -> n * n - 79 * n + 1601).toArray (); // Euler
+    final long [] gValues = LongStream.rangeClosed (0, 99)
+                                      .map (n -> Math.abs (41 * n * n - 4641 * n + 88007))
+                                      .toArray (); // Greenwood
 
-      // Prime number generators.
-      final int ep = n * n - 79 * n + 1601; // Euler
-      final int gp = Math.abs (41 * n * n - 4641 * n + 88007); // Greenwood
+    // Test all generated numbers for primality at once.
+    final BitSet eIsPrime = PrimalityBatch.test (eValues);
+    final BitSet gIsPrime = PrimalityBatch.test (gValues);
 
-      // Test for primality.
-      final boolean epIsPrime = (new PrimalityFuncTest (ep, 5)).test ();
-      final boolean gpIsPrime = (new PrimalityFuncTest (gp, 5)).test ();
+    // Loop to print generated numbers.
+    for (int n = 0; n <= 99; ++n)
+    {
+      final int ep = (int) eValues[n];
+      final int gp = (int) gValues[n];
+      final boolean epIsPrime = eIsPrime.get (n);
+      final boolean gpIsPrime = gIsPrime.get (n);
 
       ar.print (n, 2);
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link ConcurrentHistogram}.
+ */
+public final class ConcurrentHistogramTest
+{
+  @Test
+  public void testLinear ()
+  {
+    final ConcurrentHistogram aHistogram = ConcurrentHistogram.createLinear (0, 10, 10);
+    for (final double x : new double [] { -1, 0, 0.5, 1, 9.99, 10, 10.01, Double.NaN, Double.POSITIVE_INFINITY })
+      aHistogram.add (x);
+
+    final ConcurrentHistogram.Snapshot aSnapshot = aHistogram.snapshot ();
+    assertEquals (1, aSnapshot.getUnderflowCount ());
+    assertEquals (2, aSnapshot.getOverflowCount ());
+    assertEquals (1, aSnapshot.getNaNCount ());
+    assertEquals (8, aSnapshot.getTotalCount ());
+    assertEquals (2, aSnapshot.getCount (0));
+    assertEquals (1, aSnapshot.getCount (1));
+    assertEquals (2, aSnapshot.getCount (9));
+    assertEquals (3.0, aSnapshot.getLowerBound (3), 1e-12);
+    assertEquals (10.0, aSnapshot.getLowerBound (10), 0);
+  }
+
+  @Test
+  public void testConcurrentAddAndQuantiles ()
+  {
+    final ConcurrentHistogram aHistogram = ConcurrentHistogram.createLinear (0, 1, 1000);
+    final int tasks = 8;
+    final int n = 500_000;
+    IntStream.range (0, tasks).parallel ().forEach (t -> {
+      final SplittableRandom aRandom = new SplittableRandom (t);
+      for (int i = 0; i < n; ++i)
+        aHistogram.add (aRandom.nextDouble ());
+    });
+
+    final ConcurrentHistogram.Snapshot aSnapshot = aHistogram.snapshot ();
+    assertEquals ((long) tasks * n, aSnapshot.getTotalCount ());
+    assertEquals (0.5, aSnapshot.getQuantile (0.5), 0.002);
+    assertEquals (0.99, aSnapshot.getQuantile (0.99), 0.002);
+    assertEquals (0.999, aSnapshot.getQuantile (0.999), 0.002);
+    assertEquals (0, aSnapshot.getQuantile (0), 0.002);
+    assertEquals (1, aSnapshot.getQuantile (1), 0.002);
+  }
+
+  @Test
+  public void testLogarithmicAndMerge ()
+  {
+    final ConcurrentHistogram a = ConcurrentHistogram.createLogarithmic (1, 1e6, 60);
+    final ConcurrentHistogram b = a.createEmptyCopy ();
+    assertTrue (b.isLogarithmic ());
+
+    // Values with a uniform exponent: ten bins per decade
+    final SplittableRandom aRandom = new SplittableRandom (1);
+    for (int i = 0; i < 600_000; ++i)
+      (i % 2 == 0 ? a : b).add (Math.pow (10, 6 * aRandom.nextDouble ()));
+    a.merge (b);
+
+    final ConcurrentHistogram.Snapshot aSnapshot = a.snapshot ();
+    assertEquals (600_000, aSnapshot.getTotalCount ());
+    assertEquals (10, aSnapshot.getLowerBound (10), 1e-9);
+    assertEquals (1000, aSnapshot.getQuantile (0.5), 20);
+    for (int i = 0; i < 60; ++i)
+      assertEquals (10_000, aSnapshot.getCount (i), 500);
+
+    final ByteArrayOutputStream aBAOS = new ByteArrayOutputStream ();
+    aSnapshot.print (new PrintStream (aBAOS, true, StandardCharsets.UTF_8), 50);
+    assertEquals (62, aBAOS.toString (StandardCharsets.UTF_8).split ("\n").length);
+
+    a.reset ();
+    assertEquals (0, a.snapshot ().getTotalCount ());
+    assertTrue (Double.isNaN (a.getQuantile (0.5)));
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.numbercruncher.mathutils.IMultivariateEvaluatable;
+
+/**
+ * Test class for classes {@link MonteCarloIntegrator} and
+ * {@link QuasiMonteCarloIntegrator}.
+ */
+public final class MonteCarloIntegratorTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (MonteCarloIntegratorTest.class);
+
+  /** 6 dimensions */
+  private static final int DIM = 6;
+  /** prod cos (x_i) over [0, 1]^6 */
+  private static final IMultivariateEvaluatable COS = x -> {
+    double p = 1;
+    for (final double xi : x)
+      p *= Math.cos (xi);
+    return p;
+  };
+  private static final double EXPECTED = Math.pow (Math.sin (1), DIM);
+
+  private static double [] _filled (final double value)
+  {
+    final double [] ret = new double [DIM];
+    Arrays.fill (ret, value);
+    return ret;
+  }
+
+  @Test
+  public void testMonteCarlo ()
+  {
+    final MonteCarloIntegrator aIntegrator = new MonteCarloIntegrator (COS, 17);
+    final MonteCarloResult aPlain = aIntegrator.integrate (_filled (0), _filled (1), 1 << 18);
+    final MonteCarloResult aAntithetic = aIntegrator.integrateAntithetic (_filled (0), _filled (1), 1 << 17);
+    LOGGER.info ("Plain: " + aPlain + ", antithetic: " + aAntithetic);
+    assertEquals (EXPECTED, aPlain.getEstimate (), 5 * aPlain.getStandardError ());
+    assertEquals (EXPECTED, aAntithetic.getEstimate (), 5 * aAntithetic.getStandardError ());
+    assertTrue (aAntithetic.getStandardError () < aPlain.getStandardError ());
+
+    // Scaled limits
+    final MonteCarloResult aScaled = aIntegrator.integrate (_filled (0), _filled (2), 1 << 16);
+    final double expected = Math.pow (Math.sin (2), DIM);
+    assertEquals (expected, aScaled.getEstimate (), 5 * aScaled.getStandardError ());
+  }
+
+  @Test
+  public void testEvaluatesInChunks ()
+  {
+    // Only the evaluation of many points is supported
+    final IMultivariateEvaluatable aChunked = new IMultivariateEvaluatable ()
+    {
+      @Override
+      public double at (final double [] x)
+      {
+        throw new UnsupportedOperationException ();
+      }
+
+      @Override
+      public void at (final double [] points, final int dimension, final double [] values, final int n)
+      {
+        final double [] x = new double [dimension];
+        for (int i = 0; i < n; ++i)
+        {
+          System.arraycopy (points, i * dimension, x, 0, dimension);
+          values[i] = COS.at (x);
+        }
+      }
+    };
+    final MonteCarloIntegrator aIntegrator = new MonteCarloIntegrator (aChunked, 17);
+    final MonteCarloResult aPlain = aIntegrator.integrate (_filled (0), _filled (1), 1000);
+    final MonteCarloResult aAntithetic = aIntegrator.integrateAntithetic (_filled (0), _filled (1), 1000);
+    assertEquals (1000, aPlain.getTrials ());
+    assertEquals (1000, aAntithetic.getTrials ());
+    assertEquals (EXPECTED, aPlain.getEstimate (), 5 * aPlain.getStandardError ());
+    assertEquals (EXPECTED, aAntithetic.getEstimate (), 5 * aAntithetic.getStandardError ());
+
+    // Same points as with the evaluation of single points
+    final MonteCarloIntegrator aSingle = new MonteCarloIntegrator (COS, 17);
+    assertEquals (aSingle.integrate (_filled (0), _filled (1), 1000).getEstimate (), aPlain.getEstimate (), 0);
+  }
+
+  @Test
+  public void testQuasiMonteCarlo ()
+  {
+    final MonteCarloResult aPlain = new MonteCarloIntegrator (COS, 5).integrate (_filled (0), _filled (1), 1 << 16);
+    final QuasiMonteCarloIntegrator aSobol = new QuasiMonteCarloIntegrator (COS, new SobolSequence (DIM), 8, 5);
+    final MonteCarloResult aSobolResult = aSobol.integrate (_filled (0), _filled (1), 1 << 13);
+    final QuasiMonteCarloIntegrator aHalton = new QuasiMonteCarloIntegrator (COS, new HaltonSequence (DIM), 8, 5);
+    final MonteCarloResult aHaltonResult = aHalton.integrate (_filled (0), _filled (1), 1 << 13);
+    LOGGER.info ("Random: " + aPlain + ", Sobol: " + aSobolResult + ", Halton: " + aHaltonResult);
+
+    assertEquals (1 << 16, aSobolResult.getTrials ());
+    assertEquals (EXPECTED, aSobolResult.getEstimate (), 5 * aSobolResult.getStandardError ());
+    assertEquals (EXPECTED, aHaltonResult.getEstimate (), 5 * aHaltonResult.getStandardError ());
+    // Same number of points, but a much smaller error
+    assertTrue (aSobolResult.getStandardError () < aPlain.getStandardError () / 10);
+    assertTrue (aHaltonResult.getStandardError () < aPlain.getStandardError () / 10);
+
+    // Reproducible
+    assertEquals (aSobolResult.getEstimate (), aSobol.integrate (_filled (0), _filled (1), 1 << 13).getEstimate (), 0);
+  }
+
+  @Test
+  public void testInvalidArguments ()
+  {
+    try
+    {
+      new MonteCarloIntegrator (COS, 1).integrate (_filled (0), new double [] { 1 }, 100);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    final double [] aEmpty = _filled (1);
+    aEmpty[2] = 0;
+    try
+    {
+      new MonteCarloIntegrator (COS, 1).integrate (_filled (0), aEmpty, 100);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new QuasiMonteCarloIntegrator (COS, new SobolSequence (DIM), 8, 1).integrate (_filled (0), aEmpty, 100);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new QuasiMonteCarloIntegrator (COS, new SobolSequence (DIM), 1, 1);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new QuasiMonteCarloIntegrator (COS, new SobolSequence (DIM - 1), 1).integrate (_filled (0), _filled (1), 10);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for class {@link MonteCarloRunner}.
+ */
+public final class MonteCarloRunnerTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (MonteCarloRunnerTest.class);
+
+  @Test
+  public void testBuffonNeedles ()
+  {
+    // Needles of length 1 dropped on lines 1 apart cross a line with the
+    // probability 2/pi.
+    final MonteCarloRunner aRunner = new MonteCarloRunner (42);
+    final MonteCarloResult aResult = aRunner.run (aGenerator -> {
+      final double y = aGenerator.nextDouble ();
+      final double theta = aGenerator.nextDouble () * Math.PI;
+      final double y2 = y + Math.sin (theta);
+      return y2 >= 1 ? 1 : 0;
+    }, 2_000_000);
+    LOGGER.info ("Buffon: " + aResult);
+
+    assertEquals (2_000_000, aResult.getTrials ());
+    assertEquals (2 / Math.PI, aResult.getEstimate (), 5 * aResult.getStandardError ());
+    final double p = 2 / Math.PI;
+    assertEquals (Math.sqrt (p * (1 - p) / 2_000_000), aResult.getStandardError (), 1e-5);
+    assertTrue (aResult.getThroughput () > 0);
+  }
+
+  @Test
+  public void testReproducible ()
+  {
+    final IMonteCarloTrial aTrial = aGenerator -> aGenerator.nextGaussian ();
+    final MonteCarloRunner aRunner1 = new MonteCarloRunner (7, new ForkJoinPool (1));
+    final MonteCarloRunner aRunner2 = new MonteCarloRunner (7, new ForkJoinPool (4));
+    aRunner1.setBatchSize (1000);
+    aRunner2.setBatchSize (1000);
+    final MonteCarloResult aResult1 = aRunner1.run (aTrial, 100_001);
+    final MonteCarloResult aResult2 = aRunner2.run (aTrial, 100_001);
+    assertEquals (aResult1.getEstimate (), aResult2.getEstimate (), 0);
+    assertEquals (aResult1.getVariance (), aResult2.getVariance (), 0);
+    assertEquals (1, aResult1.getVariance (), 0.02);
+  }
+
+  @Test
+  public void testAntithetic ()
+  {
+    // E[e^U] = e - 1
+    final IUniformTrial aTrial = u -> Math.exp (u[0]);
+    final MonteCarloRunner aRunner = new MonteCarloRunner (1);
+    final MonteCarloResult aPlain = aRunner.run (aGenerator -> aTrial.evaluate (new double [] { aGenerator.nextDouble () }),
+                                                 200_000);
+    final MonteCarloResult aAntithetic = aRunner.runAntithetic (aTrial, 1, 100_000);
+    LOGGER.info ("Plain: " + aPlain + ", antithetic: " + aAntithetic);
+
+    assertEquals (Math.E - 1, aAntithetic.getEstimate (), 5 * aAntithetic.getStandardError ());
+    // Same number of evaluations, but a much smaller error
+    assertTrue (aAntithetic.getStandardError () < aPlain.getStandardError () / 5);
+  }
+
+  @Test
+  public void testControlVariate ()
+  {
+    // E[e^U] = e - 1 with the control U, E[U] = 1/2
+    final MonteCarloRunner aRunner = new MonteCarloRunner (3);
+    final MonteCarloResult aPlain = aRunner.run (aGenerator -> Math.exp (aGenerator.nextDouble ()), 100_000);
+    final MonteCarloResult aControlled = aRunner.runControlVariate ( (aGenerator, aResult) -> {
+      final double u = aGenerator.nextDouble ();
+      aResult[0] = Math.exp (u);
+      aResult[1] = u;
+    }, 0.5, 100_000);
+    LOGGER.info ("Plain: " + aPlain + ", control variate: " + aControlled);
+
+    assertEquals (Math.E - 1, aControlled.getEstimate (), 5 * aControlled.getStandardError ());
+    // The correlation of e^U and U is about 0.99
+    assertTrue (aControlled.getStandardError () < aPlain.getStandardError () / 5);
+  }
+
+  @Test
+  public void testProgress ()
+  {
+    final MonteCarloRunner aRunner = new MonteCarloRunner (5);
+    aRunner.setBatchSize (1000);
+    final AtomicLong aCalls = new AtomicLong ();
+    final AtomicLong aLastTrials = new AtomicLong ();
+    aRunner.setProgressListener (aResult -> {
+      aCalls.incrementAndGet ();
+      assertTrue (aResult.getTrials () > aLastTrials.get ());
+      aLastTrials.set (aResult.getTrials ());
+    });
+    aRunner.run (aGenerator -> aGenerator.nextDouble (), 10_000);
+    assertEquals (16, aCalls.get ());
+    assertEquals (10_000, aLastTrials.get ());
+  }
+
+  @Test
+  public void testInvalidArguments ()
+  {
+    final MonteCarloRunner aRunner = new MonteCarloRunner (0);
+    try
+    {
+      aRunner.run (aGenerator -> 0, 0);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      aRunner.runAntithetic (u -> 0, 0, 10);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      aRunner.setBatchSize (0);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+}
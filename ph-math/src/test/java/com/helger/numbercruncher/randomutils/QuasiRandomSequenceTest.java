@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Test class for classes {@link SobolSequence} and {@link HaltonSequence}.
+ */
+public final class QuasiRandomSequenceTest
+{
+  private static final Logger LOGGER = LoggerFactory.getLogger (QuasiRandomSequenceTest.class);
+
+  @Test
+  public void testSobolFirstPoints ()
+  {
+    final SobolSequence aSobol = new SobolSequence (2);
+    final double [] [] aExpected = { { 0, 0 },
+                                     { 0.5, 0.5 },
+                                     { 0.75, 0.25 },
+                                     { 0.25, 0.75 },
+                                     { 0.375, 0.375 },
+                                     { 0.875, 0.875 },
+                                     { 0.625, 0.125 },
+                                     { 0.125, 0.625 } };
+    for (final double [] aPoint : aExpected)
+      assertArrayEquals (aPoint, aSobol.next (), 0);
+    assertEquals (8, aSobol.getIndex ());
+  }
+
+  @Test
+  public void testSobolStratification ()
+  {
+    // The first 2^k values of every coordinate hit every interval of width
+    // 2^-k exactly once.
+    final int k = 12;
+    final int n = 1 << k;
+    final SobolSequence aSobol = new SobolSequence (SobolSequence.MAX_DIMENSION);
+    final double [] aPoints = new double [n * SobolSequence.MAX_DIMENSION];
+    aSobol.fill (aPoints, 0, n);
+    for (int d = 0; d < SobolSequence.MAX_DIMENSION; ++d)
+    {
+      final boolean [] aHit = new boolean [n];
+      for (int i = 0; i < n; ++i)
+      {
+        final double x = aPoints[i * SobolSequence.MAX_DIMENSION + d];
+        assertTrue (x >= 0 && x < 1);
+        final int nCell = (int) (x * n);
+        assertTrue ("dimension " + d + ", point " + i, !aHit[nCell]);
+        aHit[nCell] = true;
+      }
+    }
+  }
+
+  @Test
+  public void testHaltonFirstPoints ()
+  {
+    final HaltonSequence aHalton = new HaltonSequence (3);
+    aHalton.skip (1);
+    assertArrayEquals (new double [] { 0.5, 1.0 / 3, 0.2 }, aHalton.next (), 1e-15);
+    assertArrayEquals (new double [] { 0.25, 2.0 / 3, 0.4 }, aHalton.next (), 1e-15);
+    assertArrayEquals (new double [] { 0.75, 1.0 / 9, 0.6 }, aHalton.next (), 1e-15);
+    assertEquals (0.5 + 0.25 + 0.0625, HaltonSequence.radicalInverse (11, 2), 0);
+  }
+
+  private static void _testSkipAndFill (final AbstractQuasiRandomSequence aSequence)
+  {
+    final int nDim = aSequence.getDimension ();
+    final int n = 100_000;
+    final double [] aSequential = new double [n * nDim];
+    for (int i = 0; i < n; ++i)
+      aSequence.next (aSequential, i * nDim);
+
+    // Bulk fill in parallel chunks gives the same points
+    aSequence.skipTo (0);
+    final double [] aBulk = new double [n * nDim];
+    aSequence.fill (aBulk, 0, n);
+    assertArrayEquals (aSequential, aBulk, 0);
+    assertEquals (n, aSequence.getIndex ());
+
+    // Skipping gives the same points
+    for (final int nIndex : new int [] { 0, 1, 2, 3, 1023, 1024, 1025, 54_321, n - 1 })
+    {
+      final double [] aPoint = aSequence.createAt (nIndex).next ();
+      for (int d = 0; d < nDim; ++d)
+        assertEquals (aSequential[nIndex * nDim + d], aPoint[d], 0);
+    }
+  }
+
+  @Test
+  public void testSkipAndFill ()
+  {
+    _testSkipAndFill (new SobolSequence (7));
+    _testSkipAndFill (new HaltonSequence (5));
+  }
+
+  private static double _integrate (final AbstractQuasiRandomSequence aSequence, final int n)
+  {
+    // The integral of prod (pi/2 sin (pi x_d)) over the unit cube is 1.
+    final int nDim = aSequence.getDimension ();
+    final double [] aPoint = new double [nDim];
+    double dSum = 0;
+    for (int i = 0; i < n; ++i)
+    {
+      aSequence.next (aPoint, 0);
+      double f = 1;
+      for (final double x : aPoint)
+        f *= Math.PI / 2 * Math.sin (Math.PI * x);
+      dSum += f;
+    }
+    return dSum / n;
+  }
+
+  @Test
+  public void testIntegrationConvergence ()
+  {
+    final int nDim = 5;
+    final int n = 1 << 14;
+    final double dSobol = _integrate (new SobolSequence (nDim), n);
+    final double dHalton = _integrate (new HaltonSequence (nDim), n);
+
+    final SplittableRandom aRandom = new SplittableRandom (11);
+    double dSum = 0;
+    for (int i = 0; i < n; ++i)
+    {
+      double f = 1;
+      for (int d = 0; d < nDim; ++d)
+        f *= Math.PI / 2 * Math.sin (Math.PI * aRandom.nextDouble ());
+      dSum += f;
+    }
+    final double dRandom = dSum / n;
+    LOGGER.info ("Errors with " + n + " points: Sobol " + (dSobol - 1) + ", Halton " + (dHalton - 1) + ", random " + (dRandom - 1));
+
+    // The standard error of the random estimate is about 0.008
+    assertEquals (1, dSobol, 2e-3);
+    assertEquals (1, dHalton, 2e-3);
+  }
+
+  @Test
+  public void testInvalidArguments ()
+  {
+    try
+    {
+      new SobolSequence (SobolSequence.MAX_DIMENSION + 1);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new HaltonSequence (0);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    try
+    {
+      new SobolSequence (2).skipTo (SobolSequence.MAX_INDEX + 1);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+    final SobolSequence aSobol = new SobolSequence (2);
+    aSobol.skipTo (SobolSequence.MAX_INDEX - 1);
+    aSobol.next ();
+    try
+    {
+      aSobol.next ();
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.numbercruncher.mathutils.AbstractRandomSampler;
+
+/**
+ * Test class for classes {@link RandomGamma}, {@link RandomBeta},
+ * {@link RandomPoisson}, {@link RandomBinomial} and {@link RandomDiscrete}.
+ */
+public final class RandomDistributionsTest
+{
+  private static final int N = 1_000_000;
+
+  /**
+   * Fill a large array in parallel and check mean and variance.
+   */
+  private static double [] _assertMoments (final AbstractRandomSampler aSampler,
+                                           final double mean,
+                                           final double variance)
+  {
+    final double [] values = new double [N];
+    aSampler.fill (values, 0, N);
+
+    double sum = 0;
+    for (final double x : values)
+      sum += x;
+    final double m = sum / N;
+    double sum2 = 0;
+    for (final double x : values)
+      sum2 += (x - m) * (x - m);
+
+    // about 5 standard errors
+    final double tolerance = 5 * Math.sqrt (variance / N);
+    assertEquals (mean, m, tolerance);
+    assertEquals (variance, sum2 / (N - 1), 20 * variance / Math.sqrt (N) + 1e-12);
+    return values;
+  }
+
+  @Test
+  public void testGamma ()
+  {
+    for (final double shape : new double [] { 0.3, 1, 2.5, 100 })
+    {
+      final double [] values = _assertMoments (new RandomGamma (shape, 2, 1), 2 * shape, 4 * shape);
+      for (final double x : values)
+        assertTrue (x >= 0);
+    }
+  }
+
+  @Test
+  public void testBeta ()
+  {
+    for (final double [] ab : new double [] [] { { 0.5, 0.5 },
+                                                 { 2, 5 },
+                                                 { 30, 10 },
+                                                 { 0.001, 0.001 },
+                                                 { 0.001, 0.003 },
+                                                 { 0.01, 3 } })
+    {
+      final double a = ab[0];
+      final double b = ab[1];
+      final double [] values = _assertMoments (new RandomBeta (a, b, 2),
+                                               a / (a + b),
+                                               a * b / ((a + b) * (a + b) * (a + b + 1)));
+      for (final double x : values)
+        assertTrue (x >= 0 && x <= 1);
+    }
+
+    // Both gamma values underflow to 0 for most draws with tiny shapes
+    final RandomBeta aBeta = new RandomBeta (1e-4, 1e-4, 5);
+    for (int i = 0; i < 1000; ++i)
+      assertFalse (Double.isNaN (aBeta.next ()));
+  }
+
+  @Test
+  public void testPoisson ()
+  {
+    for (final double mean : new double [] { 0.1, 3, 10, 15, 1000, 1e7 })
+      _assertMoments (new RandomPoisson (mean, 3), mean, mean);
+
+    // P(X = 15) for lambda 15
+    final RandomPoisson aPoisson = new RandomPoisson (15, 4);
+    int count = 0;
+    for (int i = 0; i < N; ++i)
+      if (aPoisson.nextLong () == 15)
+        ++count;
+    assertEquals (0.102436, (double) count / N, 0.0015);
+  }
+
+  @Test
+  public void testBinomial ()
+  {
+    for (final int n : new int [] { 0, 1, 20, 1000, 1_000_000 })
+      for (final double p : new double [] { 0, 0.01, 0.3, 0.5, 0.9, 1 })
+      {
+        final double [] values = _assertMoments (new RandomBinomial (n, p, 5), n * p, n * p * (1 - p));
+        for (final double x : values)
+          assertTrue (x >= 0 && x <= n);
+      }
+  }
+
+  @Test
+  public void testDiscrete ()
+  {
+    final double [] weights = { 1, 2, 3, 0, 4 };
+    final RandomDiscrete aDiscrete = new RandomDiscrete (weights, 6);
+    final int [] counts = new int [weights.length];
+    for (int i = 0; i < N; ++i)
+      ++counts[aDiscrete.nextInt ()];
+    assertEquals (0, counts[3]);
+    for (int i = 0; i < weights.length; ++i)
+      assertEquals (weights[i] / 10, (double) counts[i] / N, 0.002);
+
+    // Split samplers share the tables.
+    final RandomDiscrete aSplit = aDiscrete.split ();
+    assertEquals (weights.length, aSplit.getSize ());
+    final float [] values = new float [1000];
+    aSplit.fill (values, 0, values.length);
+    for (final float x : values)
+      assertTrue (x >= 0 && x < weights.length && x != 3);
+  }
+}
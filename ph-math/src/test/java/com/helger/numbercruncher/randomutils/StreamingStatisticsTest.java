@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2014-2026 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.numbercruncher.randomutils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.helger.numbercruncher.mathutils.RandomExponential;
+
+/**
+ * Test class for class {@link StreamingStatistics}.
+ */
+public final class StreamingStatisticsTest
+{
+  @Test
+  public void testMoments ()
+  {
+    final StreamingStatistics aStats = new StreamingStatistics ();
+    assertTrue (Double.isNaN (aStats.getMean ()));
+    assertTrue (Double.isNaN (aStats.getQuantile (0.5)));
+
+    for (final double x : new double [] { 2, 4, 4, 4, 5, 5, 7, 9, Double.NaN })
+      aStats.add (x);
+    assertEquals (8, aStats.getCount ());
+    assertEquals (5, aStats.getMean (), 1e-12);
+    assertEquals (32.0 / 7, aStats.getVariance (), 1e-12);
+    assertEquals (2, aStats.getMin (), 0);
+    assertEquals (9, aStats.getMax (), 0);
+    // m3 = 5.25, m2 = 4 => g1 = 5.25 / 8
+    assertEquals (5.25 / 8, aStats.getSkewness (), 1e-12);
+    // m4 = 44.5 => g2 = 44.5 / 16 - 3
+    assertEquals (44.5 / 16 - 3, aStats.getExcessKurtosis (), 1e-12);
+    assertEquals (2, aStats.getQuantile (0), 0);
+    assertEquals (9, aStats.getQuantile (1), 0);
+  }
+
+  @Test
+  public void testExponentialQuantiles ()
+  {
+    final RandomExponential aExponential = new RandomExponential (1);
+    aExponential.setParameters (1);
+    final double [] values = new double [2_000_000];
+    aExponential.fill (values, 0, values.length);
+
+    final StreamingStatistics aStats = new StreamingStatistics ();
+    aStats.addAll (values, 0, values.length);
+    assertTrue (aStats.getCentroidCount () < 2 * aStats.getCompression ());
+
+    // mean 1, variance 1, skewness 2, excess kurtosis 6
+    assertEquals (1, aStats.getMean (), 0.003);
+    assertEquals (1, aStats.getVariance (), 0.01);
+    assertEquals (2, aStats.getSkewness (), 0.05);
+    assertEquals (6, aStats.getExcessKurtosis (), 0.5);
+
+    // The rank of each estimate is close to the quantile, relative to the
+    // distance from the nearer end.
+    Arrays.sort (values);
+    for (final double q : new double [] { 0.001, 0.01, 0.5, 0.9, 0.99, 0.999, 0.9999 })
+    {
+      int rank = Arrays.binarySearch (values, aStats.getQuantile (q));
+      if (rank < 0)
+        rank = -rank - 1;
+      assertEquals ("q=" + q, q, (double) rank / values.length, 0.2 * Math.min (q, 1 - q));
+    }
+  }
+
+  @Test
+  public void testMerge ()
+  {
+    // One instance per thread, merged at the end
+    final int tasks = 8;
+    final StreamingStatistics [] aParts = new StreamingStatistics [tasks];
+    IntStream.range (0, tasks).parallel ().forEach (t -> {
+      final SplittableRandom aRandom = new SplittableRandom (t);
+      final StreamingStatistics aPart = new StreamingStatistics ();
+      // Each part has a different range, so the merge must shift the moments.
+      for (int i = 0; i < 100_000; ++i)
+        aPart.add (t + aRandom.nextDouble ());
+      aParts[t] = aPart;
+    });
+
+    final StreamingStatistics aAll = new StreamingStatistics ();
+    for (final StreamingStatistics aPart : aParts)
+      aAll.merge (aPart);
+
+    // uniform on [0, 8): mean 4, variance 64/12, skewness 0, excess kurtosis -1.2
+    assertEquals (800_000, aAll.getCount ());
+    assertEquals (4, aAll.getMean (), 0.01);
+    assertEquals (64.0 / 12, aAll.getVariance (), 0.02);
+    assertEquals (0, aAll.getSkewness (), 0.01);
+    assertEquals (-1.2, aAll.getExcessKurtosis (), 0.01);
+    assertEquals (0, aAll.getMin (), 0.001);
+    assertEquals (8, aAll.getMax (), 0.001);
+    assertEquals (4, aAll.getQuantile (0.5), 0.02);
+    assertEquals (7.92, aAll.getQuantile (0.99), 0.01);
+    assertEquals (0.08, aAll.getQuantile (0.01), 0.01);
+  }
+}